@@ -0,0 +1,18 @@
+#!/usr/bin/env bash
+# Builds the application jar and the JMH uber-jar, then runs the benchmarks.
+# Results are written to benchmarks/results/<commit>.json so runs can be compared with CompareResults.
+# Any extra arguments are passed to JMH, e.g. ./benchmarks/run.sh TaskMapperBenchmark -prof gc
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+./mvnw -q -DskipTests install
+./mvnw -q -f benchmarks/pom.xml package
+
+commit=$(git rev-parse --short HEAD)
+if ! git diff --quiet HEAD; then
+  commit="${commit}-dirty"
+fi
+
+mkdir -p benchmarks/results
+java -jar benchmarks/target/benchmarks.jar -rf json -rff "benchmarks/results/${commit}.json" "$@"
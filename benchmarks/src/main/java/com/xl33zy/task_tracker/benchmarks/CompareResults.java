@@ -0,0 +1,79 @@
+package com.xl33zy.task_tracker.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Compares two JMH JSON result files (baseline vs candidate) and exits with status 1
+ * when any benchmark's score regressed beyond the threshold (default 10%).
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar com.xl33zy.task_tracker.benchmarks.CompareResults base.json new.json [thresholdPercent]}
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <candidate.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> candidate = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Entry<String, Result> entry : candidate.entrySet()) {
+            Result base = baseline.get(entry.getKey());
+            Result current = entry.getValue();
+            if (base == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", current.score(), "new");
+                continue;
+            }
+            double change = (current.score() - base.score()) / base.score() * 100.0;
+            // For time-per-op modes higher is worse, for throughput lower is worse
+            double worsening = current.higherIsBetter() ? -change : change;
+            boolean regressed = worsening > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n",
+                    entry.getKey(), base.score(), current.score(), change, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            Iterator<Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Entry<String, JsonNode> param = fields.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            JsonNode metric = run.path("primaryMetric");
+            String mode = run.path("mode").asText();
+            results.put(key.toString(), new Result(metric.path("score").asDouble(), "thrpt".equals(mode)));
+        }
+        return results;
+    }
+
+    private record Result(double score, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.xl33zy.task_tracker.benchmarks;
+
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TaskFixtures {
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 11, 11, 15, 21, 35);
+
+    private TaskFixtures() {
+    }
+
+    public static Task task(long id) {
+        return Task.builder()
+                   .id(id)
+                   .title("Task " + id)
+                   .description("Vacuum and mop the floor, then take out the trash (task " + id + ")")
+                   .status(TaskStatus.values()[(int) (id % TaskStatus.values().length)])
+                   .priority(TaskPriority.values()[(int) (id % TaskPriority.values().length)])
+                   .createdAt(BASE_TIME.plusSeconds(id))
+                   .updatedAt(BASE_TIME.plusSeconds(id * 2))
+                   .build();
+    }
+
+    public static TaskResponse response(long id) {
+        Task task = task(id);
+        return TaskResponse.builder()
+                           .id(task.getId())
+                           .title(task.getTitle())
+                           .description(task.getDescription())
+                           .status(task.getStatus())
+                           .priority(task.getPriority())
+                           .createdAt(task.getCreatedAt())
+                           .updatedAt(task.getUpdatedAt())
+                           .build();
+    }
+
+    public static List<TaskResponse> responses(int size) {
+        List<TaskResponse> responses = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            responses.add(response(i));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,41 @@
+package com.xl33zy.task_tracker.controller;
+
+import com.xl33zy.task_tracker.dto.RequestIds;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestIdBenchmark {
+
+    // What controllers used before RequestIds: SecureRandom-backed UUID plus string formatting
+    @Benchmark
+    @Threads(1)
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String randomUuidContended() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String sequence() {
+        return RequestIds.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String sequenceContended() {
+        return RequestIds.next();
+    }
+}
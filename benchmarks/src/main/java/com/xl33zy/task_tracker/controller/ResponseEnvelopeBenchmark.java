@@ -0,0 +1,76 @@
+package com.xl33zy.task_tracker.controller;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.xl33zy.task_tracker.benchmarks.TaskFixtures;
+import com.xl33zy.task_tracker.dto.ApiJsonModule;
+import com.xl33zy.task_tracker.dto.ApiResponseDTO;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and serializes the response of {@code GET /api/tasks} the way controllers did before the lean envelope
+ * path and the way they do now. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} (bytes per
+ * response).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseEnvelopeBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int pageSize;
+
+    private ObjectWriter reflectiveWriter;
+    private ObjectWriter prebuiltWriter;
+    private List<TaskResponse> tasks;
+    private WebRequest webRequest;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot's MVC ObjectMapper writes ISO date strings instead of timestamps
+        reflectiveWriter = Jackson2ObjectMapperBuilder.json()
+                                                      .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                                                      .build()
+                                                      .writer();
+        prebuiltWriter = Jackson2ObjectMapperBuilder.json()
+                                                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                                                    .modulesToInstall(new ApiJsonModule())
+                                                    .build()
+                                                    .writer();
+        tasks = TaskFixtures.responses(pageSize);
+        webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tasks"));
+    }
+
+    // Builder, SecureRandom UUID, description rewrite and bean serializers
+    @Benchmark
+    public byte[] reflectiveEnvelope() throws IOException {
+        ApiResponseDTO<List<TaskResponse>> response = ApiResponseDTO.<List<TaskResponse>>builder()
+                                                                    .timestamp(LocalDateTime.now())
+                                                                    .status(200)
+                                                                    .message("Tasks retrieved successfully")
+                                                                    .data(tasks)
+                                                                    .path(webRequest.getDescription(false).replace("uri=", ""))
+                                                                    .requestId(UUID.randomUUID().toString())
+                                                                    .build();
+        return reflectiveWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] leanEnvelope() throws IOException {
+        return prebuiltWriter.writeValueAsBytes(ApiResponseDTO.success(tasks, "Tasks retrieved successfully", webRequest));
+    }
+}
@@ -0,0 +1,45 @@
+package com.xl33zy.task_tracker.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.xl33zy.task_tracker.benchmarks.TaskFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseSerializationBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private ApiResponseDTO<List<TaskResponse>> page;
+
+    @Setup
+    public void setUp() {
+        // Same setup as the MVC ObjectMapper (JavaTimeModule, ISO dates instead of timestamps, ApiJsonModule)
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                                                               .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                                                               .modulesToInstall(new ApiJsonModule())
+                                                               .build();
+        writer = objectMapper.writerFor(new TypeReference<ApiResponseDTO<List<TaskResponse>>>() {
+        });
+        page = ApiResponseDTO.success(TaskFixtures.responses(pageSize), "Tasks retrieved successfully", "/api/tasks", "request-id");
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,57 @@
+package com.xl33zy.task_tracker.mapper;
+
+import com.xl33zy.task_tracker.benchmarks.TaskFixtures;
+import com.xl33zy.task_tracker.dto.TaskRequest;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.dto.TaskUpdateRequest;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TaskMapperBenchmark {
+
+    private final TaskMapper taskMapper = new TaskMapperImpl();
+
+    private Task task;
+    private TaskRequest request;
+    private TaskUpdateRequest updateRequest;
+
+    @Setup
+    public void setUp() {
+        task = TaskFixtures.task(42);
+        request = TaskRequest.builder()
+                             .title("Clean room")
+                             .description("Vacuum and mop the floor")
+                             .status(TaskStatus.NEW)
+                             .priority(TaskPriority.HIGH)
+                             .build();
+        updateRequest = new TaskUpdateRequest();
+        updateRequest.setStatus(TaskStatus.IN_PROGRESS);
+        updateRequest.setPriority(TaskPriority.LOW);
+    }
+
+    @Benchmark
+    public TaskResponse toResponse() {
+        return taskMapper.toResponse(task);
+    }
+
+    @Benchmark
+    public Task toEntity() {
+        return taskMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public Task updateTaskFromRequest() {
+        taskMapper.updateTaskFromRequest(updateRequest, task);
+        return task;
+    }
+}
@@ -0,0 +1,163 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.benchmarks.TaskFixtures;
+import com.xl33zy.task_tracker.config.InMemoryStorageProperties;
+import com.xl33zy.task_tracker.config.InMemoryStorageProperties.FsyncPolicy;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-ahead log of the {@code in-memory} profile.
+ * <p>
+ * {@code append} is the sustained throughput of the log alone and {@code write} that of task updates through
+ * {@link InMemoryTaskRepository}, per fsync policy; run them with {@code -t} to see group commit at work under
+ * {@code ALWAYS}. {@code recoverLog} reads and decodes a log of {@code tasks} inserts, and
+ * {@code recoverRepository} also rebuilds the map and indexes from it, which is what startup costs without a
+ * snapshot. With 10M tasks the log is about 1.2GB on disk and the rebuilt repository needs a heap of several GB,
+ * so smaller machines run it with {@code -p tasks=1000000}.
+ */
+public class TaskJournalBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Writes {
+        @Param({"ALWAYS", "INTERVAL", "NEVER"})
+        public FsyncPolicy policy;
+
+        @Param("100000")
+        public int tasks;
+
+        Path directory;
+        TaskJournal journal;
+        InMemoryTaskRepository repository;
+        Task sample;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("task-wal-bench");
+            InMemoryStorageProperties properties = properties(directory, policy);
+            journal = new TaskJournal(properties);
+            repository = new InMemoryTaskRepository(properties, journal);
+            for (int i = 1; i <= tasks; i++) {
+                repository.save(newTask(i));
+            }
+            sample = repository.findById(1L).orElseThrow();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            journal.close();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Log {
+        @Param("10000000")
+        public int tasks;
+
+        Path directory;
+        TaskJournal journal;
+
+        @Setup(Level.Trial)
+        public void writeLog() throws IOException {
+            directory = Files.createTempDirectory("task-wal-bench");
+            try (TaskJournal writer = new TaskJournal(properties(directory, FsyncPolicy.NEVER))) {
+                writer.recover(task -> { }, id -> { });
+                for (long id = 1; id <= tasks; id++) {
+                    Task task = TaskFixtures.task(id);
+                    task.setVersion(0L);
+                    writer.put(task);
+                }
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void open() throws IOException {
+            journal = new TaskJournal(properties(directory, FsyncPolicy.NEVER));
+        }
+
+        @TearDown(Level.Invocation)
+        public void close() {
+            journal.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void deleteLog() throws IOException {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+    public Object write(Writes state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Task task = state.repository.findById(1L + random.nextInt(state.tasks)).orElseThrow();
+        task.setStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)]);
+        task.setTitle("Task " + random.nextInt());
+        try {
+            return state.repository.save(task);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Two threads picked the same task
+            return e;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+    public long append(Writes state) {
+        long lsn = state.journal.put(state.sample);
+        state.journal.awaitDurable(lsn);
+        return lsn;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+    public long recoverLog(Log log, Blackhole blackhole) throws IOException {
+        return log.journal.recover(blackhole::consume, blackhole::consume);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+    public long recoverRepository(Log log) {
+        return new InMemoryTaskRepository(properties(log.directory, FsyncPolicy.NEVER), log.journal).count();
+    }
+
+    private static Task newTask(long i) {
+        Task task = TaskFixtures.task(i);
+        task.setId(null);
+        return task;
+    }
+
+    private static InMemoryStorageProperties properties(Path directory, FsyncPolicy policy) {
+        return new InMemoryStorageProperties(64, 1 << 20, directory, policy, Duration.ofMillis(10),
+                DataSize.ofMegabytes(64), Duration.ofMinutes(10));
+    }
+}
@@ -0,0 +1,23 @@
+package com.xl33zy.task_tracker.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SortParsingBenchmark {
+
+    @Param({"", "title", "createdAt,desc", " updatedAt , asc "})
+    public String sort;
+
+    @Benchmark
+    public Sort parseSort() {
+        return TaskService.parseSort(sort);
+    }
+}
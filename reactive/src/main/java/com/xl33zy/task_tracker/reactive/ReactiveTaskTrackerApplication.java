@@ -0,0 +1,25 @@
+package com.xl33zy.task_tracker.reactive;
+
+import com.xl33zy.task_tracker.dto.ApiJsonModule;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * WebFlux + R2DBC variant of the task API, run side by side with the servlet application against the same
+ * database. Reads {@code reactive.yml} so the {@code application.yml} inside the shared jar is not picked up.
+ */
+@SpringBootApplication
+public class ReactiveTaskTrackerApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveTaskTrackerApplication.class)
+                .properties("spring.config.name=reactive")
+                .run(args);
+    }
+
+    @Bean
+    public ApiJsonModule apiJsonModule() {
+        return new ApiJsonModule();
+    }
+}
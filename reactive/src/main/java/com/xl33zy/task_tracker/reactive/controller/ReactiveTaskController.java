@@ -0,0 +1,106 @@
+package com.xl33zy.task_tracker.reactive.controller;
+
+import com.xl33zy.task_tracker.dto.ApiResponseDTO;
+import com.xl33zy.task_tracker.dto.RequestIds;
+import com.xl33zy.task_tracker.dto.TaskRequest;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.dto.TaskUpdateRequest;
+import com.xl33zy.task_tracker.reactive.exception.TaskNotFoundException;
+import com.xl33zy.task_tracker.reactive.service.ReactiveTaskService;
+import com.xl33zy.task_tracker.service.TaskETag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService taskService;
+
+    @PostMapping
+    public Mono<ResponseEntity<ApiResponseDTO<TaskResponse>>> createTask(@Valid @RequestBody TaskRequest request, ServerHttpRequest httpRequest) {
+        return taskService.createTask(request)
+                          .map(response -> ResponseEntity.status(201)
+                                                         .eTag(TaskETag.of(response))
+                                                         .body(ApiResponseDTO.success(response, "Task created successfully", path(httpRequest), RequestIds.next())));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponseDTO<List<TaskResponse>>>> getAllTasks(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            ServerHttpRequest httpRequest
+    ) {
+        return taskService.getAllTasks(page, size, sort, status, priority)
+                          .map(tasks -> ResponseEntity.ok(
+                                  ApiResponseDTO.success(tasks, "Tasks retrieved successfully", path(httpRequest), RequestIds.next())));
+    }
+
+    /**
+     * All matching tasks as newline-delimited JSON, one task per line, without the envelope. Rows are pulled
+     * from the database on demand, so a slow client slows the query instead of growing a buffer.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskResponse> streamTasks(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority
+    ) {
+        return taskService.streamTasks(sort, status, priority);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponseDTO<TaskResponse>>> getTaskById(@PathVariable Long id, ServerHttpRequest httpRequest) {
+        return taskService.getTaskById(id)
+                          .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("Task not found with id: " + id)))
+                          .map(response -> ResponseEntity.ok()
+                                                         .eTag(TaskETag.of(response))
+                                                         .body(ApiResponseDTO.success(response, "Task retrieved successfully", path(httpRequest), RequestIds.next())));
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponseDTO<TaskResponse>>> patchTask(@PathVariable Long id,
+                                                                        @Valid @RequestBody TaskUpdateRequest request,
+                                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                        ServerHttpRequest httpRequest) {
+        return taskService.patchTask(id, request, ifMatch)
+                          .switchIfEmpty(Mono.error(() -> new TaskNotFoundException("Task not found for update with id: " + id)))
+                          .map(response -> ResponseEntity.ok()
+                                                         .eTag(TaskETag.of(response))
+                                                         .body(ApiResponseDTO.success(response, "Task updated successfully", path(httpRequest), RequestIds.next())));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<ApiResponseDTO<Void>>> deleteTask(@PathVariable Long id, ServerHttpRequest httpRequest) {
+        return taskService.deleteTask(id)
+                          .flatMap(deleted -> deleted
+                                  ? Mono.just(ResponseEntity.ok(ApiResponseDTO.<Void>success(null, "Task deleted successfully", path(httpRequest), RequestIds.next())))
+                                  : Mono.error(new TaskNotFoundException("Task not found with id: " + id)));
+    }
+
+    private static String path(ServerHttpRequest request) {
+        return request.getPath().value();
+    }
+}
@@ -0,0 +1,66 @@
+package com.xl33zy.task_tracker.reactive.exception;
+
+import com.xl33zy.task_tracker.dto.ApiResponseDTO;
+import com.xl33zy.task_tracker.dto.RequestIds;
+import com.xl33zy.task_tracker.exception.PreconditionFailedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Same error envelope and status mapping as the servlet {@code GlobalExceptionHandler}.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(TaskNotFoundException.class)
+    public ResponseEntity<ApiResponseDTO<?>> handleNotFound(TaskNotFoundException ex, ServerHttpRequest request) {
+        return error(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage(), request, null);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiResponseDTO<?>> handleValidation(WebExchangeBindException ex, ServerHttpRequest request) {
+        String msg = ex.getBindingResult().getFieldErrors().stream()
+                       .map(err -> err.getField() + ": " + err.getDefaultMessage())
+                       .findFirst().orElse("Validation failed");
+        return error(HttpStatus.BAD_REQUEST, "Validation Error", msg, request, null);
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, ServerWebInputException.class})
+    public ResponseEntity<ApiResponseDTO<?>> handleBadRequest(Exception ex, ServerHttpRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage(), request, null);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponseDTO<?>> handlePreconditionFailed(PreconditionFailedException ex, ServerHttpRequest request) {
+        return error(HttpStatus.PRECONDITION_FAILED, "Precondition Failed", ex.getMessage(), request, null);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponseDTO<?>> handleOptimisticLocking(OptimisticLockingFailureException ex, ServerHttpRequest request) {
+        return error(HttpStatus.CONFLICT, "Conflict", "Task was modified concurrently, reload and retry", request, null);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiResponseDTO<?>> handleGeneralException(Exception ex, ServerHttpRequest request) {
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", "Something went wrong", request, ex.getMessage());
+    }
+
+    private static ResponseEntity<ApiResponseDTO<?>> error(HttpStatus status, String error, String message,
+                                                           ServerHttpRequest request, String details) {
+        return ResponseEntity.status(status)
+                             .body(ApiResponseDTO.error(
+                                     status.value(),
+                                     error,
+                                     message,
+                                     request.getPath().value(),
+                                     RequestIds.next(),
+                                     details
+                             ));
+    }
+}
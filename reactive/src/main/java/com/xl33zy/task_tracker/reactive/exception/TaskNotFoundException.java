@@ -0,0 +1,7 @@
+package com.xl33zy.task_tracker.reactive.exception;
+
+public class TaskNotFoundException extends RuntimeException {
+    public TaskNotFoundException(String message) {
+        super(message);
+    }
+}
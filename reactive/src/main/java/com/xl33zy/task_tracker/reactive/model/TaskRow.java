@@ -0,0 +1,46 @@
+package com.xl33zy.task_tracker.reactive.model;
+
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the {@code tasks} table; the schema itself is owned by the servlet application's migrations.
+ */
+@Table("tasks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskRow {
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private TaskStatus status;
+
+    private TaskPriority priority;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    // Set by the servlet application's archiver on old DONE tasks; moves the row into the tasks_archive partition
+    private boolean archived;
+
+    @Version
+    private Long version;
+}
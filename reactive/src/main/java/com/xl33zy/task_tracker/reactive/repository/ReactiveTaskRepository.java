@@ -0,0 +1,28 @@
+package com.xl33zy.task_tracker.reactive.repository;
+
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.reactive.model.TaskRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveTaskRepository extends R2dbcRepository<TaskRow, Long> {
+
+    Flux<TaskRow> findAllBy(Pageable pageable);
+
+    Flux<TaskRow> findByStatus(TaskStatus status, Pageable pageable);
+
+    Flux<TaskRow> findByPriority(TaskPriority priority, Pageable pageable);
+
+    Flux<TaskRow> findByStatusAndPriority(TaskStatus status, TaskPriority priority, Pageable pageable);
+
+    Flux<TaskRow> findAllBy(Sort sort);
+
+    Flux<TaskRow> findByStatus(TaskStatus status, Sort sort);
+
+    Flux<TaskRow> findByPriority(TaskPriority priority, Sort sort);
+
+    Flux<TaskRow> findByStatusAndPriority(TaskStatus status, TaskPriority priority, Sort sort);
+}
@@ -0,0 +1,184 @@
+package com.xl33zy.task_tracker.reactive.service;
+
+import com.xl33zy.task_tracker.dto.TaskRequest;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.dto.TaskUpdateRequest;
+import com.xl33zy.task_tracker.exception.PreconditionFailedException;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.reactive.model.TaskRow;
+import com.xl33zy.task_tracker.reactive.repository.ReactiveTaskRepository;
+import com.xl33zy.task_tracker.service.TaskETag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reactive counterpart of the servlet {@code TaskService} for the create/read/patch/delete and list contract.
+ * Caching, change events and the other read models stay with the servlet application.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveTaskService {
+    private static final Set<String> SORTABLE = Set.of("id", "title", "status", "priority", "createdAt", "updatedAt");
+
+    private final ReactiveTaskRepository taskRepository;
+
+    @Transactional
+    public Mono<TaskResponse> createTask(TaskRequest request) {
+        // Microsecond precision, as stored by PostgreSQL, so the ETag of the response matches later reads
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        TaskRow row = TaskRow.builder()
+                             .title(request.getTitle())
+                             .description(request.getDescription())
+                             .status(request.getStatus() != null ? request.getStatus() : TaskStatus.NEW)
+                             .priority(request.getPriority() != null ? request.getPriority() : TaskPriority.MEDIUM)
+                             .createdAt(now)
+                             .updatedAt(now)
+                             .build();
+        return taskRepository.save(row).map(ReactiveTaskService::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<List<TaskResponse>> getAllTasks(int page, int size, String sort, String status, String priority) {
+        return Mono.fromCallable(() -> PageRequest.of(page, size, parseSort(sort)))
+                   .flatMapMany(pageable -> findPage(parseStatus(status), parsePriority(priority), pageable))
+                   .map(ReactiveTaskService::toResponse)
+                   .collectList();
+    }
+
+    /**
+     * Every matching task, read from PostgreSQL only as fast as the client consumes the response.
+     */
+    public Flux<TaskResponse> streamTasks(String sort, String status, String priority) {
+        return Mono.fromCallable(() -> parseSort(sort))
+                   .flatMapMany(order -> findAll(parseStatus(status), parsePriority(priority), order))
+                   .map(ReactiveTaskService::toResponse);
+    }
+
+    public Mono<TaskResponse> getTaskById(Long id) {
+        return taskRepository.findById(id).map(ReactiveTaskService::toResponse);
+    }
+
+    @Transactional
+    public Mono<TaskResponse> patchTask(Long id, TaskUpdateRequest request, String ifMatch) {
+        return taskRepository.findById(id)
+                             .flatMap(row -> {
+                                 if (ifMatch != null && !TaskETag.matches(ifMatch, TaskETag.of(row.getVersion(), row.getUpdatedAt()))) {
+                                     return Mono.error(new PreconditionFailedException("Task " + id + " has been modified since it was read"));
+                                 }
+                                 apply(request, row);
+                                 // A reopened task is open work again, not archive
+                                 if (row.getStatus() != TaskStatus.DONE) {
+                                     row.setArchived(false);
+                                 }
+                                 row.setUpdatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+                                 return taskRepository.save(row);
+                             })
+                             .map(ReactiveTaskService::toResponse);
+    }
+
+    @Transactional
+    public Mono<Boolean> deleteTask(Long id) {
+        return taskRepository.findById(id)
+                             .flatMap(row -> taskRepository.delete(row).thenReturn(true))
+                             .defaultIfEmpty(false);
+    }
+
+    private Flux<TaskRow> findPage(TaskStatus status, TaskPriority priority, Pageable pageable) {
+        if (status != null && priority != null) {
+            return taskRepository.findByStatusAndPriority(status, priority, pageable);
+        } else if (status != null) {
+            return taskRepository.findByStatus(status, pageable);
+        } else if (priority != null) {
+            return taskRepository.findByPriority(priority, pageable);
+        }
+        return taskRepository.findAllBy(pageable);
+    }
+
+    private Flux<TaskRow> findAll(TaskStatus status, TaskPriority priority, Sort sort) {
+        if (status != null && priority != null) {
+            return taskRepository.findByStatusAndPriority(status, priority, sort);
+        } else if (status != null) {
+            return taskRepository.findByStatus(status, sort);
+        } else if (priority != null) {
+            return taskRepository.findByPriority(priority, sort);
+        }
+        return taskRepository.findAllBy(sort);
+    }
+
+    private static void apply(TaskUpdateRequest request, TaskRow row) {
+        if (request.getTitle() != null) {
+            row.setTitle(request.getTitle());
+        }
+        if (request.getDescription() != null) {
+            row.setDescription(request.getDescription());
+        }
+        if (request.getStatus() != null) {
+            row.setStatus(request.getStatus());
+        }
+        if (request.getPriority() != null) {
+            row.setPriority(request.getPriority());
+        }
+    }
+
+    static TaskResponse toResponse(TaskRow row) {
+        return TaskResponse.builder()
+                           .id(row.getId())
+                           .title(row.getTitle())
+                           .description(row.getDescription())
+                           .status(row.getStatus())
+                           .priority(row.getPriority())
+                           .createdAt(row.getCreatedAt())
+                           .updatedAt(row.getUpdatedAt())
+                           .version(row.getVersion())
+                           .build();
+    }
+
+    static Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by(Sort.Direction.ASC, "id");
+        }
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!SORTABLE.contains(property)) {
+            throw new IllegalArgumentException("Invalid sort property: " + property);
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromString(parts[1].trim())
+                : Sort.Direction.ASC;
+        return Sort.by(direction, property);
+    }
+
+    static TaskStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return TaskStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+    }
+
+    static TaskPriority parsePriority(String priority) {
+        if (priority == null || priority.isBlank()) {
+            return null;
+        }
+        try {
+            return TaskPriority.valueOf(priority.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid priority: " + priority);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.xl33zy.task_tracker.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Drives the servlet and the reactive application, both already running against the same database, with the
+ * same closed-loop list workload and compares throughput, p99, live threads and heap growth per connection.
+ * <pre>
+ * mvn spring-boot:run                                  # servlet, :8080
+ * mvn -f reactive/pom.xml spring-boot:run              # reactive, :8081
+ * mvn -f reactive/pom.xml -Pload-test test -Dloadtest.clients=2000
+ * </pre>
+ */
+@Slf4j
+@Tag("load")
+class ServletVsReactiveLoadTest {
+
+    private static final String SERVLET_URL = System.getProperty("loadtest.servletUrl", "http://localhost:8080");
+    private static final String REACTIVE_URL = System.getProperty("loadtest.reactiveUrl", "http://localhost:8081");
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 1000);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.seconds", 20));
+    private static final String PATH = System.getProperty("loadtest.path", "/api/tasks?size=20&sort=updatedAt,desc");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void compareServletAndReactive() throws Exception {
+        assumeTrue(reachable(SERVLET_URL) && reachable(REACTIVE_URL),
+                "Start both applications first, see the class comment");
+
+        LoadResult servlet = run(SERVLET_URL);
+        log.info("servlet:  {}", servlet);
+        LoadResult reactive = run(REACTIVE_URL);
+        log.info("reactive: {}", reactive);
+        log.info("throughput x{}, p99 {} ms -> {} ms, heap per connection {} KiB -> {} KiB",
+                String.format("%.2f", reactive.throughput() / servlet.throughput()),
+                servlet.p99Millis(), reactive.p99Millis(),
+                servlet.heapPerClientBytes() / 1024, reactive.heapPerClientBytes() / 1024);
+
+        assertThat(servlet.requests()).isPositive();
+        assertThat(reactive.requests()).isPositive();
+    }
+
+    private LoadResult run(String baseUrl) throws Exception {
+        drive(baseUrl, WARMUP, null);
+        double idleHeap = metric(baseUrl, "jvm.memory.used?tag=area:heap");
+        return drive(baseUrl, DURATION, idleHeap);
+    }
+
+    // Closed-loop clients; server-side threads and heap are sampled halfway through the run
+    private LoadResult drive(String baseUrl, Duration duration, Double idleHeap) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATH)).timeout(Duration.ofSeconds(30)).GET().build();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        long elapsed = System.nanoTime() - start;
+                        latencies.add(response.statusCode() < 500 ? elapsed : -elapsed);
+                    }
+                    return latencies;
+                }));
+            }
+
+            Thread.sleep(duration.toMillis() / 2);
+            double threads = metric(baseUrl, "jvm.threads.live");
+            double heap = metric(baseUrl, "jvm.memory.used?tag=area:heap");
+
+            List<Long> all = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                all.addAll(future.get());
+            }
+            long heapPerClient = idleHeap != null ? (long) Math.max(0, (heap - idleHeap) / CLIENTS) : 0;
+            return LoadResult.of(all, duration, (long) threads, heapPerClient);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private double metric(String baseUrl, String name) throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode measurements = objectMapper.readTree(response.body()).path("measurements");
+        return measurements.isEmpty() ? 0 : measurements.get(0).path("value").asDouble();
+    }
+
+    private boolean reachable(String baseUrl) {
+        try {
+            return client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).GET().build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    record LoadResult(long requests, long errors, double throughput, double p50Millis, double p99Millis,
+                      long liveThreads, long heapPerClientBytes) {
+
+        static LoadResult of(List<Long> latencies, Duration duration, long liveThreads, long heapPerClientBytes) {
+            long errors = latencies.stream().filter(latency -> latency < 0).count();
+            long[] sorted = latencies.stream().mapToLong(Math::abs).sorted().toArray();
+            return new LoadResult(
+                    sorted.length,
+                    errors,
+                    sorted.length / (double) duration.toSeconds(),
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.99),
+                    liveThreads,
+                    heapPerClientBytes
+            );
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests (%d errors), %.0f req/s, p50 %.1f ms, p99 %.1f ms, %d live threads, %d KiB heap/connection",
+                    requests, errors, throughput, p50Millis, p99Millis, liveThreads, heapPerClientBytes / 1024);
+        }
+    }
+}
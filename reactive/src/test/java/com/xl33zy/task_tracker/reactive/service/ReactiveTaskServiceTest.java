@@ -0,0 +1,141 @@
+package com.xl33zy.task_tracker.reactive.service;
+
+import com.xl33zy.task_tracker.dto.TaskRequest;
+import com.xl33zy.task_tracker.dto.TaskUpdateRequest;
+import com.xl33zy.task_tracker.exception.PreconditionFailedException;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.reactive.model.TaskRow;
+import com.xl33zy.task_tracker.reactive.repository.ReactiveTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReactiveTaskServiceTest {
+
+    @Mock
+    private ReactiveTaskRepository taskRepository;
+
+    @InjectMocks
+    private ReactiveTaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void createTask_appliesDefaultsAndTimestamps() {
+        when(taskRepository.save(any(TaskRow.class))).thenAnswer(invocation -> {
+            TaskRow row = invocation.getArgument(0);
+            row.setId(1L);
+            row.setVersion(0L);
+            return Mono.just(row);
+        });
+
+        StepVerifier.create(taskService.createTask(TaskRequest.builder().title("New").status(null).build()))
+                    .assertNext(response -> {
+                        assertThat(response.getId()).isEqualTo(1L);
+                        assertThat(response.getStatus()).isEqualTo(TaskStatus.NEW);
+                        assertThat(response.getPriority()).isEqualTo(TaskPriority.MEDIUM);
+                        assertThat(response.getCreatedAt()).isNotNull().isEqualTo(response.getUpdatedAt());
+                    })
+                    .verifyComplete();
+    }
+
+    @Test
+    void getAllTasks_withStatusFilter_usesFilteredPageQuery() {
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        when(taskRepository.findByStatus(eq(TaskStatus.DONE), pageable.capture())).thenReturn(Flux.just(row(1L), row(2L)));
+
+        StepVerifier.create(taskService.getAllTasks(2, 5, "title,desc", "done", null))
+                    .assertNext(tasks -> assertThat(tasks).hasSize(2))
+                    .verifyComplete();
+
+        assertThat(pageable.getValue().getPageNumber()).isEqualTo(2);
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(5);
+        assertThat(pageable.getValue().getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "title"));
+    }
+
+    @Test
+    void getAllTasks_invalidInput_failsWithIllegalArgument() {
+        StepVerifier.create(taskService.getAllTasks(0, 10, null, "WAITING", null))
+                    .expectError(IllegalArgumentException.class)
+                    .verify();
+        StepVerifier.create(taskService.streamTasks("password", null, null))
+                    .expectError(IllegalArgumentException.class)
+                    .verify();
+    }
+
+    @Test
+    void streamTasks_requestsRowsOnDemand() {
+        when(taskRepository.findAllBy(any(Sort.class))).thenReturn(Flux.range(1, 1000).map(i -> row((long) i)));
+
+        StepVerifier.create(taskService.streamTasks(null, null, null), 2)
+                    .expectNextCount(2)
+                    .thenRequest(3)
+                    .expectNextCount(3)
+                    .thenCancel()
+                    .verify();
+    }
+
+    @Test
+    void patchTask_staleIfMatch_failsWithoutSaving() {
+        when(taskRepository.findById(1L)).thenReturn(Mono.just(row(1L)));
+
+        StepVerifier.create(taskService.patchTask(1L, new TaskUpdateRequest(), "\"0-0\""))
+                    .expectError(PreconditionFailedException.class)
+                    .verify();
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void patchTask_reopeningArchivedTask_clearsArchived() {
+        TaskRow archived = row(1L);
+        archived.setArchived(true);
+        when(taskRepository.findById(1L)).thenReturn(Mono.just(archived));
+        when(taskRepository.save(any(TaskRow.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        TaskUpdateRequest request = new TaskUpdateRequest();
+        request.setStatus(TaskStatus.IN_PROGRESS);
+
+        StepVerifier.create(taskService.patchTask(1L, request, null))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        assertThat(archived.isArchived()).isFalse();
+    }
+
+    @Test
+    void deleteTask_missing_returnsFalse() {
+        when(taskRepository.findById(9L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.deleteTask(9L))
+                    .expectNext(false)
+                    .verifyComplete();
+    }
+
+    private static TaskRow row(Long id) {
+        return TaskRow.builder()
+                      .id(id)
+                      .title("Task " + id)
+                      .status(TaskStatus.DONE)
+                      .priority(TaskPriority.LOW)
+                      .createdAt(LocalDateTime.of(2025, 1, 1, 0, 0))
+                      .updatedAt(LocalDateTime.of(2025, 1, 1, 0, 0))
+                      .version(3L)
+                      .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.xl33zy.task_tracker.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits as many concurrent requests as their measured latency allows, following the gradient algorithm.
+ * <p>
+ * Every completed request updates a short and a long average of the latency. While the two agree within
+ * {@code rttTolerance}, the limit grows by about its square root, which leaves room for a small queue; once recent
+ * requests are slower, it shrinks by the ratio of the averages, at most by half per request. So the limit settles
+ * where latency starts to rise, before callers pile up in the connection pool and time out together. Requests
+ * that did not fill half the limit say nothing about it and leave it alone, and a request that failed on a
+ * saturated backend (a connection or query timeout) cuts it by {@code backoff}. The long average follows a drop
+ * in latency quickly, so the limit can grow back once the database recovers.
+ */
+public class AdaptiveConcurrencyLimit {
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double backoff;
+    private final Counter rejected;
+
+    private volatile double limit;
+    // Nanoseconds, only changed under the monitor
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(String kind, ConcurrencyLimitProperties properties, MeterRegistry registry) {
+        this.limit = properties.initialLimit();
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.rttTolerance = properties.rttTolerance();
+        this.smoothing = properties.smoothing();
+        this.backoff = properties.backoff();
+        Gauge.builder("tasks.concurrency.limit", this, AdaptiveConcurrencyLimit::getLimit)
+             .description("Current adaptive limit on concurrent task API requests")
+             .tag("kind", kind)
+             .register(registry);
+        Gauge.builder("tasks.concurrency.inflight", inflight, AtomicInteger::get)
+             .description("Task API requests being served")
+             .tag("kind", kind)
+             .register(registry);
+        this.rejected = Counter.builder("tasks.concurrency.rejected")
+                               .description("Task API requests rejected with 503 over the limit")
+                               .tag("kind", kind)
+                               .register(registry);
+    }
+
+    /**
+     * @return a permit to release when the request completes, or {@code null} if the limit is reached
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return null;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return new Permit(System.nanoTime(), current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    int getInflight() {
+        return inflight.get();
+    }
+
+    synchronized void onSample(long rttNanos, int inflightAtStart) {
+        if (shortRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+        } else {
+            shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+            longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+        }
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        if (inflightAtStart < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - smoothing) + estimate * smoothing);
+    }
+
+    synchronized void onOverload() {
+        limit = clamp(limit * backoff);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    public final class Permit {
+        private final long startNanos;
+        private final int inflightAtStart;
+
+        private Permit(long startNanos, int inflightAtStart) {
+            this.startNanos = startNanos;
+            this.inflightAtStart = inflightAtStart;
+        }
+
+        /**
+         * @param overloaded whether the request failed in a way that points at an overloaded backend
+         */
+        public void release(boolean overloaded) {
+            inflight.decrementAndGet();
+            if (overloaded) {
+                onOverload();
+            } else {
+                onSample(System.nanoTime() - startNanos, inflightAtStart);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.xl33zy.task_tracker.config;
+
+import com.xl33zy.task_tracker.controller.TaskController;
+import com.xl33zy.task_tracker.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.sql.SQLTransientException;
+
+/**
+ * Puts {@link TaskController} behind two {@link AdaptiveConcurrencyLimit}s, one for reads and one for writes, so
+ * that slow writes do not starve reads of their share and the other way round. A request over its limit fails
+ * at once with {@link ServiceOverloadedException}, before it takes a thread's time or a database connection.
+ * Only 503s and failures that point at saturation shrink a limit; every other request is a latency sample.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+    private static final String PERMIT = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final AdaptiveConcurrencyLimit reads;
+    private final AdaptiveConcurrencyLimit writes;
+    private final ConcurrencyLimitProperties properties;
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitProperties properties, MeterRegistry registry) {
+        this.reads = new AdaptiveConcurrencyLimit("read", properties, registry);
+        this.writes = new AdaptiveConcurrencyLimit("write", properties, registry);
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || !TaskController.class.isAssignableFrom(method.getBeanType())) {
+            return true;
+        }
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        AdaptiveConcurrencyLimit.Permit permit = limit(read).tryAcquire();
+        if (permit == null) {
+            throw new ServiceOverloadedException("Too many concurrent " + (read ? "reads" : "writes") + ", retry later",
+                    properties.retryAfter());
+        }
+        request.setAttribute(PERMIT, permit);
+        return true;
+    }
+
+    AdaptiveConcurrencyLimit limit(boolean read) {
+        return read ? reads : writes;
+    }
+
+    // Exceptions resolved by the exception handler arrive as null here; the dispatcher keeps them as an attribute
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof AdaptiveConcurrencyLimit.Permit permit) {
+            request.removeAttribute(PERMIT);
+            Throwable failure = ex != null ? ex : (Throwable) request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE);
+            permit.release(response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value() || saturated(failure));
+        }
+    }
+
+    /**
+     * Whether the request failed because the backend is saturated: no connection within the pool's timeout, a
+     * query timeout, or another transient SQL error. Other failures (bugs, bad data, constraint
+     * violations) say nothing about load and are recorded as ordinary latency samples.
+     */
+    static boolean saturated(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientException || cause instanceof QueryTimeoutException
+                    || cause instanceof ServiceOverloadedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
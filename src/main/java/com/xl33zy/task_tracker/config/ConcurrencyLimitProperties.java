@@ -0,0 +1,25 @@
+package com.xl33zy.task_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Adaptive limits on concurrent task API requests, one for reads and one for writes, both starting at
+ * {@code initialLimit}. {@code rttTolerance} is how much slower than usual requests may get before the limit
+ * shrinks, {@code smoothing} how much of each new estimate is taken over, and {@code backoff} the factor a
+ * connection or query timeout cuts the limit by.
+ */
+@ConfigurationProperties(prefix = "tasks.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("1.5") double rttTolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("0.9") double backoff,
+        @DefaultValue("1s") Duration retryAfter
+) {
+}
@@ -0,0 +1,13 @@
+package com.xl33zy.task_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tasks.db-concurrency")
+public record DatabaseConcurrencyProperties(
+        @DefaultValue("10") int permits,
+        @DefaultValue("5s") Duration acquireTimeout
+) {
+}
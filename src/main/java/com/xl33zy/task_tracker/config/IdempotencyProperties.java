@@ -0,0 +1,16 @@
+package com.xl33zy.task_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tasks.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("10000") int cacheMaximumSize,
+        @DefaultValue("10s") Duration waitTimeout,
+        @DefaultValue("1000") int cleanupBatchSize,
+        @DefaultValue("10m") Duration cleanupInterval
+) {
+}
@@ -0,0 +1,29 @@
+package com.xl33zy.task_tracker.config;
+
+import com.xl33zy.task_tracker.repository.InMemoryTaskRepository;
+import com.xl33zy.task_tracker.repository.InMemoryTransactionManager;
+import com.xl33zy.task_tracker.repository.TaskJournal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+
+@Configuration
+@Profile(InMemoryTaskRepository.PROFILE)
+public class InMemoryStorageConfig {
+    // Stands in for the JPA transaction manager, which is not configured without a DataSource
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new InMemoryTransactionManager();
+    }
+
+    // Without a directory tasks are lost on restart, as before
+    @Bean
+    @ConditionalOnProperty(prefix = "tasks.memory", name = "wal-directory")
+    public TaskJournal taskJournal(InMemoryStorageProperties properties) throws IOException {
+        return new TaskJournal(properties);
+    }
+}
@@ -0,0 +1,34 @@
+package com.xl33zy.task_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of the {@code in-memory} storage profile, which keeps tasks in the JVM instead of PostgreSQL.
+ * Tasks are only persisted when {@code walDirectory} is set.
+ */
+@ConfigurationProperties(prefix = "tasks.memory")
+public record InMemoryStorageProperties(
+        @DefaultValue("64") int stripes,
+        @DefaultValue("1024") int initialCapacity,
+        Path walDirectory,
+        @DefaultValue("ALWAYS") FsyncPolicy fsyncPolicy,
+        @DefaultValue("10ms") Duration fsyncInterval,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("10m") Duration snapshotInterval
+) {
+    /**
+     * When an acknowledged write reaches the disk: before the call returns, grouped with the writes that arrived
+     * during the previous fsync; within {@code fsyncInterval} of it; or whenever the OS writes the page cache back.
+     * Writes are in the page cache as soon as they return, so all three survive a crash of the process.
+     */
+    public enum FsyncPolicy {
+        ALWAYS,
+        INTERVAL,
+        NEVER
+    }
+}
@@ -0,0 +1,14 @@
+package com.xl33zy.task_tracker.config;
+
+import com.xl33zy.task_tracker.dto.ApiJsonModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+    // Spring Boot registers every Module bean with the application ObjectMapper
+    @Bean
+    public ApiJsonModule apiJsonModule() {
+        return new ApiJsonModule();
+    }
+}
@@ -0,0 +1,13 @@
+package com.xl33zy.task_tracker.config;
+
+import com.xl33zy.task_tracker.repository.InMemoryTaskRepository;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+// Kept off the application class: auditing needs a JPA metamodel, which the in-memory profile does not have
+@Configuration
+@Profile("!" + InMemoryTaskRepository.PROFILE)
+@EnableJpaAuditing
+public class JpaAuditingConfig {
+}
@@ -0,0 +1,57 @@
+package com.xl33zy.task_tracker.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "tasks.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingDataSourcePostProcessor(ObjectProvider<ReadReplicaProperties> properties) {
+        return new RoutingPostProcessor(properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadReplicaProperties properties) {
+        return new FilterRegistrationBean<>(new ReadYourWritesFilter(properties.readYourWritesWindow()));
+    }
+
+    private static final class RoutingPostProcessor implements BeanPostProcessor, DisposableBean {
+        private final ObjectProvider<ReadReplicaProperties> properties;
+        private final List<ReplicaRoutingDataSource> created = new ArrayList<>();
+
+        RoutingPostProcessor(ObjectProvider<ReadReplicaProperties> properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof ReplicaRoutingDataSource)) {
+                ReadReplicaProperties replicas = properties.getObject();
+                log.info("Routing read-only transactions on '{}' to {} replicas", beanName, replicas.urls().size());
+                ReplicaRoutingDataSource routing = ReplicaRoutingDataSource.create(dataSource, replicas);
+                created.add(routing);
+                return routing;
+            }
+            return bean;
+        }
+
+        // The bean's own close is lost if another post-processor wraps it again, e.g. for virtual threads
+        @Override
+        public void destroy() {
+            created.forEach(ReplicaRoutingDataSource::close);
+        }
+    }
+}
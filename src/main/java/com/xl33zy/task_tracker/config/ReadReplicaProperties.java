@@ -0,0 +1,31 @@
+package com.xl33zy.task_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Replicas that serve read-only transactions. Each URL gets its own pool with the primary's Hikari settings;
+ * {@code username} and {@code password} default to the primary's as well.
+ */
+@ConfigurationProperties(prefix = "tasks.read-replicas")
+public record ReadReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<String> urls,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("1s") Duration connectionTimeout,
+        @DefaultValue("1s") Duration maxLag,
+        @DefaultValue("500ms") Duration lagCheckInterval
+) {
+    /**
+     * How long a client keeps reading from the primary after its last write: a replica in use was at most
+     * {@code maxLag} behind when it was last checked, and that check is at most {@code lagCheckInterval} old.
+     */
+    public Duration readYourWritesWindow() {
+        return maxLag.plus(lagCheckInterval);
+    }
+}
@@ -0,0 +1,44 @@
+package com.xl33zy.task_tracker.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks reads on the current thread that must see the primary's latest state, so that
+ * {@link ReplicaRoutingDataSource} does not send them to a replica.
+ * <p>
+ * Clients get a {@value #HEADER} token with every write they make and send it back with later requests; while
+ * the token is younger than the replicas may lag, {@link ReadYourWritesFilter} keeps their reads on the primary.
+ * Reads whose result outlives the request, such as loading the shared task cache, go through {@link #onPrimary}.
+ */
+public final class ReadYourWrites {
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static <T> T onPrimary(Supplier<T> reads) {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY.remove();
+            }
+        }
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY.get() != null;
+    }
+
+    static void requirePrimary() {
+        PRIMARY.set(Boolean.TRUE);
+    }
+
+    static void release() {
+        PRIMARY.remove();
+    }
+}
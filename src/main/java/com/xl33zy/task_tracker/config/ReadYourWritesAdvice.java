@@ -0,0 +1,43 @@
+package com.xl33zy.task_tracker.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Set;
+
+/**
+ * Hands out the {@value ReadYourWrites#HEADER} token on successful writes. The body is written after the
+ * handler returned, so the write has committed and the token is not older than the commit.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(prefix = "tasks.read-replicas", name = "enabled", havingValue = "true")
+public class ReadYourWritesAdvice implements ResponseBodyAdvice<Object> {
+    private static final Set<HttpMethod> READS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (READS.contains(request.getMethod())) {
+            return body;
+        }
+        if (response instanceof ServletServerHttpResponse servlet && servlet.getServletResponse().getStatus() >= 400) {
+            return body;
+        }
+        response.getHeaders().set(ReadYourWrites.HEADER, Long.toString(System.currentTimeMillis()));
+        return body;
+    }
+}
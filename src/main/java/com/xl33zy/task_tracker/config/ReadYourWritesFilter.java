@@ -0,0 +1,51 @@
+package com.xl33zy.task_tracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Keeps the reads of a request on the primary while its {@value ReadYourWrites#HEADER} token is recent.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!isRecent(request.getHeader(ReadYourWrites.HEADER))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ReadYourWrites.requirePrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.release();
+        }
+    }
+
+    // Tokens from the future only count within the window, so a made-up one cannot pin a client to the primary
+    boolean isRecent(String token) {
+        if (token == null || token.isBlank()) {
+            return false;
+        }
+        long writtenAt;
+        try {
+            writtenAt = Long.parseLong(token.trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        long age = System.currentTimeMillis() - writtenAt;
+        return age < windowMillis && age > -windowMillis;
+    }
+}
@@ -0,0 +1,221 @@
+package com.xl33zy.task_tracker.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to replicas and everything else to the primary.
+ * <p>
+ * As a {@link LazyConnectionDataSourceProxy} it only fetches a connection at the first statement, when the
+ * transaction's read-only flag is known. Read-only connections come from the replicas in turn; a check every
+ * {@code lagCheckInterval} takes a replica out while it is more than {@code maxLag} behind or unreachable. Reads
+ * fall back to the primary when no replica is left, when a replica has no connection for them, and while
+ * {@link ReadYourWrites} asks for the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    // A replica that has replayed everything it received is current, however long ago the last commit was
+    static final String LAG_SQL = """
+            SELECT pg_is_in_recovery(),
+                   pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn(),
+                   EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                                    Duration lagCheckInterval) {
+        super(primary);
+        this.primary = primary;
+        this.maxLag = maxLag;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        setReadOnlyDataSource(new ReadOnlyDataSource());
+        // Replicas start out of use, so the first reads only reach those already known to be current
+        checkLag();
+        this.lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-replica-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = lagCheckInterval.toMillis();
+        lagChecker.scheduleWithFixedDelay(this::checkLag, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a pool for each replica in {@code properties}, with the primary's Hikari settings where it has them.
+     */
+    public static ReplicaRoutingDataSource create(DataSource primary, ReadReplicaProperties properties) {
+        HikariDataSource primaryPool = hikari(primary);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : properties.urls()) {
+            HikariConfig config = new HikariConfig();
+            if (primaryPool != null) {
+                primaryPool.copyStateTo(config);
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            config.setPoolName(name);
+            config.setJdbcUrl(url);
+            if (properties.username() != null) {
+                config.setUsername(properties.username());
+            }
+            if (properties.password() != null) {
+                config.setPassword(properties.password());
+            }
+            config.setMaximumPoolSize(properties.maximumPoolSize());
+            config.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            config.setReadOnly(true);
+            // A replica that is down at startup is only left out of use, it does not stop the application
+            config.setInitializationFailTimeout(-1);
+            replicas.put(name, new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, properties.maxLag(), properties.lagCheckInterval());
+    }
+
+    /**
+     * Measures how far each replica is behind and takes it in or out of use.
+     */
+    void checkLag() {
+        for (Replica replica : replicas) {
+            Duration lag;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(LAG_SQL)) {
+                result.next();
+                lag = lag(result);
+            } catch (SQLException | RuntimeException e) {
+                replica.update(false, "unreachable: " + e.getMessage());
+                continue;
+            }
+            if (lag == null) {
+                replica.update(false, "replay position unknown");
+            } else {
+                replica.update(lag.compareTo(maxLag) <= 0, "lag " + lag.toMillis() + " ms");
+            }
+        }
+    }
+
+    /**
+     * Closes the replica pools and the primary's, since this proxy replaces the primary as the application's
+     * {@link DataSource} and with it the primary's own close on shutdown.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        lagChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeQuietly(replica.name, closeable);
+            }
+        }
+        HikariDataSource primaryPool = hikari(primary);
+        if (primaryPool != null) {
+            closeQuietly("primary", primaryPool);
+        }
+    }
+
+    private static Duration lag(ResultSet result) throws SQLException {
+        if (!result.getBoolean(1) || result.getBoolean(2)) {
+            return Duration.ZERO;
+        }
+        double seconds = result.getDouble(3);
+        return result.wasNull() ? null : Duration.ofNanos((long) (seconds * 1_000_000_000));
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static void closeQuietly(String name, AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.warn("Could not close the {} connection pool", name, e);
+        }
+    }
+
+    private final class ReadOnlyDataSource extends AbstractDataSource {
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!ReadYourWrites.isPrimaryRequired() && !replicas.isEmpty()) {
+                int start = next.getAndIncrement();
+                for (int i = 0; i < replicas.size(); i++) {
+                    Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+                    if (!replica.usable) {
+                        continue;
+                    }
+                    try {
+                        return replica.dataSource.getConnection();
+                    } catch (SQLException e) {
+                        // A busy pool times out like a dead server; only the lag check takes a replica out
+                        log.debug("No connection from read replica {}: {}", replica.name, e.getMessage());
+                    }
+                }
+            }
+            Connection connection = primary.getConnection();
+            try {
+                // The proxy leaves the read-only flag to this data source; on the primary it has to be set here
+                connection.setReadOnly(true);
+            } catch (SQLException | RuntimeException e) {
+                connection.close();
+                throw e;
+            }
+            return connection;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new UnsupportedOperationException("Read-only connections use the credentials of their pool");
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean usable;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void update(boolean usable, String state) {
+            if (usable && !this.usable) {
+                log.info("Read replica {} is in use ({})", name, state);
+            } else if (!usable && this.usable) {
+                log.warn("Read replica {} is out of use until it catches up: {}", name, state);
+            }
+            this.usable = usable;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.xl33zy.task_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tasks.archive")
+public record TaskArchiveProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("30d") Duration olderThan,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("100") int maxBatchesPerRun,
+        @DefaultValue("10m") Duration interval
+) {
+}
@@ -0,0 +1,26 @@
+package com.xl33zy.task_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tasks.audit")
+public record TaskAuditProperties(
+        @DefaultValue("8192") int capacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("1s") Duration flushInterval,
+        @DefaultValue("BLOCK") OverflowPolicy overflowPolicy,
+        @DefaultValue("100ms") Duration offerTimeout,
+        @DefaultValue("10s") Duration shutdownTimeout
+) {
+    /**
+     * What a mutation does when the buffer is full: wait up to {@code offerTimeout} for the writer
+     * to catch up, or drop the event immediately. Either way an event that cannot be buffered is dropped
+     * and counted, the mutation itself never fails.
+     */
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP
+    }
+}
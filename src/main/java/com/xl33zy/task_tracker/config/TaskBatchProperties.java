@@ -0,0 +1,13 @@
+package com.xl33zy.task_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "tasks.batch")
+public record TaskBatchProperties(
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("10000") int maxItems,
+        @DefaultValue("16") int bulkEventThreshold,
+        @DefaultValue("true") boolean retryFailedChunks
+) {
+}
@@ -0,0 +1,17 @@
+package com.xl33zy.task_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tasks.bus")
+public record TaskBusProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("task_changes") String channel,
+        @DefaultValue("20ms") Duration coalesceWindow,
+        @DefaultValue("500") int coalesceThreshold,
+        @DefaultValue("500ms") Duration pollTimeout,
+        @DefaultValue("2s") Duration reconnectDelay
+) {
+}
@@ -0,0 +1,15 @@
+package com.xl33zy.task_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tasks.coalesce")
+public record TaskCoalesceProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10ms") Duration flushInterval,
+        @DefaultValue("500") int maxPending,
+        @DefaultValue("5s") Duration writeTimeout
+) {
+}
@@ -0,0 +1,11 @@
+package com.xl33zy.task_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "tasks.import")
+public record TaskImportProperties(
+        @DefaultValue("5000") int chunkSize,
+        @DefaultValue("1000") int maxReportedRejections
+) {
+}
@@ -0,0 +1,25 @@
+package com.xl33zy.task_tracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tasks.stream")
+public record TaskStreamProperties(
+        @DefaultValue("1000") int replayCapacity,
+        @DefaultValue("256") int subscriberQueueCapacity,
+        @DefaultValue("DISCONNECT") SlowSubscriberPolicy slowSubscriberPolicy,
+        @DefaultValue("30m") Duration connectionTimeout,
+        @DefaultValue("15s") Duration heartbeatInterval,
+        @DefaultValue("10s") Duration sendTimeout
+) {
+    /**
+     * What happens when a subscriber's queue is full: drop the new event for that subscriber only,
+     * or close its connection so the client reconnects with Last-Event-ID and catches up from the replay buffer.
+     */
+    public enum SlowSubscriberPolicy {
+        DROP,
+        DISCONNECT
+    }
+}
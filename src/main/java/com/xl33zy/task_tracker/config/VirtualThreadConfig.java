@@ -0,0 +1,32 @@
+package com.xl33zy.task_tracker.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor permitLimitedDataSourcePostProcessor(ObjectProvider<DatabaseConcurrencyProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof PermitLimitedDataSource)) {
+                    DatabaseConcurrencyProperties limits = properties.getObject();
+                    log.info("Limiting '{}' to {} concurrent connections for virtual threads", beanName, limits.permits());
+                    return new PermitLimitedDataSource(dataSource, limits.permits(), limits.acquireTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+}
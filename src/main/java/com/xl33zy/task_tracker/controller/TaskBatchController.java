@@ -0,0 +1,74 @@
+package com.xl33zy.task_tracker.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.xl33zy.task_tracker.dto.ApiResponseDTO;
+import com.xl33zy.task_tracker.dto.TaskBatchItemResult;
+import com.xl33zy.task_tracker.dto.TaskBatchUpdateRequest;
+import com.xl33zy.task_tracker.dto.TaskRequest;
+import com.xl33zy.task_tracker.service.IdempotencyService;
+import com.xl33zy.task_tracker.service.TaskBatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+@Tag(name = "Task batches", description = "Bulk operations for tasks")
+@Slf4j
+@RestController
+@RequestMapping("/api/tasks/batch")
+@RequiredArgsConstructor
+public class TaskBatchController {
+
+    private static final TypeReference<List<TaskBatchItemResult>> RESULTS = new TypeReference<>() {
+    };
+
+    private final TaskBatchService taskBatchService;
+    private final IdempotencyService idempotencyService;
+
+    @Operation(summary = "Create tasks in batch", description = "Each item is validated and reported separately")
+    @ApiResponse(responseCode = "200", description = "Batch processed")
+    @PostMapping
+    public ResponseEntity<ApiResponseDTO<List<TaskBatchItemResult>>> createTasks(@RequestBody List<TaskRequest> requests,
+                                                                                @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                                                WebRequest webRequest) {
+        log.info("Creating {} tasks in batch", requests.size());
+        List<TaskBatchItemResult> results = idempotencyService.execute(idempotencyKey, "POST /api/tasks/batch", requests, RESULTS,
+                () -> taskBatchService.createTasks(requests));
+        return ResponseEntity.ok(ApiResponseDTO.success(results, summary(results), webRequest));
+    }
+
+    @Operation(summary = "Update tasks partially in batch", description = "Each item must carry the task id")
+    @ApiResponse(responseCode = "200", description = "Batch processed")
+    @PatchMapping
+    public ResponseEntity<ApiResponseDTO<List<TaskBatchItemResult>>> updateTasks(@RequestBody List<TaskBatchUpdateRequest> requests,
+                                                                                @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                                                WebRequest webRequest) {
+        log.info("Updating {} tasks in batch", requests.size());
+        List<TaskBatchItemResult> results = idempotencyService.execute(idempotencyKey, "PATCH /api/tasks/batch", requests, RESULTS,
+                () -> taskBatchService.updateTasks(requests));
+        return ResponseEntity.ok(ApiResponseDTO.success(results, summary(results), webRequest));
+    }
+
+    @Operation(summary = "Delete tasks in batch")
+    @ApiResponse(responseCode = "200", description = "Batch processed")
+    @DeleteMapping
+    public ResponseEntity<ApiResponseDTO<List<TaskBatchItemResult>>> deleteTasks(@RequestBody List<Long> ids,
+                                                                                @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                                                WebRequest webRequest) {
+        log.info("Deleting {} tasks in batch", ids.size());
+        List<TaskBatchItemResult> results = idempotencyService.execute(idempotencyKey, "DELETE /api/tasks/batch", ids, RESULTS,
+                () -> taskBatchService.deleteTasks(ids));
+        return ResponseEntity.ok(ApiResponseDTO.success(results, summary(results), webRequest));
+    }
+
+    private String summary(List<TaskBatchItemResult> results) {
+        long succeeded = results.stream().filter(TaskBatchItemResult::isSuccess).count();
+        return "Batch processed: " + succeeded + " succeeded, " + (results.size() - succeeded) + " failed";
+    }
+}
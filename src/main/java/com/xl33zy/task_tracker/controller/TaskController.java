@@ -1,10 +1,14 @@
 package com.xl33zy.task_tracker.controller;
 
 import com.xl33zy.task_tracker.dto.ApiResponseDTO;
+import com.xl33zy.task_tracker.dto.TaskCursorPage;
 import com.xl33zy.task_tracker.dto.TaskRequest;
 import com.xl33zy.task_tracker.dto.TaskResponse;
 import com.xl33zy.task_tracker.dto.TaskUpdateRequest;
+import com.xl33zy.task_tracker.service.IdempotencyService;
+import com.xl33zy.task_tracker.service.TaskETag;
 import com.xl33zy.task_tracker.service.TaskService;
+import com.xl33zy.task_tracker.service.TaskWriteCoalescer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,13 +16,14 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
 
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
 
 @Tag(name = "Tasks", description = "CRUD operations for tasks")
 @Slf4j
@@ -27,24 +32,30 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TaskController {
 
-    private final TaskService taskService;
+    private static final String CREATE_SCOPE = "POST /api/tasks";
 
-    private String generateRequestId() {
-        return UUID.randomUUID().toString();
-    }
+    private final TaskService taskService;
+    private final IdempotencyService idempotencyService;
+    private final TaskWriteCoalescer taskWriteCoalescer;
 
-    @Operation(summary = "Create new task")
+    @Operation(summary = "Create new task", description = "Retries with the same Idempotency-Key return the first result instead of creating another task")
     @ApiResponse(responseCode = "201", description = "Tasks created")
+    @ApiResponse(responseCode = "409", description = "A request with this Idempotency-Key is still being processed")
+    @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used with a different request")
     @PostMapping
-    public ResponseEntity<ApiResponseDTO<TaskResponse>> createTask(@Valid @RequestBody TaskRequest request, WebRequest webRequest) {
+    public ResponseEntity<ApiResponseDTO<TaskResponse>> createTask(@Valid @RequestBody TaskRequest request,
+                                                                   @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                                   WebRequest webRequest) {
         log.info("Creating new task with title: {}", request.getTitle());
-        TaskResponse response = taskService.createTask(request);
-        String requestId = generateRequestId();
+        TaskResponse response = idempotencyService.execute(idempotencyKey, CREATE_SCOPE, request, TaskResponse.class,
+                () -> taskService.createTask(request));
         return ResponseEntity.status(201)
-                             .body(ApiResponseDTO.success(response, "Task created successfully", webRequest.getDescription(false).replace("uri=", ""), requestId));
+                             .eTag(TaskETag.of(response))
+                             .body(ApiResponseDTO.success(response, "Task created successfully", webRequest));
     }
 
-    @Operation(summary = "Get all tasks", description = "Returns list of tasks")
+    @Operation(summary = "Get all tasks", description = "Returns list of tasks. "
+            + "With fields=title,status only those columns (plus id) are selected; other attributes are null")
     @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully")
     @GetMapping
     public ResponseEntity<ApiResponseDTO<List<TaskResponse>>> getAllTasks(
@@ -53,40 +64,106 @@ public class TaskController {
             @RequestParam(required = false) String sort,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
+    ) {
+        List<TaskResponse> tasks = taskService.getAllTasks(page, size, sort, status, priority, fields);
+        // Spring answers 304 for a matching If-None-Match before the body is serialized
+        String etag = TaskETag.ofList(tasks);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok(
+                ApiResponseDTO.success(
+                        tasks,
+                        "Tasks retrieved successfully",
+                        webRequest
+                )
+        );
+    }
+
+    @Operation(summary = "Get tasks by cursor", description = "Returns tasks after the given cursor using keyset pagination; pass an empty cursor for the first page")
+    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or sort property")
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponseDTO<TaskCursorPage>> getTasksByCursor(
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
             WebRequest webRequest
     ) {
-        List<TaskResponse> tasks = taskService.getAllTasks(page, size, sort, status, priority);
-        String requestId = generateRequestId();
+        TaskCursorPage tasks = taskService.getTasksByCursor(cursor, size, sort, status, priority);
         return ResponseEntity.ok(
                 ApiResponseDTO.success(
                         tasks,
                         "Tasks retrieved successfully",
-                        webRequest.getDescription(false).replace("uri=", ""),
-                        requestId
+                        webRequest
                 )
         );
     }
 
-    @Operation(summary = "Get task by ID")
+    @Operation(summary = "Search tasks", description = "Full-text search over title and description, best matches first. "
+            + "Supports quoted phrases, 'or' and '-' exclusion; pass nextCursor from the response to get the next page")
+    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Empty query or invalid cursor")
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponseDTO<TaskCursorPage>> searchTasks(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            WebRequest webRequest
+    ) {
+        TaskCursorPage tasks = taskService.searchTasks(q, cursor, size, status, priority);
+        return ResponseEntity.ok(
+                ApiResponseDTO.success(
+                        tasks,
+                        "Tasks retrieved successfully",
+                        webRequest
+                )
+        );
+    }
+
+    @Operation(summary = "Get task by ID", description = "Returns an ETag; a matching If-None-Match is answered with 304 without loading the task")
     @ApiResponse(responseCode = "200", description = "Task retrieved")
+    @ApiResponse(responseCode = "304", description = "Task not modified")
     @ApiResponse(responseCode = "404", description = "Task not found")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponseDTO<TaskResponse>> getTaskById(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> etag = taskService.getTaskETag(id);
+            if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+                return null;
+            }
+        }
         TaskResponse response = taskService.getTaskById(id)
                                            .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + id));
-        String requestId = generateRequestId();
-        return ResponseEntity.ok(ApiResponseDTO.success(response, "Task retrieved successfully", webRequest.getDescription(false).replace("uri=", ""), requestId));
+        return ResponseEntity.ok()
+                             .eTag(TaskETag.of(response))
+                             .body(ApiResponseDTO.success(response, "Task retrieved successfully", webRequest));
     }
 
-    @Operation(summary = "Update task partially")
+    @Operation(summary = "Update task partially", description = "Send If-Match with the task's ETag to update only if nobody changed it in between")
     @ApiResponse(responseCode = "200", description = "Task updated")
     @ApiResponse(responseCode = "404", description = "Task not found")
+    @ApiResponse(responseCode = "409", description = "Concurrent update detected")
+    @ApiResponse(responseCode = "412", description = "If-Match does not match the current ETag")
     @PatchMapping("/{id}")
-    public ResponseEntity<ApiResponseDTO<TaskResponse>> patchTask(@PathVariable Long id, @Valid @RequestBody TaskUpdateRequest request, WebRequest webRequest) {
-        TaskResponse response = taskService.patchTask(id, request)
-                                           .orElseThrow(() -> new EntityNotFoundException("Task not found for update with id: " + id));
-        String requestId = generateRequestId();
-        return ResponseEntity.ok(ApiResponseDTO.success(response, "Task updated successfully", webRequest.getDescription(false).replace("uri=", ""), requestId));
+    public ResponseEntity<ApiResponseDTO<TaskResponse>> patchTask(@PathVariable Long id,
+                                                                  @Valid @RequestBody TaskUpdateRequest request,
+                                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                  WebRequest webRequest) {
+        // A conditional update is checked against the version it was read at, so it cannot wait to be merged
+        Optional<TaskResponse> patched = ifMatch == null && taskWriteCoalescer.isEnabled()
+                ? taskWriteCoalescer.patch(id, request)
+                : taskService.patchTask(id, request, ifMatch);
+        TaskResponse response = patched.orElseThrow(() -> new EntityNotFoundException("Task not found for update with id: " + id));
+        return ResponseEntity.ok()
+                             .eTag(TaskETag.of(response))
+                             .body(ApiResponseDTO.success(response, "Task updated successfully", webRequest));
     }
 
     @Operation(summary = "Delete task by ID")
@@ -94,10 +171,9 @@ public class TaskController {
     @ApiResponse(responseCode = "404", description = "Task not found")
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponseDTO<Void>> deleteTask(@PathVariable Long id, WebRequest webRequest) {
-        String requestId = generateRequestId();
         boolean deleted = taskService.deleteTask(id);
         if (deleted) {
-            return ResponseEntity.ok(ApiResponseDTO.success(null, "Task deleted successfully", webRequest.getDescription(false).replace("uri=",""), requestId));
+            return ResponseEntity.ok(ApiResponseDTO.success(null, "Task deleted successfully", webRequest));
         } else {
             throw new EntityNotFoundException("Task not found with id: " + id);
         }
@@ -0,0 +1,48 @@
+package com.xl33zy.task_tracker.controller;
+
+import com.xl33zy.task_tracker.service.TaskDataFormat;
+import com.xl33zy.task_tracker.service.TaskExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@Tag(name = "Task export", description = "Streaming export of tasks")
+@Slf4j
+@RestController
+@RequestMapping("/api/tasks/export")
+@RequiredArgsConstructor
+public class TaskExportController {
+
+    private final TaskExportService taskExportService;
+
+    @Operation(summary = "Export tasks", description = "Streams all matching tasks as NDJSON or CSV in constant memory")
+    @ApiResponse(responseCode = "200", description = "Tasks exported")
+    @ApiResponse(responseCode = "400", description = "Unsupported format or filter")
+    @GetMapping
+    public void exportTasks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            HttpServletResponse response
+    ) throws IOException {
+        TaskDataFormat exportFormat = TaskDataFormat.fromString(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                                                              .filename("tasks." + exportFormat.getExtension())
+                                                                              .build()
+                                                                              .toString());
+
+        long exported = taskExportService.exportTasks(exportFormat, status, priority, response.getOutputStream());
+        log.info("Exported {} tasks as {}", exported, exportFormat);
+    }
+}
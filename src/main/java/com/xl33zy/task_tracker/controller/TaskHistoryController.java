@@ -0,0 +1,45 @@
+package com.xl33zy.task_tracker.controller;
+
+import com.xl33zy.task_tracker.dto.ApiResponseDTO;
+import com.xl33zy.task_tracker.dto.TaskEventPage;
+import com.xl33zy.task_tracker.repository.InMemoryTaskRepository;
+import com.xl33zy.task_tracker.service.TaskHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@Tag(name = "Task history", description = "Status and priority change log of a task")
+@Profile("!" + InMemoryTaskRepository.PROFILE)
+@RestController
+@RequestMapping("/api/tasks/{id}/history")
+@RequiredArgsConstructor
+public class TaskHistoryController {
+
+    private final TaskHistoryService taskHistoryService;
+
+    @Operation(summary = "Get task history", description = "Returns events with id greater than 'after', oldest first. "
+            + "Events are written asynchronously, so the latest change may take up to a flush interval to appear")
+    @ApiResponse(responseCode = "200", description = "History retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid page size")
+    @GetMapping
+    public ResponseEntity<ApiResponseDTO<TaskEventPage>> getHistory(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "50") int size,
+            WebRequest webRequest
+    ) {
+        TaskEventPage history = taskHistoryService.getHistory(id, after, size);
+        return ResponseEntity.ok(
+                ApiResponseDTO.success(
+                        history,
+                        "Task history retrieved successfully",
+                        webRequest
+                )
+        );
+    }
+}
@@ -0,0 +1,53 @@
+package com.xl33zy.task_tracker.controller;
+
+import com.xl33zy.task_tracker.dto.ApiResponseDTO;
+import com.xl33zy.task_tracker.dto.TaskImportReport;
+import com.xl33zy.task_tracker.repository.InMemoryTaskRepository;
+import com.xl33zy.task_tracker.service.TaskDataFormat;
+import com.xl33zy.task_tracker.service.TaskImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+
+@Tag(name = "Task import", description = "Streaming bulk import of tasks")
+@Slf4j
+@Profile("!" + InMemoryTaskRepository.PROFILE)
+@RestController
+@RequestMapping("/api/tasks/import")
+@RequiredArgsConstructor
+public class TaskImportController {
+
+    private final TaskImportService taskImportService;
+
+    @Operation(summary = "Import tasks", description = "Accepts an NDJSON or CSV body, validates each record and loads accepted rows with PostgreSQL COPY")
+    @ApiResponse(responseCode = "200", description = "Import finished, see the report for rejected lines")
+    @ApiResponse(responseCode = "400", description = "Unsupported format or malformed CSV header")
+    @PostMapping
+    public ResponseEntity<ApiResponseDTO<TaskImportReport>> importTasks(
+            @RequestParam(required = false) String format,
+            HttpServletRequest request,
+            WebRequest webRequest
+    ) throws IOException {
+        TaskDataFormat dataFormat = format != null ? TaskDataFormat.fromString(format) : fromContentType(request.getContentType());
+        log.info("Importing tasks as {}", dataFormat);
+        TaskImportReport report = taskImportService.importTasks(dataFormat, request.getInputStream());
+        return ResponseEntity.ok(ApiResponseDTO.success(report, "Tasks imported", webRequest));
+    }
+
+    private TaskDataFormat fromContentType(String contentType) {
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(TaskDataFormat.CSV.getContentType()))) {
+            return TaskDataFormat.CSV;
+        }
+        return TaskDataFormat.NDJSON;
+    }
+}
@@ -0,0 +1,37 @@
+package com.xl33zy.task_tracker.controller;
+
+import com.xl33zy.task_tracker.dto.ApiResponseDTO;
+import com.xl33zy.task_tracker.dto.TaskStatsResponse;
+import com.xl33zy.task_tracker.service.TaskStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@Tag(name = "Task stats", description = "Aggregated task counts")
+@RestController
+@RequestMapping("/api/tasks/stats")
+@RequiredArgsConstructor
+public class TaskStatsController {
+
+    private final TaskStatsService taskStatsService;
+
+    @Operation(summary = "Get task counts", description = "Returns task counts for every status and priority from in-memory counters; "
+            + "changes made outside the single-task endpoints show up after the next reconciliation")
+    @ApiResponse(responseCode = "200", description = "Stats retrieved successfully")
+    @GetMapping
+    public ResponseEntity<ApiResponseDTO<TaskStatsResponse>> getStats(WebRequest webRequest) {
+        return ResponseEntity.ok(
+                ApiResponseDTO.success(
+                        taskStatsService.getStats(),
+                        "Task stats retrieved successfully",
+                        webRequest
+                )
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package com.xl33zy.task_tracker.controller;
+
+import com.xl33zy.task_tracker.service.TaskEventStream;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Tag(name = "Task stream", description = "Live task changes over server-sent events")
+@RestController
+@RequestMapping("/api/tasks/stream")
+@RequiredArgsConstructor
+public class TaskStreamController {
+
+    private final TaskEventStream taskEventStream;
+
+    @Operation(summary = "Stream task changes", description = "Sends created/updated/deleted events as they are committed. "
+            + "A status or priority filter matches changes into or out of that value. Reconnect with Last-Event-ID to resume; "
+            + "a 'reset' event means the missed events are gone and the client should reload")
+    @ApiResponse(responseCode = "200", description = "Stream opened")
+    @ApiResponse(responseCode = "400", description = "Invalid status or priority filter")
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @Parameter(description = "Last received event id, sent automatically by EventSource on reconnect")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @Parameter(description = "Same as Last-Event-ID, for clients that cannot set headers")
+            @RequestParam(required = false) String lastEventId) {
+        return taskEventStream.subscribe(status, priority, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+}
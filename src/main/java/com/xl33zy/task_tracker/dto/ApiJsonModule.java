@@ -0,0 +1,137 @@
+package com.xl33zy.task_tracker.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Hand-written serializers for the two types on every response: the {@link ApiResponseDTO} envelope and
+ * {@link TaskResponse}.
+ * <p>
+ * They write the same JSON as the annotation-driven bean serializers (field order, nulls, the
+ * {@code yyyy-MM-dd HH:mm:ss} task dates and the ISO envelope timestamp Spring Boot configures) without walking
+ * bean properties, and format dates straight into a small char buffer instead of going through a
+ * {@link DateTimeFormatter}. The formatters are only used for years outside {@code 0000-9999}.
+ */
+public class ApiJsonModule extends SimpleModule {
+    private static final DateTimeFormatter TASK_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter ISO_DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ApiJsonModule() {
+        super("task-tracker-api");
+        addSerializer(TaskResponse.class, new TaskResponseSerializer());
+        addSerializer((Class) ApiResponseDTO.class, new ApiResponseSerializer());
+    }
+
+    static final class TaskResponseSerializer extends StdSerializer<TaskResponse> {
+        TaskResponseSerializer() {
+            super(TaskResponse.class);
+        }
+
+        @Override
+        public void serialize(TaskResponse task, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(task);
+            writeNumberField(gen, "id", task.getId());
+            gen.writeStringField("title", task.getTitle());
+            gen.writeStringField("description", task.getDescription());
+            writeEnumField(gen, "status", task.getStatus());
+            writeEnumField(gen, "priority", task.getPriority());
+            writeDateTimeField(gen, "createdAt", task.getCreatedAt(), ' ', false);
+            writeDateTimeField(gen, "updatedAt", task.getUpdatedAt(), ' ', false);
+            gen.writeEndObject();
+        }
+    }
+
+    static final class ApiResponseSerializer extends StdSerializer<ApiResponseDTO<?>> {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ApiResponseSerializer() {
+            super((Class) ApiResponseDTO.class);
+        }
+
+        @Override
+        public void serialize(ApiResponseDTO<?> response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(response);
+            if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+                provider.defaultSerializeField("timestamp", response.getTimestamp(), gen);
+            } else {
+                writeDateTimeField(gen, "timestamp", response.getTimestamp(), 'T', true);
+            }
+            gen.writeNumberField("status", response.getStatus());
+            gen.writeStringField("message", response.getMessage());
+            gen.writeStringField("error", response.getError());
+            provider.defaultSerializeField("data", response.getData(), gen);
+            gen.writeStringField("path", response.getPath());
+            gen.writeStringField("requestId", response.getRequestId());
+            gen.writeStringField("details", response.getDetails());
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeNumberField(JsonGenerator gen, String name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeEnumField(JsonGenerator gen, String name, Enum<?> value) throws IOException {
+        gen.writeStringField(name, value != null ? value.name() : null);
+    }
+
+    private static void writeDateTimeField(JsonGenerator gen, String name, LocalDateTime value,
+                                           char separator, boolean fraction) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString((fraction ? ISO_DATE_TIME : TASK_DATE_TIME).format(value));
+            return;
+        }
+        char[] buffer = new char[29];
+        writeDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, value.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, value.getDayOfMonth(), 2);
+        buffer[10] = separator;
+        writeDigits(buffer, 11, value.getHour(), 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, value.getMinute(), 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, value.getSecond(), 2);
+        int length = 19;
+
+        // ISO_LOCAL_DATE_TIME prints the fraction with trailing zeros removed, and nothing for whole seconds
+        int nano = value.getNano();
+        if (fraction && nano != 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buffer[19] = '.';
+            writeDigits(buffer, 20, nano, digits);
+            length = 20 + digits;
+        }
+        gen.writeString(buffer, 0, length);
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
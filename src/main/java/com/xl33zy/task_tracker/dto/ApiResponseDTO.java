@@ -1,13 +1,18 @@
 package com.xl33zy.task_tracker.dto;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.Builder;
 import lombok.Data;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 
 @Data
 @Builder
 public class ApiResponseDTO<T> {
+    private static final String URI_PREFIX = "uri=";
+
     private LocalDateTime timestamp;
     private int status;
     private String message;
@@ -18,27 +23,33 @@ public class ApiResponseDTO<T> {
     private String details;
 
     public static <T> ApiResponseDTO<T> success(T data, String message, String path, String requestId) {
-        return ApiResponseDTO.<T>builder()
-                             .timestamp(LocalDateTime.now())
-                             .status(200)
-                             .message(message)
-                             .error(null)
-                             .data(data)
-                             .path(path)
-                             .requestId(requestId)
-                             .build();
+        return new ApiResponseDTO<>(LocalDateTime.now(), 200, message, null, data, path, requestId, null);
+    }
+
+    public static <T> ApiResponseDTO<T> success(T data, String message, WebRequest request) {
+        return success(data, message, path(request), RequestIds.next());
     }
 
     public static ApiResponseDTO<?> error(int status, String error, String message, String path, String requestId, String details) {
-        return ApiResponseDTO.builder()
-                             .timestamp(LocalDateTime.now())
-                             .status(status)
-                             .error(error)
-                             .message(message)
-                             .data(null)
-                             .path(path)
-                             .requestId(requestId)
-                             .details(details)
-                             .build();
+        return new ApiResponseDTO<>(LocalDateTime.now(), status, message, error, null, path, requestId, details);
+    }
+
+    public static ApiResponseDTO<?> error(int status, String error, String message, WebRequest request, String details) {
+        return error(status, error, message, path(request), RequestIds.next(), details);
+    }
+
+    /**
+     * Same value as {@code getDescription(false).replace("uri=", "")}, but read straight from the servlet request,
+     * whose container caches the decoded URI string, instead of building and rewriting a description.
+     */
+    public static String path(WebRequest request) {
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletRequest servletRequest = nativeRequest.getNativeRequest(HttpServletRequest.class);
+            if (servletRequest != null) {
+                return servletRequest.getRequestURI();
+            }
+        }
+        String description = request.getDescription(false);
+        return description.startsWith(URI_PREFIX) ? description.substring(URI_PREFIX.length()) : description;
     }
 }
@@ -0,0 +1,24 @@
+package com.xl33zy.task_tracker.dto;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request ids for the response envelope.
+ * <p>
+ * {@link UUID#randomUUID()} draws from a shared {@link SecureRandom} on every call, which is slow and contended
+ * under load. Request ids only need to be unique, not unguessable, so they are built from a random per-process
+ * prefix and a counter and formatted like a UUID to keep the response format unchanged.
+ */
+public final class RequestIds {
+    private static final long PREFIX = new SecureRandom().nextLong();
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private RequestIds() {
+    }
+
+    public static String next() {
+        return new UUID(PREFIX, SEQUENCE.incrementAndGet()).toString();
+    }
+}
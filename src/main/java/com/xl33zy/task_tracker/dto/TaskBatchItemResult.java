@@ -0,0 +1,35 @@
+package com.xl33zy.task_tracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "DTO for the outcome of a single batch item")
+public class TaskBatchItemResult {
+
+    @Schema(description = "Position of the item in the request array", example = "0")
+    private int index;
+
+    @Schema(description = "Task ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Whether the item was applied", example = "true")
+    private boolean success;
+
+    @Schema(description = "Reason the item was rejected", example = "title: Title cannot be empty")
+    private String error;
+
+    @Schema(description = "Resulting task, absent for deletes and failures")
+    private TaskResponse task;
+
+    public static TaskBatchItemResult success(int index, Long id, TaskResponse task) {
+        return new TaskBatchItemResult(index, id, true, null, task);
+    }
+
+    public static TaskBatchItemResult failure(int index, Long id, String error) {
+        return new TaskBatchItemResult(index, id, false, error, null);
+    }
+}
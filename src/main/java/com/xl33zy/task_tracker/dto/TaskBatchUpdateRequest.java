@@ -0,0 +1,15 @@
+package com.xl33zy.task_tracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema(description = "DTO for a single item of a batch update")
+public class TaskBatchUpdateRequest extends TaskUpdateRequest {
+    @NotNull(message = "Id cannot be null")
+    @Schema(description = "Task ID", example = "1")
+    private Long id;
+}
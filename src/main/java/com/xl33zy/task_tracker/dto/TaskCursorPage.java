@@ -0,0 +1,20 @@
+package com.xl33zy.task_tracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "DTO for a cursor-paginated list of tasks")
+public class TaskCursorPage {
+
+    @Schema(description = "Tasks on this page")
+    private List<TaskResponse> items;
+
+    @Schema(description = "Opaque cursor for the next page, null when there are no more tasks", example = "aWQsQVNDLDEwLDEw")
+    private String nextCursor;
+}
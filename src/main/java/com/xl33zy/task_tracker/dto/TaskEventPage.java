@@ -0,0 +1,20 @@
+package com.xl33zy.task_tracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "DTO for a page of task history ordered by event id")
+public class TaskEventPage {
+
+    @Schema(description = "Events on this page, oldest first")
+    private List<TaskEventResponse> items;
+
+    @Schema(description = "Pass as 'after' to fetch the next page, null when there are no more events", example = "42")
+    private Long nextAfter;
+}
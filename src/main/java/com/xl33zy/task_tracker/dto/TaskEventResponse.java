@@ -0,0 +1,43 @@
+package com.xl33zy.task_tracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.xl33zy.task_tracker.model.TaskEventType;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "DTO for a task history event")
+public class TaskEventResponse {
+
+    @Schema(description = "Event ID, increasing in write order", example = "42")
+    private Long id;
+
+    @Schema(description = "Task ID", example = "1")
+    private Long taskId;
+
+    @Schema(description = "Event type", example = "UPDATED")
+    private TaskEventType type;
+
+    @Schema(description = "Status before the change", example = "NEW")
+    private TaskStatus oldStatus;
+
+    @Schema(description = "Status after the change", example = "IN_PROGRESS")
+    private TaskStatus newStatus;
+
+    @Schema(description = "Priority before the change", example = "MEDIUM")
+    private TaskPriority oldPriority;
+
+    @Schema(description = "Priority after the change", example = "HIGH")
+    private TaskPriority newPriority;
+
+    @Schema(description = "When the change happened", example = "2025-11-11 15:21:35")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,18 @@
+package com.xl33zy.task_tracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "DTO for a rejected import line")
+public class TaskImportRejection {
+
+    @Schema(description = "Line number in the uploaded body", example = "42")
+    private long line;
+
+    @Schema(description = "Reason the line was rejected", example = "title: Title cannot be empty")
+    private String error;
+}
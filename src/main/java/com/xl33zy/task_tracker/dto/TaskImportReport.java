@@ -0,0 +1,23 @@
+package com.xl33zy.task_tracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "DTO for the outcome of a bulk import")
+public class TaskImportReport {
+
+    @Schema(description = "Number of tasks written", example = "99998")
+    private long accepted;
+
+    @Schema(description = "Number of lines rejected", example = "2")
+    private long rejected;
+
+    @Schema(description = "Rejected lines, capped at tasks.import.max-reported-rejections")
+    private List<TaskImportRejection> rejections;
+}
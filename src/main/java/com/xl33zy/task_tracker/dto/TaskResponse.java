@@ -1,6 +1,7 @@
 package com.xl33zy.task_tracker.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.xl33zy.task_tracker.model.TaskPriority;
 import com.xl33zy.task_tracker.model.TaskStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -37,4 +38,8 @@ public class TaskResponse {
     @Schema(description = "Task last update date", example = "2025-11-11 15:21:35")
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime updatedAt;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Long version;
 }
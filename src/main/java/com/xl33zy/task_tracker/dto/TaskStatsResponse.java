@@ -0,0 +1,28 @@
+package com.xl33zy.task_tracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "DTO for task counts per status and priority")
+public class TaskStatsResponse {
+
+    @Schema(description = "Total number of tasks", example = "42")
+    private long total;
+
+    @Schema(description = "Task counts by status, then by priority", example = "{\"NEW\": {\"LOW\": 3, \"MEDIUM\": 10, \"HIGH\": 1}}")
+    private Map<TaskStatus, Map<TaskPriority, Long>> counts;
+
+    @Schema(description = "When the counters were last reconciled against the database", example = "2025-11-11 15:21:35")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,7 @@
+package com.xl33zy.task_tracker.exception;
+
+public class BadRequestException extends IllegalArgumentException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,10 @@ package com.xl33zy.task_tracker.exception;
 import com.xl33zy.task_tracker.dto.ApiResponseDTO;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,24 +14,20 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
-import java.util.UUID;
+import java.sql.SQLException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
-    private String generateRequestId() {
-        return UUID.randomUUID().toString();
-    }
+    private static final String SERIALIZATION_FAILURE = "40001";
 
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<ApiResponseDTO<?>> handleEntityNotFound(EntityNotFoundException ex, WebRequest request) {
-        String requestId = generateRequestId();
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(ApiResponseDTO.error(
                         404,
                         "Not Found",
                         ex.getMessage(),
-                        request.getDescription(false).replace("uri=", ""),
-                        requestId,
+                        request,
                         null
                 ));
     }
@@ -37,43 +37,139 @@ public class GlobalExceptionHandler {
         String msg = ex.getBindingResult().getFieldErrors().stream()
                 .map(err -> err.getField() + ": " + err.getDefaultMessage())
                 .findFirst().orElse("Validation failed");
-        String requestId = generateRequestId();
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(ApiResponseDTO.error(
                         400,
                         "Validation Error",
                         msg,
-                        request.getDescription(false).replace("uri=", ""),
-                        requestId,
+                        request,
                         null
                 ));
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ApiResponseDTO<?>> handleConstraintViolation(ConstraintViolationException ex, WebRequest request) {
-        String requestId = generateRequestId();
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                              .body(ApiResponseDTO.error(
                                      400,
                                      "Validation Error",
                                      ex.getMessage(),
-                                     request.getDescription(false).replace("uri=", ""),
-                                     requestId,
+                                     request,
+                                     null
+                             ));
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiResponseDTO<?>> handleBadRequest(BadRequestException ex, WebRequest request) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                             .body(ApiResponseDTO.error(
+                                     400,
+                                     "Bad Request",
+                                     ex.getMessage(),
+                                     request,
+                                     null
+                             ));
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponseDTO<?>> handlePreconditionFailed(PreconditionFailedException ex, WebRequest request) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                             .body(ApiResponseDTO.error(
+                                     412,
+                                     "Precondition Failed",
+                                     ex.getMessage(),
+                                     request,
+                                     null
+                             ));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponseDTO<?>> handleOptimisticLocking(OptimisticLockingFailureException ex, WebRequest request) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                             .body(ApiResponseDTO.error(
+                                     409,
+                                     "Conflict",
+                                     "Task was modified concurrently, reload and retry",
+                                     request,
+                                     null
+                             ));
+    }
+
+    // Lock timeouts, deadlocks and serialization failures (SQLSTATE 40001), e.g. updating a task that a concurrent
+    // status change has just moved to another partition: the request did nothing and can simply be retried
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ApiResponseDTO<?>> handleConcurrencyFailure(ConcurrencyFailureException ex, WebRequest request) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                             .body(ApiResponseDTO.error(
+                                     409,
+                                     "Conflict",
+                                     "Task was modified concurrently, retry the request",
+                                     request,
+                                     null
+                             ));
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ApiResponseDTO<?>> handleIdempotencyConflict(IdempotencyConflictException ex, WebRequest request) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                             .body(ApiResponseDTO.error(
+                                     409,
+                                     "Conflict",
+                                     ex.getMessage(),
+                                     request,
+                                     null
+                             ));
+    }
+
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<ApiResponseDTO<?>> handleIdempotencyKeyReuse(IdempotencyKeyReuseException ex, WebRequest request) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                             .body(ApiResponseDTO.error(
+                                     422,
+                                     "Unprocessable Entity",
+                                     ex.getMessage(),
+                                     request,
+                                     null
+                             ));
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponseDTO<?>> handleServiceOverloaded(ServiceOverloadedException ex, WebRequest request) {
+        // Retry-After takes whole seconds; rounding up keeps clients from coming back early
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                             .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                             .body(ApiResponseDTO.error(
+                                     503,
+                                     "Service Unavailable",
+                                     ex.getMessage(),
+                                     request,
                                      null
                              ));
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponseDTO<?>> handleGeneralException(Exception ex, WebRequest request) {
-        String requestId = generateRequestId();
+        // Serialization failures that reach here untranslated, e.g. wrapped by a transaction commit
+        if (isSerializationFailure(ex)) {
+            return handleConcurrencyFailure(new CannotAcquireLockException(ex.getMessage(), ex), request);
+        }
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                              .body(ApiResponseDTO.error(
                                      500,
                                      "Internal Server Error",
                                      "Something went wrong",
-                                     request.getDescription(false).replace("uri=", ""),
-                                     requestId,
+                                     request,
                                      ex.getMessage()
                              ));
     }
+
+    private static boolean isSerializationFailure(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && SERIALIZATION_FAILURE.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
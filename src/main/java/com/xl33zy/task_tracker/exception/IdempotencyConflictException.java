@@ -0,0 +1,7 @@
+package com.xl33zy.task_tracker.exception;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.xl33zy.task_tracker.exception;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.xl33zy.task_tracker.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
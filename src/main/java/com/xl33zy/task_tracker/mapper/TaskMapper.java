@@ -1,9 +1,11 @@
 package com.xl33zy.task_tracker.mapper;
 
+import com.xl33zy.task_tracker.dto.TaskEventResponse;
 import com.xl33zy.task_tracker.dto.TaskRequest;
 import com.xl33zy.task_tracker.dto.TaskResponse;
 import com.xl33zy.task_tracker.dto.TaskUpdateRequest;
 import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskEvent;
 import org.mapstruct.*;
 
 @Mapper(
@@ -15,10 +17,13 @@ public interface TaskMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Task toEntity(TaskRequest request);
 
     TaskResponse toResponse(Task task);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateTaskFromRequest(TaskUpdateRequest request, @MappingTarget Task task);
+
+    TaskEventResponse toEventResponse(TaskEvent event);
 }
@@ -8,9 +8,15 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
 @Table(name = "tasks")
+@SqlResultSetMapping(
+        name = Task.SEARCH_HIT_MAPPING,
+        entities = @EntityResult(entityClass = Task.class),
+        columns = @ColumnResult(name = "rank", type = Float.class)
+)
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -18,8 +24,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class Task {
+    public static final String SEARCH_HIT_MAPPING = "TaskSearchHit";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
+    @SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -44,14 +53,32 @@ public class Task {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    // Null until persisted so Spring Data still treats builder-made tasks as new
+    @Version
+    private Long version;
+
+    // Set by TaskArchiver on old DONE tasks; moves the row into the tasks_archive partition
+    @Column(nullable = false)
+    private boolean archived;
+
     @PrePersist
     public void prePersist() {
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        LocalDateTime now = now();
+        this.createdAt = now;
+        this.updatedAt = now;
     }
 
     @PreUpdate
     public void preUpdate() {
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = now();
+        // A reopened task is open work again, not archive
+        if (status != TaskStatus.DONE) {
+            this.archived = false;
+        }
+    }
+
+    // TIMESTAMP columns keep microseconds: the ETag of the saved entity must match the one read back later
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
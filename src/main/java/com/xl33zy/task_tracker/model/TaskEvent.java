@@ -0,0 +1,46 @@
+package com.xl33zy.task_tracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a row in {@code task_events}. Rows are inserted in batches by
+ * {@link com.xl33zy.task_tracker.service.TaskEventLog}, never through JPA.
+ */
+@Entity
+@Immutable
+@Table(name = "task_events")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskEventType type;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus oldStatus;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus newStatus;
+
+    @Enumerated(EnumType.STRING)
+    private TaskPriority oldPriority;
+
+    @Enumerated(EnumType.STRING)
+    private TaskPriority newPriority;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
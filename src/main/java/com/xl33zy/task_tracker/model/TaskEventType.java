@@ -0,0 +1,7 @@
+package com.xl33zy.task_tracker.model;
+
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
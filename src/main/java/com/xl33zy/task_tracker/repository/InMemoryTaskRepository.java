@@ -0,0 +1,720 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.config.InMemoryStorageProperties;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * {@link TaskRepository} that keeps tasks in the JVM, selected with the {@code in-memory} profile for edge
+ * deployments and load tests that run without PostgreSQL.
+ * <p>
+ * Tasks live in a {@link StripedLongMap} keyed by id. For every {@link TaskSortField} there is a sorted index of
+ * {@code (value, id)} keys over all tasks, plus one per {@link TaskStatus} and per {@link TaskPriority}, so
+ * filtered, sorted and keyset pages are read straight off a skip list instead of scanning every task. Row counts
+ * per status and priority are kept alongside for page totals and stats. A write runs under the map stripe's lock
+ * for its id and updates the indexes there; readers take no locks and skip index keys whose task has since
+ * changed, so a page never returns a task twice.
+ * <p>
+ * Stored tasks are never handed out. Lookups by id inside a read-write transaction return copies that behave like
+ * managed entities: changes to them are written on {@link #flush()} or before commit, versions are checked and
+ * bumped like {@code @Version}, and the {@code @PrePersist}/{@code @PreUpdate} callbacks run as in Hibernate.
+ * Full-text search has no index and scans the filtered id index.
+ * <p>
+ * With a {@link TaskJournal} every write is logged while the stripe lock is held, before the indexes change, and
+ * the call returns once the record is durable; tasks are restored from the journal on startup and snapshotted on
+ * {@code tasks.memory.snapshot-interval}.
+ */
+@Repository
+@Profile(InMemoryTaskRepository.PROFILE)
+public class InMemoryTaskRepository implements TaskRepository {
+    public static final String PROFILE = "in-memory";
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+    private static final TaskSortField[] SORT_FIELDS = TaskSortField.values();
+    private static final String SNAPSHOT_INTERVAL_MILLIS =
+            "#{T(org.springframework.boot.convert.DurationStyle).detectAndParse('${tasks.memory.snapshot-interval:10m}').toMillis()}";
+
+    private final StripedLongMap<Task> tasks;
+    private final SortedIndex[] indexes = new SortedIndex[SORT_FIELDS.length];
+    private final LongAdder[] counts = new LongAdder[STATUSES.length * PRIORITIES.length];
+    private final AtomicLong sequence = new AtomicLong();
+    private final TaskJournal journal;
+
+    public InMemoryTaskRepository(InMemoryStorageProperties properties, Optional<TaskJournal> journal) {
+        this.tasks = new StripedLongMap<>(properties.stripes(), properties.initialCapacity());
+        for (TaskSortField field : SORT_FIELDS) {
+            indexes[field.ordinal()] = new SortedIndex(field);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+        this.journal = journal.orElse(null);
+        if (this.journal != null) {
+            try {
+                long saved = this.journal.recover(this::restore, this::restoreDeleted);
+                sequence.accumulateAndGet(saved, Math::max);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not restore tasks from " + properties.walDirectory(), e);
+            }
+        }
+    }
+
+    /**
+     * Writes a snapshot of all tasks so that the next startup only replays the log written after it.
+     */
+    @Scheduled(fixedDelayString = SNAPSHOT_INTERVAL_MILLIS, initialDelayString = SNAPSHOT_INTERVAL_MILLIS)
+    public void snapshot() throws IOException {
+        if (journal != null) {
+            journal.snapshot(tasks, sequence::get);
+        }
+    }
+
+    // ---------------- lookups ----------------
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        Task stored = id == null ? null : tasks.get(id);
+        return Optional.ofNullable(stored).map(this::manage);
+    }
+
+    @Override
+    public List<Task> findAllById(Iterable<Long> ids) {
+        List<Task> result = new ArrayList<>();
+        for (Long id : ids) {
+            findById(id).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<TaskVersion> findVersionById(Long id) {
+        return Optional.ofNullable(tasks.get(id)).map(task -> new TaskVersion(task.getVersion(), task.getUpdatedAt()));
+    }
+
+    @Override
+    public long count() {
+        return count(null, null);
+    }
+
+    @Override
+    public List<TaskCountRow> countByStatusAndPriority() {
+        List<TaskCountRow> rows = new ArrayList<>();
+        for (TaskStatus status : STATUSES) {
+            for (TaskPriority priority : PRIORITIES) {
+                long count = counts[combination(status, priority)].sum();
+                if (count > 0) {
+                    rows.add(new CountRow(status, priority, count));
+                }
+            }
+        }
+        return rows;
+    }
+
+    // ---------------- pages ----------------
+
+    @Override
+    public List<Task> findAll() {
+        return scan(null, null, TaskSortField.ID, true, null).map(InMemoryTaskRepository::copy).toList();
+    }
+
+    @Override
+    public Page<Task> findAll(Pageable pageable) {
+        return findPage(null, null, pageable);
+    }
+
+    @Override
+    public Page<Task> findByStatus(TaskStatus status, Pageable pageable) {
+        return findPage(status, null, pageable);
+    }
+
+    @Override
+    public Page<Task> findByPriority(TaskPriority priority, Pageable pageable) {
+        return findPage(null, priority, pageable);
+    }
+
+    @Override
+    public Page<Task> findByStatusAndPriority(TaskStatus status, TaskPriority priority, Pageable pageable) {
+        return findPage(status, priority, pageable);
+    }
+
+    @Override
+    public List<TaskResponse> findProjected(Set<TaskField> fields, TaskStatus status, TaskPriority priority, Pageable pageable) {
+        List<TaskField> selected = List.copyOf(fields);
+        return page(status, priority, pageable).map(task -> {
+            TaskResponse response = new TaskResponse();
+            for (TaskField field : selected) {
+                field.apply(response, fieldValue(field, task));
+            }
+            return response;
+        }).toList();
+    }
+
+    @Override
+    public List<Task> findKeysetPage(TaskStatus status,
+                                     TaskPriority priority,
+                                     TaskSortField sortField,
+                                     Sort.Direction direction,
+                                     KeysetPosition after,
+                                     int limit) {
+        return scan(status, priority, sortField, direction.isAscending(), after)
+                .limit(limit)
+                .map(InMemoryTaskRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public List<TaskSearchHit> search(String text, TaskStatus status, TaskPriority priority, KeysetPosition after, int limit) {
+        List<String> terms = terms(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        Comparator<TaskSearchHit> byRank = Comparator.comparing(TaskSearchHit::rank)
+                                                     .thenComparing(hit -> hit.task().getId())
+                                                     .reversed();
+        TaskSearchHit last = after == null ? null
+                : new TaskSearchHit(Task.builder().id(after.id()).build(), ((Number) after.value()).floatValue());
+        return scan(status, priority, TaskSortField.ID, true, null)
+                .map(task -> new TaskSearchHit(task, rank(task, terms)))
+                .filter(hit -> hit.rank() > 0 && (last == null || byRank.compare(hit, last) > 0))
+                .sorted(byRank)
+                .limit(limit)
+                .map(hit -> new TaskSearchHit(copy(hit.task()), hit.rank()))
+                .toList();
+    }
+
+    @Override
+    public Stream<Task> streamAllByOrderByIdAsc() {
+        return scan(null, null, TaskSortField.ID, true, null).map(InMemoryTaskRepository::copy);
+    }
+
+    @Override
+    public Stream<Task> streamByStatusOrderByIdAsc(TaskStatus status) {
+        return scan(status, null, TaskSortField.ID, true, null).map(InMemoryTaskRepository::copy);
+    }
+
+    @Override
+    public Stream<Task> streamByPriorityOrderByIdAsc(TaskPriority priority) {
+        return scan(null, priority, TaskSortField.ID, true, null).map(InMemoryTaskRepository::copy);
+    }
+
+    @Override
+    public Stream<Task> streamByStatusAndPriorityOrderByIdAsc(TaskStatus status, TaskPriority priority) {
+        return scan(status, priority, TaskSortField.ID, true, null).map(InMemoryTaskRepository::copy);
+    }
+
+    // ---------------- writes ----------------
+
+    @Override
+    public <S extends Task> S save(S entity) {
+        checkNotNull(entity);
+        if (entity.getId() == null) {
+            return insert(entity);
+        }
+        UnitOfWork unitOfWork = currentUnitOfWork();
+        if (unitOfWork != null && unitOfWork.managed.get(entity.getId()) == entity) {
+            write(entity);
+            return entity;
+        }
+        // Detached instance: like merge, the caller gets a new copy and its own instance stays as it was
+        Task stored = update(entity);
+        @SuppressWarnings("unchecked")
+        S merged = (S) manage(stored);
+        return merged;
+    }
+
+    @Override
+    public <S extends Task> List<S> saveAll(Iterable<S> entities) {
+        List<S> all = new ArrayList<>();
+        entities.forEach(all::add);
+        // Checked up front so a bad item fails the whole call, as the batch insert would
+        all.forEach(InMemoryTaskRepository::checkNotNull);
+        return all.stream().map(this::save).toList();
+    }
+
+    @Override
+    public <S extends Task> S saveAndFlush(S entity) {
+        S saved = save(entity);
+        flush();
+        return saved;
+    }
+
+    /**
+     * Writes every task loaded in the current transaction that was changed since.
+     */
+    @Override
+    public void flush() {
+        UnitOfWork unitOfWork = currentUnitOfWork();
+        if (unitOfWork != null) {
+            unitOfWork.managed.values().forEach(this::write);
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        remove(id);
+    }
+
+    @Override
+    public void delete(Task entity) {
+        remove(entity.getId());
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        ids.forEach(this::remove);
+    }
+
+    @Override
+    public void deleteAll() {
+        ids(indexes[TaskSortField.ID.ordinal()].all).forEach(this::remove);
+    }
+
+    // ---------------- storage ----------------
+
+    private <S extends Task> S insert(S entity) {
+        entity.prePersist();
+        entity.setId(sequence.incrementAndGet());
+        entity.setVersion(0L);
+        Task stored = copy(entity);
+        long[] lsn = new long[1];
+        tasks.compute(entity.getId(), current -> {
+            lsn[0] = journalPut(stored);
+            reindex(null, stored);
+            return stored;
+        });
+        awaitDurable(lsn[0]);
+        UnitOfWork unitOfWork = currentUnitOfWork();
+        if (unitOfWork != null) {
+            unitOfWork.manage(entity);
+        }
+        return entity;
+    }
+
+    // Writes a managed instance and refreshes its version and timestamps, as Hibernate does on flush
+    private void write(Task entity) {
+        Task stored = update(entity);
+        entity.setVersion(stored.getVersion());
+        entity.setUpdatedAt(stored.getUpdatedAt());
+        entity.setArchived(stored.isArchived());
+    }
+
+    private Task update(Task entity) {
+        checkNotNull(entity);
+        long[] lsn = new long[1];
+        Task stored = tasks.compute(entity.getId(), current -> {
+            if (current == null || (entity.getVersion() != null && !entity.getVersion().equals(current.getVersion()))) {
+                throw new ObjectOptimisticLockingFailureException(Task.class, entity.getId());
+            }
+            if (sameState(current, entity)) {
+                return current;
+            }
+            Task next = copy(entity);
+            next.setCreatedAt(current.getCreatedAt());
+            next.setVersion(current.getVersion() + 1);
+            next.preUpdate();
+            lsn[0] = journalPut(next);
+            reindex(current, next);
+            return next;
+        });
+        awaitDurable(lsn[0]);
+        return stored;
+    }
+
+    private void remove(Long id) {
+        if (id == null || tasks.get(id) == null) {
+            return;
+        }
+        long[] lsn = new long[1];
+        tasks.compute(id, current -> {
+            if (current != null) {
+                lsn[0] = journal == null ? 0 : journal.delete(id);
+                reindex(current, null);
+            }
+            return null;
+        });
+        awaitDurable(lsn[0]);
+        UnitOfWork unitOfWork = currentUnitOfWork();
+        if (unitOfWork != null) {
+            unitOfWork.managed.remove(id);
+        }
+    }
+
+    // Logged before the indexes change, so a write that cannot be logged leaves the task as it was
+    private long journalPut(Task next) {
+        return journal == null ? 0 : journal.put(next);
+    }
+
+    // Outside the stripe lock, so writes to other tasks of the stripe can join the same fsync
+    private void awaitDurable(long lsn) {
+        if (lsn > 0) {
+            journal.awaitDurable(lsn);
+        }
+    }
+
+    // Replayed records are complete task states in log order, so they skip the version check and the journal
+    private void restore(Task task) {
+        sequence.accumulateAndGet(task.getId(), Math::max);
+        tasks.compute(task.getId(), current -> {
+            reindex(current, task);
+            return task;
+        });
+    }
+
+    private void restoreDeleted(long id) {
+        tasks.compute(id, current -> {
+            if (current != null) {
+                reindex(current, null);
+            }
+            return null;
+        });
+    }
+
+    // Runs under the stripe lock of the task's id, so writes to one task reach the indexes in order
+    private void reindex(Task previous, Task next) {
+        for (SortedIndex index : indexes) {
+            index.move(previous, next);
+        }
+        if (previous != null) {
+            counts[combination(previous.getStatus(), previous.getPriority())].decrement();
+        }
+        if (next != null) {
+            counts[combination(next.getStatus(), next.getPriority())].increment();
+        }
+    }
+
+    private Page<Task> findPage(TaskStatus status, TaskPriority priority, Pageable pageable) {
+        List<Task> content = page(status, priority, pageable).map(InMemoryTaskRepository::copy).toList();
+        return new PageImpl<>(content, pageable, count(status, priority));
+    }
+
+    private Stream<Task> page(TaskStatus status, TaskPriority priority, Pageable pageable) {
+        Sort.Order order = singleOrder(pageable.getSort());
+        Stream<Task> page = scan(status, priority, TaskSortField.fromProperty(order.getProperty()), order.isAscending(), null);
+        if (pageable.isPaged()) {
+            page = page.skip(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+        return page;
+    }
+
+    /**
+     * Stored tasks matching the filters, in index order, starting after {@code after} when given.
+     */
+    private Stream<Task> scan(TaskStatus status, TaskPriority priority, TaskSortField sortField, boolean ascending, KeysetPosition after) {
+        SortedIndex index = indexes[sortField.ordinal()];
+        NavigableSet<IndexKey> keys = index.bucket(status, priority);
+        if (!ascending) {
+            keys = keys.descendingSet();
+        }
+        if (after != null) {
+            keys = keys.tailSet(new IndexKey(sortField == TaskSortField.ID ? null : after.value(), after.id()), false);
+        }
+        return keys.stream()
+                   .map(key -> {
+                       Task task = tasks.get(key.id());
+                       // The task changed after this key was read; it is returned under its current key instead
+                       return task != null && key.equals(index.keyOf(task)) ? task : null;
+                   })
+                   .filter(task -> task != null
+                           && (status == null || task.getStatus() == status)
+                           && (priority == null || task.getPriority() == priority));
+    }
+
+    private long count(TaskStatus status, TaskPriority priority) {
+        long total = 0;
+        for (TaskStatus s : STATUSES) {
+            for (TaskPriority p : PRIORITIES) {
+                if ((status == null || s == status) && (priority == null || p == priority)) {
+                    total += counts[combination(s, p)].sum();
+                }
+            }
+        }
+        return total;
+    }
+
+    private Task manage(Task stored) {
+        UnitOfWork unitOfWork = currentUnitOfWork();
+        if (unitOfWork == null) {
+            return copy(stored);
+        }
+        // One instance per id and transaction, like a persistence context
+        return unitOfWork.managed.computeIfAbsent(stored.getId(), id -> copy(stored));
+    }
+
+    /**
+     * The tasks loaded in the current read-write transaction, created on first use and flushed before commit.
+     */
+    private UnitOfWork currentUnitOfWork() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        UnitOfWork unitOfWork = (UnitOfWork) TransactionSynchronizationManager.getResource(this);
+        if (unitOfWork == null) {
+            unitOfWork = new UnitOfWork();
+            TransactionSynchronizationManager.bindResource(this, unitOfWork);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Not the synchronization's own flush()
+                    InMemoryTaskRepository.this.flush();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(InMemoryTaskRepository.this);
+                }
+            });
+        }
+        return unitOfWork;
+    }
+
+    private static List<Long> ids(NavigableSet<IndexKey> keys) {
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<IndexKey> it = keys.iterator(); it.hasNext(); ) {
+            ids.add(it.next().id());
+        }
+        return ids;
+    }
+
+    private static int combination(TaskStatus status, TaskPriority priority) {
+        return status.ordinal() * PRIORITIES.length + priority.ordinal();
+    }
+
+    // Same NOT NULL constraints as the tasks table
+    private static void checkNotNull(Task task) {
+        String column = task.getTitle() == null ? "title"
+                : task.getStatus() == null ? "status"
+                : task.getPriority() == null ? "priority"
+                : null;
+        if (column != null) {
+            throw new DataIntegrityViolationException("null value in column \"" + column + "\" violates not-null constraint");
+        }
+    }
+
+    private static boolean sameState(Task current, Task task) {
+        return Objects.equals(current.getTitle(), task.getTitle())
+                && Objects.equals(current.getDescription(), task.getDescription())
+                && current.getStatus() == task.getStatus()
+                && current.getPriority() == task.getPriority()
+                && current.isArchived() == task.isArchived();
+    }
+
+    private static Task copy(Task task) {
+        return Task.builder()
+                   .id(task.getId())
+                   .title(task.getTitle())
+                   .description(task.getDescription())
+                   .status(task.getStatus())
+                   .priority(task.getPriority())
+                   .createdAt(task.getCreatedAt())
+                   .updatedAt(task.getUpdatedAt())
+                   .version(task.getVersion())
+                   .archived(task.isArchived())
+                   .build();
+    }
+
+    private static Object fieldValue(TaskField field, Task task) {
+        return switch (field) {
+            case ID -> task.getId();
+            case TITLE -> task.getTitle();
+            case DESCRIPTION -> task.getDescription();
+            case STATUS -> task.getStatus();
+            case PRIORITY -> task.getPriority();
+            case CREATED_AT -> task.getCreatedAt();
+            case UPDATED_AT -> task.getUpdatedAt();
+        };
+    }
+
+    private static Sort.Order singleOrder(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.Order.asc(TaskSortField.ID.getProperty());
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() > 1) {
+            throw new IllegalArgumentException("In-memory storage sorts by a single property, got: " + sort);
+        }
+        return orders.get(0);
+    }
+
+    // Lower-cased words, as the 'simple' text search configuration splits them
+    private static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+
+    // Every term must occur; the rank is the share of the task's words that match, like ts_rank without weights
+    private static float rank(Task task, List<String> terms) {
+        List<String> words = terms(task.getTitle() + " " + Objects.requireNonNullElse(task.getDescription(), ""));
+        if (words.isEmpty()) {
+            return 0;
+        }
+        Map<String, Integer> occurrences = new HashMap<>();
+        words.forEach(word -> occurrences.merge(word, 1, Integer::sum));
+        int matched = 0;
+        for (String term : terms) {
+            Integer count = occurrences.get(term);
+            if (count == null) {
+                return 0;
+            }
+            matched += count;
+        }
+        return (float) matched / words.size();
+    }
+
+    /**
+     * Index key: the sort value as the database would compare it (enums by name) and the id as tie-breaker.
+     */
+    private record IndexKey(Object value, long id) {
+    }
+
+    private record CountRow(TaskStatus status, TaskPriority priority, long count) implements TaskCountRow {
+        @Override
+        public TaskStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public TaskPriority getPriority() {
+            return priority;
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+    }
+
+    private static final class UnitOfWork {
+        private final Map<Long, Task> managed = new HashMap<>();
+
+        void manage(Task task) {
+            managed.put(task.getId(), task);
+        }
+    }
+
+    /**
+     * The keys of one sort field: over all tasks, per status and per priority.
+     */
+    private final class SortedIndex {
+        private final TaskSortField field;
+        private final ConcurrentSkipListSet<IndexKey> all;
+        private final ConcurrentSkipListSet<IndexKey>[] byStatus;
+        private final ConcurrentSkipListSet<IndexKey>[] byPriority;
+
+        @SuppressWarnings("unchecked")
+        SortedIndex(TaskSortField field) {
+            this.field = field;
+            Comparator<IndexKey> comparator = comparator(field);
+            this.all = new ConcurrentSkipListSet<>(comparator);
+            this.byStatus = new ConcurrentSkipListSet[STATUSES.length];
+            this.byPriority = new ConcurrentSkipListSet[PRIORITIES.length];
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i] = new ConcurrentSkipListSet<>(comparator);
+            }
+            for (int i = 0; i < byPriority.length; i++) {
+                byPriority[i] = new ConcurrentSkipListSet<>(comparator);
+            }
+        }
+
+        IndexKey keyOf(Task task) {
+            Object value = switch (field) {
+                case ID -> null;
+                case TITLE -> task.getTitle();
+                case STATUS -> task.getStatus().name();
+                case PRIORITY -> task.getPriority().name();
+                case CREATED_AT -> task.getCreatedAt();
+                case UPDATED_AT -> task.getUpdatedAt();
+            };
+            return new IndexKey(value, task.getId());
+        }
+
+        /**
+         * Moves a task's keys from its previous to its next state; either may be {@code null} for insert or delete.
+         */
+        void move(Task previous, Task next) {
+            IndexKey oldKey = previous == null ? null : keyOf(previous);
+            IndexKey newKey = next == null ? null : keyOf(next);
+            replace(previous == null ? null : all, oldKey, next == null ? null : all, newKey);
+            replace(previous == null ? null : byStatus[previous.getStatus().ordinal()], oldKey,
+                    next == null ? null : byStatus[next.getStatus().ordinal()], newKey);
+            replace(previous == null ? null : byPriority[previous.getPriority().ordinal()], oldKey,
+                    next == null ? null : byPriority[next.getPriority().ordinal()], newKey);
+        }
+
+        // Add before remove, so a concurrent reader always finds the task under one of the two keys
+        private static void replace(NavigableSet<IndexKey> from, IndexKey oldKey, NavigableSet<IndexKey> to, IndexKey newKey) {
+            if (from == to && Objects.equals(oldKey, newKey)) {
+                return;
+            }
+            if (to != null) {
+                to.add(newKey);
+            }
+            if (from != null) {
+                from.remove(oldKey);
+            }
+        }
+
+        /**
+         * The narrowest index for the filters; with both set, the smaller of the two, filtered by the other.
+         */
+        NavigableSet<IndexKey> bucket(TaskStatus status, TaskPriority priority) {
+            if (status != null && priority != null) {
+                return count(status, null) <= count(null, priority)
+                        ? byStatus[status.ordinal()]
+                        : byPriority[priority.ordinal()];
+            }
+            if (status != null) {
+                return byStatus[status.ordinal()];
+            }
+            if (priority != null) {
+                return byPriority[priority.ordinal()];
+            }
+            return all;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Comparator<IndexKey> comparator(TaskSortField field) {
+            Comparator<IndexKey> byId = Comparator.comparingLong(IndexKey::id);
+            if (field == TaskSortField.ID) {
+                return byId;
+            }
+            return ((Comparator<IndexKey>) (a, b) -> ((Comparable) a.value()).compareTo(b.value())).thenComparing(byId);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.xl33zy.task_tracker.repository;
+
+public record KeysetPosition(Object value, long id) {
+}
@@ -0,0 +1,303 @@
+package com.xl33zy.task_tracker.repository;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Concurrent map from positive {@code long} keys to values, without boxing the keys.
+ * <p>
+ * Keys are spread over a power-of-two number of stripes, each an open-addressing table with linear probing
+ * guarded by its own {@link StampedLock}. Lookups are optimistic reads that only fall back to the read lock
+ * when a writer touched the same stripe in the meantime, so readers never block each other and writers only
+ * contend with writers of the same stripe. Key {@code 0} marks a free slot and cannot be stored.
+ */
+public class StripedLongMap<V> {
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final Stripe<V>[] stripes;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    public StripedLongMap(int stripes, int initialCapacity) {
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        int perStripe = Math.max(8, initialCapacity / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe<>(tableSize(perStripe));
+        }
+        this.mask = count - 1;
+    }
+
+    public V get(long key) {
+        return stripe(key).get(key);
+    }
+
+    /**
+     * @return the previous value, or {@code null}
+     */
+    public V put(long key, V value) {
+        checkKey(key);
+        return stripe(key).put(key, value);
+    }
+
+    public V remove(long key) {
+        return stripe(key).remove(key);
+    }
+
+    /**
+     * Replaces the current value (or {@code null}) with {@code update.apply(current)} while holding the stripe's
+     * write lock; a {@code null} result removes the key. The function must not call back into this map.
+     *
+     * @return the new value
+     */
+    public V compute(long key, UnaryOperator<V> update) {
+        checkKey(key);
+        return stripe(key).compute(key, update);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Stripe<V> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Passes every value to {@code action}, one stripe at a time. Each stripe's values are copied under its read
+     * lock, so a write to that stripe is either fully seen or not at all, and {@code action} runs without locks.
+     */
+    public void forEach(Consumer<? super V> action) {
+        for (Stripe<V> stripe : stripes) {
+            for (Object value : stripe.values()) {
+                @SuppressWarnings("unchecked")
+                V typed = (V) value;
+                action.accept(typed);
+            }
+        }
+    }
+
+    public void clear() {
+        for (Stripe<V> stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    // High bits pick the stripe and low bits the slot, so one stripe's keys still spread over its whole table
+    private Stripe<V> stripe(long key) {
+        return stripes[(int) (mix(key) >>> 32) & mask];
+    }
+
+    private static void checkKey(long key) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Key must be positive: " + key);
+        }
+    }
+
+    // Sequential ids would otherwise fill stripes and slots in lockstep
+    static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private static int tableSize(int entries) {
+        int size = Integer.highestOneBit(Math.max(2, (int) (entries / LOAD_FACTOR)) - 1) << 1;
+        return Math.max(16, size);
+    }
+
+    // Keys and values are swapped together on resize, so an optimistic reader never mixes two generations
+    private record Table(long[] keys, Object[] values) {
+        Table(int capacity) {
+            this(new long[capacity], new Object[capacity]);
+        }
+    }
+
+    private static final class Stripe<V> {
+        private final StampedLock lock = new StampedLock();
+        private Table table;
+        private int size;
+
+        Stripe(int capacity) {
+            this.table = new Table(capacity);
+        }
+
+        V get(long key) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                V value = find(table, key);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return find(table, key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        V put(long key, V value) {
+            long stamp = lock.writeLock();
+            try {
+                return store(key, value);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        V remove(long key) {
+            long stamp = lock.writeLock();
+            try {
+                return delete(key);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        V compute(long key, UnaryOperator<V> update) {
+            long stamp = lock.writeLock();
+            try {
+                V value = update.apply(find(table, key));
+                if (value == null) {
+                    delete(key);
+                } else {
+                    store(key, value);
+                }
+                return value;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        Object[] values() {
+            long stamp = lock.readLock();
+            try {
+                Object[] values = new Object[size];
+                int count = 0;
+                for (Object value : table.values()) {
+                    if (value != null) {
+                        values[count++] = value;
+                    }
+                }
+                return values;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void clear() {
+            long stamp = lock.writeLock();
+            try {
+                table = new Table(table.keys().length);
+                size = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        // Bounded by the table length, so a torn optimistic read ends instead of probing forever
+        @SuppressWarnings("unchecked")
+        private static <V> V find(Table table, long key) {
+            long[] keys = table.keys();
+            int slotMask = keys.length - 1;
+            int slot = (int) mix(key) & slotMask;
+            for (int probes = 0; probes < keys.length; probes++) {
+                long current = keys[slot];
+                if (current == key) {
+                    return (V) table.values()[slot];
+                }
+                if (current == 0) {
+                    return null;
+                }
+                slot = (slot + 1) & slotMask;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private V store(long key, V value) {
+            if (size + 1 > table.keys().length * LOAD_FACTOR) {
+                resize();
+            }
+            long[] keys = table.keys();
+            Object[] values = table.values();
+            int slotMask = keys.length - 1;
+            int slot = (int) mix(key) & slotMask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) {
+                    V previous = (V) values[slot];
+                    values[slot] = value;
+                    return previous;
+                }
+                slot = (slot + 1) & slotMask;
+            }
+            // Value first: a reader that finds the key must not see a null value
+            values[slot] = value;
+            keys[slot] = key;
+            size++;
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private V delete(long key) {
+            long[] keys = table.keys();
+            Object[] values = table.values();
+            int slotMask = keys.length - 1;
+            int slot = (int) mix(key) & slotMask;
+            while (keys[slot] != key) {
+                if (keys[slot] == 0) {
+                    return null;
+                }
+                slot = (slot + 1) & slotMask;
+            }
+            V previous = (V) values[slot];
+
+            // Backward-shift deletion keeps probe chains intact without tombstones
+            int free = slot;
+            int next = (free + 1) & slotMask;
+            while (keys[next] != 0) {
+                int home = (int) mix(keys[next]) & slotMask;
+                if (((next - home) & slotMask) >= ((next - free) & slotMask)) {
+                    keys[free] = keys[next];
+                    values[free] = values[next];
+                    free = next;
+                }
+                next = (next + 1) & slotMask;
+            }
+            keys[free] = 0;
+            values[free] = null;
+            size--;
+            return previous;
+        }
+
+        private void resize() {
+            Table old = table;
+            Table grown = new Table(old.keys().length << 1);
+            long[] keys = grown.keys();
+            int slotMask = keys.length - 1;
+            for (int i = 0; i < old.keys().length; i++) {
+                long key = old.keys()[i];
+                if (key != 0) {
+                    int slot = (int) mix(key) & slotMask;
+                    while (keys[slot] != 0) {
+                        slot = (slot + 1) & slotMask;
+                    }
+                    keys[slot] = key;
+                    grown.values()[slot] = old.values()[i];
+                }
+            }
+            table = grown;
+        }
+    }
+}
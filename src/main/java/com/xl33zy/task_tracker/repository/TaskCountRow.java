@@ -0,0 +1,12 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+
+public interface TaskCountRow {
+    TaskStatus getStatus();
+
+    TaskPriority getPriority();
+
+    long getCount();
+}
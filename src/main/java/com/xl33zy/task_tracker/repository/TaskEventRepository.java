@@ -0,0 +1,13 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.model.TaskEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskEventRepository extends JpaRepository<TaskEvent, Long> {
+    List<TaskEvent> findByTaskIdAndIdGreaterThanOrderByIdAsc(Long taskId, Long afterId, Limit limit);
+}
@@ -0,0 +1,66 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.exception.BadRequestException;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Task attributes that can be requested with {@code fields=} on list endpoints.
+ */
+public enum TaskField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    STATUS("status"),
+    PRIORITY("priority"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    private final String property;
+
+    TaskField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static TaskField fromProperty(String property) {
+        return Arrays.stream(values())
+                     .filter(field -> field.property.equals(property))
+                     .findFirst()
+                     .orElseThrow(() -> new BadRequestException("Unsupported field: " + property));
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code "title,status"}. The id is always included.
+     */
+    public static Set<TaskField> parse(String fields) {
+        Set<TaskField> result = EnumSet.of(ID);
+        for (String property : fields.split(",")) {
+            if (!property.isBlank()) {
+                result.add(fromProperty(property.trim()));
+            }
+        }
+        return result;
+    }
+
+    void apply(TaskResponse response, Object value) {
+        switch (this) {
+            case ID -> response.setId((Long) value);
+            case TITLE -> response.setTitle((String) value);
+            case DESCRIPTION -> response.setDescription((String) value);
+            case STATUS -> response.setStatus((TaskStatus) value);
+            case PRIORITY -> response.setPriority((TaskPriority) value);
+            case CREATED_AT -> response.setCreatedAt((LocalDateTime) value);
+            case UPDATED_AT -> response.setUpdatedAt((LocalDateTime) value);
+        }
+    }
+}
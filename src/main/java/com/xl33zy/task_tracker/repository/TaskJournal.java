@@ -0,0 +1,289 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.config.InMemoryStorageProperties;
+import com.xl33zy.task_tracker.model.Task;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Persistence of the {@code in-memory} storage: a {@link TaskWriteAheadLog} of every write plus periodic snapshots
+ * of all tasks, both in {@code tasks.memory.wal-directory}.
+ * <p>
+ * A snapshot does not stop writers. It notes the last written LSN first and then copies the tasks stripe by
+ * stripe, so it may already contain some later writes; those are replayed again on top of it, which is harmless
+ * because a record carries the whole task. The log is forced before the snapshot is used, so recovery always
+ * replays past the newest write the snapshot may hold. Once the snapshot is renamed into place, older snapshots
+ * and the log segments it covers are deleted, and startup reads the snapshot and only the tail of the log.
+ */
+@Slf4j
+public class TaskJournal implements Closeable {
+    private static final int SNAPSHOT_MAGIC = 0x54534B53;
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final int SNAPSHOT_END = -1;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final InMemoryStorageProperties.FsyncPolicy fsyncPolicy;
+    private final Duration fsyncInterval;
+    private final int segmentSize;
+
+    private volatile TaskWriteAheadLog wal;
+    private long snapshotLsn;
+
+    public TaskJournal(Path directory, InMemoryStorageProperties.FsyncPolicy fsyncPolicy, Duration fsyncInterval,
+                       long segmentSize) throws IOException {
+        if (segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Log segments are mapped in one piece and cannot exceed 2GB: " + segmentSize);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncInterval = fsyncInterval;
+        this.segmentSize = (int) segmentSize;
+    }
+
+    public TaskJournal(InMemoryStorageProperties properties) throws IOException {
+        this(properties.walDirectory(), properties.fsyncPolicy(), properties.fsyncInterval(), properties.segmentSize().toBytes());
+    }
+
+    /**
+     * Loads the latest snapshot and the log written after it, then opens the log for new writes. Must be called
+     * once, before anything is written.
+     *
+     * @return the id sequence saved with the snapshot, or {@code 0} without one
+     */
+    public synchronized long recover(Consumer<Task> put, LongConsumer delete) throws IOException {
+        if (wal != null) {
+            throw new IllegalStateException("The journal in " + directory + " is already recovered");
+        }
+        long start = System.nanoTime();
+        deleteFiles(TEMP_SUFFIX, Long.MAX_VALUE);
+        Path snapshot = latestSnapshot();
+        long sequence = 0;
+        long restored = 0;
+        if (snapshot != null) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16))) {
+                if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_FORMAT) {
+                    throw new IllegalStateException(snapshot + " is not a task snapshot of this version");
+                }
+                snapshotLsn = in.readLong();
+                sequence = in.readLong();
+                restored = readSnapshot(snapshot, in, put);
+            } catch (EOFException e) {
+                throw new IllegalStateException("Snapshot " + snapshot + " is truncated", e);
+            }
+        }
+        long[] replayed = {0};
+        wal = new TaskWriteAheadLog(directory, segmentSize, fsyncPolicy, fsyncInterval, snapshotLsn, record -> {
+            if (record.task() == null) {
+                delete.accept(record.id());
+            } else {
+                put.accept(record.task());
+            }
+            replayed[0]++;
+        });
+        log.info("Recovered {} tasks from the snapshot at LSN {} and {} log records in {} ms",
+                restored, snapshotLsn, replayed[0], Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return sequence;
+    }
+
+    /**
+     * Appends the state of a task after a write. The task must not change afterwards.
+     *
+     * @return the LSN of the record
+     */
+    public long put(Task task) {
+        return wal().append(TaskRecordCodec.put(task));
+    }
+
+    /**
+     * @return the LSN of the record
+     */
+    public long delete(long id) {
+        return wal().append(TaskRecordCodec.delete(id));
+    }
+
+    /**
+     * Waits until the record with {@code lsn} and every one before it is as durable as the fsync policy makes it.
+     */
+    public void awaitDurable(long lsn) {
+        wal().awaitDurable(lsn);
+    }
+
+    /**
+     * Writes a snapshot of {@code tasks} unless nothing was written since the last one.
+     *
+     * @param sequence read after the snapshot's LSN is fixed, so it is at least every id the snapshot covers
+     */
+    public synchronized void snapshot(StripedLongMap<Task> tasks, LongSupplier sequence) throws IOException {
+        TaskWriteAheadLog current = wal();
+        long lsn = current.writtenLsn();
+        if (lsn == snapshotLsn) {
+            return;
+        }
+        long start = System.nanoTime();
+        Path target = directory.resolve(snapshotName(lsn));
+        Path temp = directory.resolve(target.getFileName() + TEMP_SUFFIX);
+        long count;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_FORMAT);
+            out.writeLong(lsn);
+            out.writeLong(sequence.getAsLong());
+            SnapshotWriter writer = new SnapshotWriter(out, lsn);
+            try {
+                tasks.forEach(writer);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            count = writer.count;
+            out.writeInt(SNAPSHOT_END);
+            out.writeLong(count);
+            out.flush();
+            channel.force(true);
+        }
+        // The copy may hold writes the log has not forced yet; recovery has to reach at least those
+        current.force();
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        TaskWriteAheadLog.syncDirectory(directory);
+        snapshotLsn = lsn;
+
+        deleteFiles(SNAPSHOT_SUFFIX, lsn);
+        current.deleteThrough(lsn);
+        log.info("Wrote a snapshot of {} tasks at LSN {} in {} ms",
+                count, lsn, Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    @Override
+    public void close() {
+        TaskWriteAheadLog current = wal;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private TaskWriteAheadLog wal() {
+        TaskWriteAheadLog current = wal;
+        if (current == null) {
+            throw new IllegalStateException("The journal in " + directory + " is not recovered yet");
+        }
+        return current;
+    }
+
+    private static long readSnapshot(Path snapshot, DataInputStream in, Consumer<Task> put) throws IOException {
+        byte[] record = new byte[256];
+        long count = 0;
+        while (true) {
+            int length = in.readInt();
+            if (length == SNAPSHOT_END) {
+                long expected = in.readLong();
+                if (expected != count) {
+                    throw new IllegalStateException("Snapshot " + snapshot + " holds " + count + " tasks, expected " + expected);
+                }
+                return count;
+            }
+            if (length < 0 || length > Integer.MAX_VALUE - TaskRecordCodec.HEADER_BYTES) {
+                throw new IllegalStateException("Corrupt record in snapshot " + snapshot + " after " + count + " tasks");
+            }
+            int size = TaskRecordCodec.HEADER_BYTES + length;
+            if (record.length < size) {
+                record = new byte[Math.max(size, record.length * 2)];
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(record, 0, size);
+            buffer.putInt(0, length).putInt(4, in.readInt());
+            in.readFully(record, TaskRecordCodec.HEADER_BYTES, length);
+            TaskRecordCodec.Record decoded = TaskRecordCodec.read(buffer, 0);
+            if (decoded == null || decoded.task() == null) {
+                throw new IllegalStateException("Corrupt record in snapshot " + snapshot + " after " + count + " tasks");
+            }
+            put.accept(decoded.task());
+            count++;
+        }
+    }
+
+    private Path latestSnapshot() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> lsnOf(path) >= 0)
+                        .max((a, b) -> Long.compare(lsnOf(a), lsnOf(b)))
+                        .orElse(null);
+        }
+    }
+
+    // Snapshots older than the given LSN, or leftovers of snapshots that were never completed
+    private void deleteFiles(String suffix, long beforeLsn) throws IOException {
+        List<Path> obsolete;
+        try (Stream<Path> files = Files.list(directory)) {
+            obsolete = files.filter(path -> path.getFileName().toString().startsWith(SNAPSHOT_PREFIX)
+                                    && path.getFileName().toString().endsWith(suffix))
+                            .filter(path -> !suffix.equals(SNAPSHOT_SUFFIX) || lsnOf(path) < beforeLsn)
+                            .toList();
+        }
+        for (Path path : obsolete) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static String snapshotName(long lsn) {
+        return SNAPSHOT_PREFIX + String.format("%020d", lsn) + SNAPSHOT_SUFFIX;
+    }
+
+    private static long lsnOf(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SNAPSHOT_PREFIX) || !name.endsWith(SNAPSHOT_SUFFIX)) {
+            return -1;
+        }
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    private static final class SnapshotWriter implements Consumer<Task> {
+        private final DataOutputStream out;
+        private final long lsn;
+        private ByteBuffer buffer = ByteBuffer.allocate(256);
+        private long count;
+
+        SnapshotWriter(DataOutputStream out, long lsn) {
+            this.out = out;
+            this.lsn = lsn;
+        }
+
+        @Override
+        public void accept(Task task) {
+            byte[] payload = TaskRecordCodec.put(task);
+            int size = TaskRecordCodec.recordBytes(payload);
+            if (buffer.capacity() < size) {
+                buffer = ByteBuffer.allocate(Math.max(size, buffer.capacity() * 2));
+            }
+            TaskRecordCodec.write(buffer, 0, lsn, payload);
+            try {
+                out.write(buffer.array(), 0, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count++;
+        }
+    }
+}
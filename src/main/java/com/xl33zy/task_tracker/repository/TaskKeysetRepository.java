@@ -0,0 +1,17 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface TaskKeysetRepository {
+    List<Task> findKeysetPage(TaskStatus status,
+                              TaskPriority priority,
+                              TaskSortField sortField,
+                              Sort.Direction direction,
+                              KeysetPosition after,
+                              int limit);
+}
@@ -0,0 +1,72 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TaskKeysetRepositoryImpl implements TaskKeysetRepository {
+    // Explicit list keeps the generated search_vector column off the wire
+    static final String TASK_COLUMNS = "id, title, description, status, priority, created_at, updated_at, version, archived";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Task> findKeysetPage(TaskStatus status,
+                                     TaskPriority priority,
+                                     TaskSortField sortField,
+                                     Sort.Direction direction,
+                                     KeysetPosition after,
+                                     int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        if (status != null) {
+            conditions.add("status = :status");
+            params.put("status", status.name());
+        }
+        if (priority != null) {
+            conditions.add("priority = :priority");
+            params.put("priority", priority.name());
+        }
+
+        String operator = direction.isAscending() ? ">" : "<";
+        if (after != null) {
+            if (sortField == TaskSortField.ID) {
+                conditions.add("id " + operator + " :lastId");
+            } else {
+                // Row-value comparison lets PostgreSQL seek straight into the (column, id) index
+                conditions.add("(" + sortField.getColumn() + ", id) " + operator + " (:lastValue, :lastId)");
+                params.put("lastValue", after.value());
+            }
+            params.put("lastId", after.id());
+        }
+
+        String order = direction.isAscending() ? "ASC" : "DESC";
+        StringBuilder sql = new StringBuilder("SELECT " + TASK_COLUMNS + " FROM tasks");
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        if (sortField != TaskSortField.ID) {
+            sql.append(" ORDER BY ").append(sortField.getColumn()).append(' ').append(order).append(", id ").append(order);
+        } else {
+            sql.append(" ORDER BY id ").append(order);
+        }
+        sql.append(" LIMIT :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Task.class);
+        params.forEach(query::setParameter);
+        query.setParameter("limit", limit);
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,20 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+
+public interface TaskProjectionRepository {
+    /**
+     * Selects only the given columns and builds responses straight from the result tuples;
+     * attributes that were not requested stay null. No entities are loaded and no count query is issued.
+     */
+    List<TaskResponse> findProjected(Set<TaskField> fields,
+                                     TaskStatus status,
+                                     TaskPriority priority,
+                                     Pageable pageable);
+}
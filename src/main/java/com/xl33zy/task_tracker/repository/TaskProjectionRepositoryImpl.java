@@ -0,0 +1,63 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class TaskProjectionRepositoryImpl implements TaskProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskResponse> findProjected(Set<TaskField> fields,
+                                            TaskStatus status,
+                                            TaskPriority priority,
+                                            Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        List<TaskField> selected = List.copyOf(fields);
+        query.multiselect(selected.stream().<Selection<?>>map(field -> root.get(field.getProperty())).toList());
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add(cb.equal(root.get("status"), status));
+        }
+        if (priority != null) {
+            predicates.add(cb.equal(root.get("priority"), priority));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        // Scalar tuples are never managed, so there is nothing to snapshot or dirty-check
+        return entityManager.createQuery(query)
+                            .setFirstResult((int) pageable.getOffset())
+                            .setMaxResults(pageable.getPageSize())
+                            .getResultStream()
+                            .map(tuple -> {
+                                TaskResponse response = new TaskResponse();
+                                for (int i = 0; i < selected.size(); i++) {
+                                    selected.get(i).apply(response, tuple.get(i));
+                                }
+                                return response;
+                            })
+                            .toList();
+    }
+}
@@ -0,0 +1,155 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary layout of the records in {@link TaskWriteAheadLog} segments and {@link TaskJournal} snapshots.
+ * <p>
+ * A record is {@code [int length][int crc32c][long lsn][payload]}, where {@code length} and the checksum cover
+ * the LSN and the payload. The payload starts with a type byte and the task id; a put carries the complete task
+ * state after the write, so replaying a record twice or over a newer snapshot gives the same result. Status and
+ * priority are stored by ordinal, so new enum constants must be appended.
+ */
+final class TaskRecordCodec {
+    static final int HEADER_BYTES = 8;
+    static final int LSN_BYTES = 8;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private TaskRecordCodec() {
+    }
+
+    static byte[] put(Task task) {
+        byte[] title = utf8(task.getTitle());
+        byte[] description = utf8(task.getDescription());
+        ByteBuffer payload = ByteBuffer.allocate(1 + 8 + 8 + 3 + 2 * 12 + stringBytes(title) + stringBytes(description));
+        payload.put(PUT)
+               .putLong(task.getId())
+               .putLong(task.getVersion())
+               .put((byte) task.getStatus().ordinal())
+               .put((byte) task.getPriority().ordinal())
+               .put((byte) (task.isArchived() ? 1 : 0));
+        putTime(payload, task.getCreatedAt());
+        putTime(payload, task.getUpdatedAt());
+        putString(payload, title);
+        putString(payload, description);
+        return payload.array();
+    }
+
+    static byte[] delete(long id) {
+        return ByteBuffer.allocate(1 + 8).put(DELETE).putLong(id).array();
+    }
+
+    static int recordBytes(byte[] payload) {
+        return HEADER_BYTES + LSN_BYTES + payload.length;
+    }
+
+    /**
+     * Writes a complete record at {@code position} with absolute puts, leaving the buffer's position alone.
+     */
+    static void write(ByteBuffer target, int position, long lsn, byte[] payload) {
+        int length = LSN_BYTES + payload.length;
+        target.putLong(position + HEADER_BYTES, lsn);
+        target.put(position + HEADER_BYTES + LSN_BYTES, payload);
+        CRC32C crc = new CRC32C();
+        crc.update(target.slice(position + HEADER_BYTES, length));
+        target.putInt(position + 4, (int) crc.getValue());
+        target.putInt(position, length);
+    }
+
+    /**
+     * Reads the record at {@code position}.
+     *
+     * @return {@code null} when there is no complete record with a matching checksum there, which is where a log
+     * that was cut off or never written to ends
+     */
+    static Record read(ByteBuffer source, int position) {
+        if (position > source.limit() - HEADER_BYTES) {
+            return null;
+        }
+        int length = source.getInt(position);
+        if (length < LSN_BYTES + 1 + 8 || length > source.limit() - position - HEADER_BYTES) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(source.slice(position + HEADER_BYTES, length));
+        if ((int) crc.getValue() != source.getInt(position + 4)) {
+            return null;
+        }
+        ByteBuffer body = source.slice(position + HEADER_BYTES, length);
+        long lsn = body.getLong();
+        byte type = body.get();
+        long id = body.getLong();
+        if (type == DELETE) {
+            return new Record(lsn, id, null, HEADER_BYTES + length);
+        }
+        Task task = Task.builder()
+                        .id(id)
+                        .version(body.getLong())
+                        .status(STATUSES[body.get()])
+                        .priority(PRIORITIES[body.get()])
+                        .archived(body.get() == 1)
+                        .createdAt(getTime(body))
+                        .updatedAt(getTime(body))
+                        .title(getString(body))
+                        .description(getString(body))
+                        .build();
+        return new Record(lsn, id, task, HEADER_BYTES + length);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringBytes(byte[] value) {
+        return 4 + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static void putTime(ByteBuffer buffer, LocalDateTime time) {
+        buffer.putLong(time == null ? NO_TIME : time.toEpochSecond(ZoneOffset.UTC)).putInt(time == null ? 0 : time.getNano());
+    }
+
+    private static LocalDateTime getTime(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return seconds == NO_TIME ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    /**
+     * A decoded record; {@code task} is {@code null} for a delete.
+     *
+     * @param size bytes taken by the record, header included
+     */
+    record Record(long lsn, long id, Task task, int size) {
+    }
+}
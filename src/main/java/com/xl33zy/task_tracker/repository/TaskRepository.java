@@ -3,15 +3,75 @@ package com.xl33zy.task_tracker.repository;
 import com.xl33zy.task_tracker.model.Task;
 import com.xl33zy.task_tracker.model.TaskPriority;
 import com.xl33zy.task_tracker.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The task storage the services use, implemented by Spring Data JPA and by {@link InMemoryTaskRepository}.
+ * <p>
+ * Only the CRUD methods the application calls are declared; Spring Data routes them to its JPA implementation,
+ * so the in-memory storage does not have to stub the rest of {@code JpaRepository}.
+ */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends org.springframework.data.repository.Repository<Task, Long>,
+        TaskKeysetRepository, TaskSearchRepository, TaskProjectionRepository {
+    Optional<Task> findById(Long id);
+    List<Task> findAllById(Iterable<Long> ids);
+    List<Task> findAll();
+    long count();
+
+    <S extends Task> S save(S entity);
+    <S extends Task> List<S> saveAll(Iterable<S> entities);
+    <S extends Task> S saveAndFlush(S entity);
+    void flush();
+
+    void delete(Task entity);
+    void deleteById(Long id);
+    void deleteAllByIdInBatch(Iterable<Long> ids);
+    void deleteAll();
+
     Page<Task> findAll(Pageable pageable);
     Page<Task> findByStatus(TaskStatus status, Pageable pageable);
     Page<Task> findByPriority(TaskPriority priority, Pageable pageable);
     Page<Task> findByStatusAndPriority(TaskStatus status, TaskPriority priority, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamAllByOrderByIdAsc();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamByStatusOrderByIdAsc(TaskStatus status);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamByPriorityOrderByIdAsc(TaskPriority priority);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Task> streamByStatusAndPriorityOrderByIdAsc(TaskStatus status, TaskPriority priority);
+
+    @Query("select new com.xl33zy.task_tracker.repository.TaskVersion(t.version, t.updatedAt) from Task t where t.id = :id")
+    Optional<TaskVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select t.status as status, t.priority as priority, count(t) as count from Task t group by t.status, t.priority")
+    List<TaskCountRow> countByStatusAndPriority();
 }
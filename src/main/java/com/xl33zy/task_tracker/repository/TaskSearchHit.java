@@ -0,0 +1,6 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.model.Task;
+
+public record TaskSearchHit(Task task, float rank) {
+}
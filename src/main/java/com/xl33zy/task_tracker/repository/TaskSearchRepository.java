@@ -0,0 +1,18 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+
+import java.util.List;
+
+public interface TaskSearchRepository {
+    /**
+     * Full-text search ordered by rank (best first), then id descending.
+     * {@code after} is the (rank, id) of the last hit on the previous page, or null for the first page.
+     */
+    List<TaskSearchHit> search(String text,
+                               TaskStatus status,
+                               TaskPriority priority,
+                               KeysetPosition after,
+                               int limit);
+}
@@ -0,0 +1,62 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TaskSearchRepositoryImpl implements TaskSearchRepository {
+    private static final String RANK = "ts_rank(search_vector, query)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskSearchHit> search(String text,
+                                      TaskStatus status,
+                                      TaskPriority priority,
+                                      KeysetPosition after,
+                                      int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        // The GIN index on search_vector drives the scan; filters and ranking only touch matching rows
+        conditions.add("search_vector @@ query");
+        params.put("text", text);
+        if (status != null) {
+            conditions.add("status = :status");
+            params.put("status", status.name());
+        }
+        if (priority != null) {
+            conditions.add("priority = :priority");
+            params.put("priority", priority.name());
+        }
+        if (after != null) {
+            conditions.add("(" + RANK + ", id) < (CAST(:lastRank AS real), :lastId)");
+            params.put("lastRank", after.value());
+            params.put("lastId", after.id());
+        }
+
+        String sql = "SELECT " + TaskKeysetRepositoryImpl.TASK_COLUMNS + ", " + RANK + " AS rank"
+                + " FROM tasks, websearch_to_tsquery('simple', :text) query"
+                + " WHERE " + String.join(" AND ", conditions)
+                + " ORDER BY rank DESC, id DESC"
+                + " LIMIT :limit";
+
+        Query query = entityManager.createNativeQuery(sql, Task.SEARCH_HIT_MAPPING);
+        params.forEach(query::setParameter);
+        query.setParameter("limit", limit);
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                   .map(row -> new TaskSearchHit((Task) row[0], (Float) row[1]))
+                   .toList();
+    }
+}
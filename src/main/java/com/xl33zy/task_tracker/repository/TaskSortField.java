@@ -0,0 +1,58 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.exception.BadRequestException;
+import com.xl33zy.task_tracker.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+public enum TaskSortField {
+    ID("id", "id"),
+    TITLE("title", "title"),
+    STATUS("status", "status"),
+    PRIORITY("priority", "priority"),
+    CREATED_AT("createdAt", "created_at"),
+    UPDATED_AT("updatedAt", "updated_at");
+
+    private final String property;
+    private final String column;
+
+    TaskSortField(String property, String column) {
+        this.property = property;
+        this.column = column;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public static TaskSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                     .filter(field -> field.property.equals(property))
+                     .findFirst()
+                     .orElseThrow(() -> new BadRequestException("Unsupported sort property: " + property));
+    }
+
+    public String valueOf(Task task) {
+        return switch (this) {
+            case ID -> String.valueOf(task.getId());
+            case TITLE -> task.getTitle();
+            case STATUS -> task.getStatus().name();
+            case PRIORITY -> task.getPriority().name();
+            case CREATED_AT -> task.getCreatedAt().toString();
+            case UPDATED_AT -> task.getUpdatedAt().toString();
+        };
+    }
+
+    public Object parseValue(String value) {
+        return switch (this) {
+            case ID -> Long.valueOf(value);
+            case TITLE, STATUS, PRIORITY -> value;
+            case CREATED_AT, UPDATED_AT -> LocalDateTime.parse(value);
+        };
+    }
+}
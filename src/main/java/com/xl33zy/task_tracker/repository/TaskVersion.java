@@ -0,0 +1,6 @@
+package com.xl33zy.task_tracker.repository;
+
+import java.time.LocalDateTime;
+
+public record TaskVersion(Long version, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,416 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.config.InMemoryStorageProperties.FsyncPolicy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of task writes in memory-mapped segment files of a fixed size, named after the LSN of their
+ * first record.
+ * <p>
+ * Records are copied into the current segment under one lock and get consecutive LSNs. A flusher thread forces
+ * the written range to disk and advances the durable LSN; writers arriving while a force is running are covered
+ * by the next one, so under {@link FsyncPolicy#ALWAYS} one fsync acknowledges a whole group of writes.
+ * <p>
+ * Opening the log replays it and cuts it after the last intact record: a record ends the log when it is cut off,
+ * fails its checksum or does not carry the next LSN, and every byte after it is zeroed so that leftovers of an
+ * older write cannot come back once new records are appended over them.
+ */
+@Slf4j
+final class TaskWriteAheadLog implements Closeable {
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy policy;
+    private final long fsyncIntervalNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition forced = lock.newCondition();
+    // First LSN -> file, the current segment included
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final Thread flusher;
+
+    private Segment current;
+    private long writtenLsn;
+    private long durableLsn;
+    private UncheckedIOException failure;
+    private boolean closed;
+
+    /**
+     * Opens the log in {@code directory}, passing every intact record after {@code afterLsn} to {@code replay}.
+     */
+    TaskWriteAheadLog(Path directory, int segmentSize, FsyncPolicy policy, Duration fsyncInterval,
+                      long afterLsn, Consumer<TaskRecordCodec.Record> replay) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.policy = policy;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+        recover(afterLsn, replay);
+        this.durableLsn = writtenLsn;
+        if (policy == FsyncPolicy.NEVER) {
+            this.flusher = null;
+        } else {
+            this.flusher = new Thread(this::flushLoop, "task-wal-flusher");
+            this.flusher.setDaemon(true);
+            this.flusher.start();
+        }
+    }
+
+    /**
+     * @return the LSN of the record
+     */
+    long append(byte[] payload) {
+        int size = TaskRecordCodec.recordBytes(payload);
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("Record of " + size + " bytes does not fit a log segment of " + segmentSize);
+        }
+        lock.lock();
+        try {
+            checkUsable();
+            if (current.position + size > current.buffer.limit()) {
+                roll();
+            }
+            long lsn = writtenLsn + 1;
+            TaskRecordCodec.write(current.buffer, current.position, lsn, payload);
+            current.position += size;
+            writtenLsn = lsn;
+            if (policy == FsyncPolicy.ALWAYS) {
+                appended.signal();
+            }
+            return lsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Under {@link FsyncPolicy#ALWAYS}, blocks until every record up to {@code lsn} is on disk; the other
+     * policies do not wait.
+     */
+    void awaitDurable(long lsn) {
+        if (policy != FsyncPolicy.ALWAYS) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (durableLsn < lsn) {
+                checkUsable();
+                forced.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long writtenLsn() {
+        lock.lock();
+        try {
+            return writtenLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the segments that only hold records up to {@code lsn}, once a snapshot covers them.
+     */
+    void deleteThrough(long lsn) throws IOException {
+        List<Path> obsolete = new ArrayList<>();
+        lock.lock();
+        try {
+            Iterator<Map.Entry<Long, Path>> it = segments.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, Path> segment = it.next();
+                Long next = segments.higherKey(segment.getKey());
+                if (next == null || next > lsn + 1) {
+                    break;
+                }
+                obsolete.add(segment.getValue());
+                it.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Path path : obsolete) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Stops the flusher and forces whatever it has not forced yet.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lock.lock();
+        try {
+            if (failure == null) {
+                forceCurrent();
+            }
+            forced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces every record written so far, whatever the fsync policy.
+     */
+    void force() {
+        lock.lock();
+        try {
+            checkUsable();
+            forceCurrent();
+            forced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            Segment segment;
+            int from;
+            int to;
+            long lsn;
+            lock.lock();
+            try {
+                if (policy == FsyncPolicy.ALWAYS) {
+                    while (!closed && writtenLsn == durableLsn) {
+                        appended.awaitUninterruptibly();
+                    }
+                } else if (!closed) {
+                    appended.awaitNanos(fsyncIntervalNanos);
+                }
+                if (closed) {
+                    return;
+                }
+                segment = current;
+                from = segment.forced;
+                to = segment.position;
+                lsn = writtenLsn;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            // Writers keep appending behind the range being forced; they are picked up by the next round
+            try {
+                if (to > from) {
+                    segment.buffer.force(from, to - from);
+                }
+            } catch (UncheckedIOException e) {
+                log.error("Could not force the write-ahead log, writes are rejected from now on", e);
+                lock.lock();
+                try {
+                    failure = e;
+                    forced.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+
+            lock.lock();
+            try {
+                segment.forced = Math.max(segment.forced, to);
+                durableLsn = Math.max(durableLsn, lsn);
+                forced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Called with the lock held; the full segment is forced here, so only the current one can hold unforced records
+    private void roll() {
+        forceCurrent();
+        forced.signalAll();
+        try {
+            current = create(writtenLsn + 1);
+        } catch (IOException e) {
+            failure = new UncheckedIOException("Could not start a new write-ahead log segment", e);
+            throw failure;
+        }
+    }
+
+    private void forceCurrent() {
+        current.buffer.force(current.forced, current.position - current.forced);
+        current.forced = current.position;
+        durableLsn = writtenLsn;
+    }
+
+    private void checkUsable() {
+        if (failure != null) {
+            throw new UncheckedIOException("The write-ahead log is unusable after an I/O error", failure.getCause());
+        }
+        if (closed) {
+            throw new IllegalStateException("The write-ahead log is closed");
+        }
+    }
+
+    private void recover(long afterLsn, Consumer<TaskRecordCodec.Record> replay) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+                    segments.put(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())), path);
+                }
+            });
+        }
+        if (!segments.isEmpty() && segments.firstKey() > afterLsn + 1) {
+            throw new IllegalStateException("The write-ahead log in " + directory + " starts at LSN " + segments.firstKey()
+                    + " but the snapshot only reaches " + afterLsn);
+        }
+
+        Segment last = null;
+        long lastLsn = afterLsn;
+        for (Map.Entry<Long, Path> entry : segments.entrySet()) {
+            if (last != null && entry.getKey() != lastLsn + 1) {
+                break;
+            }
+            Segment segment = open(entry.getKey(), entry.getValue());
+            long expected = entry.getKey();
+            while (true) {
+                TaskRecordCodec.Record record = TaskRecordCodec.read(segment.buffer, segment.position);
+                if (record == null || record.lsn() != expected) {
+                    break;
+                }
+                if (record.lsn() > afterLsn) {
+                    replay.accept(record);
+                }
+                segment.position += record.size();
+                expected++;
+            }
+            last = segment;
+            lastLsn = expected - 1;
+        }
+
+        if (last == null || lastLsn < afterLsn) {
+            // Nothing to resume, or the snapshot already covers all of it
+            deleteSegments(segments.keySet().stream().toList());
+            writtenLsn = afterLsn;
+            current = create(afterLsn + 1);
+            return;
+        }
+        deleteSegments(segments.tailMap(last.base, false).keySet().stream().toList());
+        zeroTail(last);
+        last.forced = last.position;
+        writtenLsn = lastLsn;
+        current = last;
+    }
+
+    private void deleteSegments(List<Long> bases) throws IOException {
+        for (Long base : bases) {
+            log.warn("Discarding write-ahead log segment {} after the end of the log", segments.get(base).getFileName());
+            Files.deleteIfExists(segments.remove(base));
+        }
+    }
+
+    private static void zeroTail(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        boolean dirty = false;
+        int i = segment.position;
+        for (; i < buffer.limit() && (i & 7) != 0; i++) {
+            dirty |= zero(buffer, i);
+        }
+        // Only written pages are touched; the never-written rest of a segment reads as zeros and stays sparse
+        for (; i + 8 <= buffer.limit(); i += 8) {
+            if (buffer.getLong(i) != 0) {
+                buffer.putLong(i, 0);
+                dirty = true;
+            }
+        }
+        for (; i < buffer.limit(); i++) {
+            dirty |= zero(buffer, i);
+        }
+        if (dirty) {
+            buffer.force();
+        }
+    }
+
+    private static boolean zero(MappedByteBuffer buffer, int index) {
+        if (buffer.get(index) == 0) {
+            return false;
+        }
+        buffer.put(index, (byte) 0);
+        return true;
+    }
+
+    private Segment open(long base, Path path) throws IOException {
+        // The mapping stays valid after the channel is closed, and force() syncs it through the mapping
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(base, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        }
+    }
+
+    private Segment create(long base) throws IOException {
+        Path path = directory.resolve(PREFIX + String.format("%020d", base) + SUFFIX);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            // The file length is metadata; it has to be on disk before records in the new segment count as durable
+            channel.force(true);
+        }
+        syncDirectory(directory);
+        segments.put(base, path);
+        return new Segment(base, buffer);
+    }
+
+    private static final class Segment {
+        private final long base;
+        private final MappedByteBuffer buffer;
+        private int position;
+        private int forced;
+
+        Segment(long base, MappedByteBuffer buffer) {
+            this.base = base;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.dto.TaskRequest;
+import com.xl33zy.task_tracker.exception.BadRequestException;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Incremental RFC 4180 reader: quoted fields may contain commas, doubled quotes and line breaks.
+ * Columns are matched by header name; unknown columns (such as id or createdAt from an export) are ignored.
+ */
+class CsvTaskReader implements TaskRecordReader {
+    private final PushbackReader reader;
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private int titleColumn = -1;
+    private int descriptionColumn = -1;
+    private int statusColumn = -1;
+    private int priorityColumn = -1;
+
+    CsvTaskReader(Reader reader) throws IOException {
+        this.reader = new PushbackReader(reader, 1);
+        List<String> header = readRow();
+        if (header == null) {
+            return;
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i) == null ? "" : header.get(i).trim().toLowerCase(Locale.ROOT);
+            switch (name) {
+                case "title" -> titleColumn = i;
+                case "description" -> descriptionColumn = i;
+                case "status" -> statusColumn = i;
+                case "priority" -> priorityColumn = i;
+                default -> {
+                }
+            }
+        }
+        if (titleColumn < 0) {
+            throw new BadRequestException("CSV header must contain a title column");
+        }
+    }
+
+    @Override
+    public TaskRecord next() throws IOException {
+        List<String> row;
+        long startLine;
+        do {
+            startLine = line;
+            row = readRow();
+            if (row == null) {
+                return null;
+            }
+        } while (row.size() == 1 && row.get(0) == null);
+
+        TaskRequest request = new TaskRequest();
+        request.setTitle(column(row, titleColumn));
+        request.setDescription(column(row, descriptionColumn));
+        try {
+            String status = column(row, statusColumn);
+            if (status != null) {
+                request.setStatus(TaskStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)));
+            }
+        } catch (IllegalArgumentException e) {
+            return TaskRecord.invalid(startLine, "Invalid status: " + column(row, statusColumn));
+        }
+        try {
+            String priority = column(row, priorityColumn);
+            if (priority != null) {
+                request.setPriority(TaskPriority.valueOf(priority.trim().toUpperCase(Locale.ROOT)));
+            }
+        } catch (IllegalArgumentException e) {
+            return TaskRecord.invalid(startLine, "Invalid priority: " + column(row, priorityColumn));
+        }
+        return TaskRecord.valid(startLine, request);
+    }
+
+    private static String column(List<String> row, int index) {
+        return index >= 0 && index < row.size() ? row.get(index) : null;
+    }
+
+    private List<String> readRow() throws IOException {
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean inQuotes = false;
+        boolean quoted = false;
+        boolean empty = true;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            empty = false;
+            if (inQuotes) {
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        if (next != -1) {
+                            reader.unread(next);
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(finishField(quoted));
+                quoted = false;
+            } else if (c == '\n') {
+                line++;
+                fields.add(finishField(quoted));
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+
+        if (empty) {
+            return null;
+        }
+        fields.add(finishField(quoted));
+        return fields;
+    }
+
+    private String finishField(boolean quoted) {
+        String value = field.isEmpty() && !quoted ? null : field.toString();
+        field.setLength(0);
+        return value;
+    }
+}
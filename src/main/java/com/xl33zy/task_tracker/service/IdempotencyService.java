@@ -0,0 +1,337 @@
+package com.xl33zy.task_tracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.xl33zy.task_tracker.config.IdempotencyProperties;
+import com.xl33zy.task_tracker.exception.BadRequestException;
+import com.xl33zy.task_tracker.exception.IdempotencyConflictException;
+import com.xl33zy.task_tracker.exception.IdempotencyKeyReuseException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Makes writes sent with an {@code Idempotency-Key} header safe to retry.
+ * <p>
+ * The first request with a key claims it in {@code idempotency_keys}, runs the write and stores the result, all
+ * in one transaction, so the key is completed exactly when the write commits; a retry with the same key and body
+ * gets the stored result back instead of writing again. Completed results are also kept in a bounded in-memory
+ * cache, so a retry reaching the same node costs a map lookup. A duplicate arriving while the first request is
+ * still running waits for it, on this node through the first request's future and across nodes on the lock of
+ * the uncommitted claim, for at most {@code wait-timeout}. If the write fails, or its node dies, the transaction
+ * rolls back together with the claim and the client can retry. Keys are scoped per endpoint and expire after
+ * {@code ttl}.
+ * <p>
+ * Without a database (the {@code in-memory} profile) there is a single node, and the in-flight futures and the
+ * cache alone make the key safe to retry.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+    public static final String HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private static final String COMPLETED = "COMPLETED";
+
+    // Inserts a new claim or takes over an expired one; waits while another transaction holds an uncommitted claim
+    static final String CLAIM_SQL = """
+            INSERT INTO idempotency_keys (scope, idempotency_key, request_hash, status, locked_at, expires_at)
+            VALUES (?, ?, ?, 'IN_PROGRESS', ?, ?)
+            ON CONFLICT (scope, idempotency_key) DO UPDATE
+                SET request_hash = EXCLUDED.request_hash, status = 'IN_PROGRESS', response = NULL,
+                    locked_at = EXCLUDED.locked_at, expires_at = EXCLUDED.expires_at
+                WHERE idempotency_keys.expires_at < EXCLUDED.locked_at
+            """;
+    // Bounds the wait for a concurrent claim by what is left of wait-timeout, then restores the previous setting
+    static final String CURRENT_LOCK_TIMEOUT_SQL = "SELECT current_setting('lock_timeout')";
+    static final String SET_LOCK_TIMEOUT_SQL = "SELECT set_config('lock_timeout', ?, true)";
+    static final String LOOKUP_SQL = """
+            SELECT request_hash, status, response FROM idempotency_keys
+            WHERE scope = ? AND idempotency_key = ? AND expires_at >= ?
+            """;
+    static final String COMPLETE_SQL = """
+            UPDATE idempotency_keys SET status = 'COMPLETED', response = ?
+            WHERE scope = ? AND idempotency_key = ?
+            """;
+    static final String CLEANUP_SQL = """
+            DELETE FROM idempotency_keys
+            WHERE (scope, idempotency_key) IN (SELECT scope, idempotency_key FROM idempotency_keys
+                                               WHERE expires_at < ?
+                                               LIMIT ?
+                                               FOR UPDATE SKIP LOCKED)
+            """;
+
+    // Parsed like the other Duration settings; @Scheduled itself only takes milliseconds or ISO-8601
+    private static final String CLEANUP_INTERVAL_MILLIS =
+            "#{T(org.springframework.boot.convert.DurationStyle).detectAndParse('${tasks.idempotency.cleanup-interval:10m}').toMillis()}";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyProperties properties;
+    private final Cache<String, Completed> completed;
+    private final ConcurrentHashMap<String, CompletableFuture<Completed>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter conflicts;
+
+    // Stored results keep every field, unlike the API representation (e.g. TaskResponse.version for the ETag)
+    private final ObjectMapper storageMapper = JsonMapper.builder()
+                                                         .addModule(new JavaTimeModule())
+                                                         .disable(MapperFeature.USE_ANNOTATIONS)
+                                                         .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                                                         .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                                                         .build();
+
+    public IdempotencyService(Optional<JdbcTemplate> jdbcTemplate, PlatformTransactionManager transactionManager,
+                              IdempotencyProperties properties, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate.orElse(null);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.completed = Caffeine.newBuilder()
+                                 .maximumSize(properties.cacheMaximumSize())
+                                 .expireAfterWrite(properties.ttl())
+                                 .build();
+        this.executed = requestCounter(registry, "executed");
+        this.replayed = requestCounter(registry, "replayed");
+        this.conflicts = requestCounter(registry, "conflict");
+    }
+
+    public <T> T execute(String key, String scope, Object request, Class<T> resultType, Supplier<T> action) {
+        return execute(key, scope, request, storageMapper.constructType(resultType), action);
+    }
+
+    public <T> T execute(String key, String scope, Object request, TypeReference<T> resultType, Supplier<T> action) {
+        return execute(key, scope, request, storageMapper.constructType(resultType), action);
+    }
+
+    /**
+     * Runs {@code action} once per key within {@code scope}; without a key it simply runs it.
+     *
+     * @throws IdempotencyKeyReuseException if the key was already used with a different request
+     * @throws IdempotencyConflictException if a request with the key is still running after {@code wait-timeout}
+     */
+    private <T> T execute(String key, String scope, Object request, JavaType resultType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+        String cacheKey = scope + ' ' + key;
+        long deadline = System.nanoTime() + properties.waitTimeout().toNanos();
+
+        while (true) {
+            Completed done = completed.getIfPresent(cacheKey);
+            if (done != null) {
+                replayed.increment();
+                return done.resultFor(requestHash, key);
+            }
+
+            CompletableFuture<Completed> claim = new CompletableFuture<>();
+            CompletableFuture<Completed> running = inFlight.putIfAbsent(cacheKey, claim);
+            if (running == null) {
+                try {
+                    return claimAndRun(scope, key, cacheKey, requestHash, resultType, action, claim, deadline);
+                } finally {
+                    inFlight.remove(cacheKey, claim);
+                    // Waiters retry on their own if this attempt ended without a result
+                    claim.completeExceptionally(new IllegalStateException("Idempotent request did not complete"));
+                }
+            }
+
+            done = awaitLocal(running, key, deadline);
+            if (done != null) {
+                replayed.increment();
+                return done.resultFor(requestHash, key);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = CLEANUP_INTERVAL_MILLIS, initialDelayString = CLEANUP_INTERVAL_MILLIS)
+    public void scheduledCleanup() {
+        cleanup();
+    }
+
+    /**
+     * Deletes expired keys in batches of {@code cleanup-batch-size}.
+     *
+     * @return number of keys deleted
+     */
+    public int cleanup() {
+        if (jdbcTemplate == null) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(CLEANUP_SQL, now, properties.cleanupBatchSize());
+            total += deleted;
+        } while (deleted == properties.cleanupBatchSize());
+        if (total > 0) {
+            log.info("Deleted {} expired idempotency keys", total);
+        }
+        return total;
+    }
+
+    private <T> T claimAndRun(String scope, String key, String cacheKey, String requestHash, JavaType resultType,
+                              Supplier<T> action, CompletableFuture<Completed> claim, long deadline) {
+        if (jdbcTemplate == null) {
+            T result = action.get();
+            return complete(cacheKey, requestHash, result, claim);
+        }
+        Stored<T> stored = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            Timestamp lockedAt = Timestamp.valueOf(now);
+            if (claim(scope, key, requestHash, lockedAt, Timestamp.valueOf(now.plus(properties.ttl())), deadline)) {
+                T result = action.get();
+                jdbcTemplate.update(COMPLETE_SQL, write(result), scope, key);
+                return new Stored<>(requestHash, result, true);
+            }
+
+            // Completed by an earlier request, possibly on another node
+            List<StoredKey> keys = jdbcTemplate.query(LOOKUP_SQL,
+                    (rs, rowNum) -> new StoredKey(rs.getString("request_hash"), rs.getString("status"), rs.getString("response")),
+                    scope, key, lockedAt);
+            if (keys.isEmpty() || !COMPLETED.equals(keys.get(0).status())) {
+                throw stillRunning(key);
+            }
+            @SuppressWarnings("unchecked")
+            T result = (T) read(keys.get(0).response(), resultType);
+            return new Stored<>(keys.get(0).requestHash(), result, false);
+        });
+        if (!stored.executed()) {
+            replayed.increment();
+            Completed done = new Completed(stored.requestHash(), stored.result());
+            completed.put(cacheKey, done);
+            claim.complete(done);
+            return done.resultFor(requestHash, key);
+        }
+        return complete(cacheKey, requestHash, stored.result(), claim);
+    }
+
+    /**
+     * Inserts the claim, waiting for a concurrent transaction holding the same key to commit or roll back.
+     *
+     * @return whether this request now owns the key
+     * @throws IdempotencyConflictException if the other transaction is still running at {@code deadline}
+     */
+    private boolean claim(String scope, String key, String requestHash, Timestamp lockedAt, Timestamp expiresAt, long deadline) {
+        String lockTimeout = jdbcTemplate.queryForObject(CURRENT_LOCK_TIMEOUT_SQL, String.class);
+        long remainingMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+        jdbcTemplate.queryForObject(SET_LOCK_TIMEOUT_SQL, String.class, remainingMillis + "ms");
+        int claimed;
+        try {
+            claimed = jdbcTemplate.update(CLAIM_SQL, scope, key, requestHash, lockedAt, expiresAt);
+        } catch (PessimisticLockingFailureException e) {
+            throw stillRunning(key);
+        }
+        jdbcTemplate.queryForObject(SET_LOCK_TIMEOUT_SQL, String.class, lockTimeout);
+        return claimed == 1;
+    }
+
+    private <T> T complete(String cacheKey, String requestHash, T result, CompletableFuture<Completed> claim) {
+        executed.increment();
+        Completed done = new Completed(requestHash, result);
+        completed.put(cacheKey, done);
+        claim.complete(done);
+        return result;
+    }
+
+    private Completed awaitLocal(CompletableFuture<Completed> running, String key, long deadline) {
+        try {
+            return running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            return null;
+        } catch (TimeoutException e) {
+            throw stillRunning(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw stillRunning(key);
+        }
+    }
+
+    private IdempotencyConflictException stillRunning(String key) {
+        conflicts.increment();
+        return new IdempotencyConflictException("A request with " + HEADER + " '" + key + "' is still being processed, retry later");
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(storageMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    private String write(Object result) {
+        try {
+            return storageMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store idempotent result", e);
+        }
+    }
+
+    private Object read(String response, JavaType resultType) {
+        try {
+            return storageMapper.readValue(response, resultType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored idempotent result", e);
+        }
+    }
+
+    private static Counter requestCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("tasks.idempotency.requests")
+                      .description("Requests sent with an Idempotency-Key")
+                      .tag("outcome", outcome)
+                      .register(registry);
+    }
+
+    private record StoredKey(String requestHash, String status, String response) {
+    }
+
+    private record Stored<T>(String requestHash, T result, boolean executed) {
+    }
+
+    private record Completed(String requestHash, Object result) {
+        @SuppressWarnings("unchecked")
+        <T> T resultFor(String requestHash, String key) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new IdempotencyKeyReuseException(HEADER + " '" + key + "' was already used with a different request");
+            }
+            return (T) result;
+        }
+    }
+}
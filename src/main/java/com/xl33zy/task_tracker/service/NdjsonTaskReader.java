@@ -0,0 +1,37 @@
+package com.xl33zy.task_tracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.xl33zy.task_tracker.dto.TaskRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+class NdjsonTaskReader implements TaskRecordReader {
+    private final BufferedReader reader;
+    private final ObjectReader requestReader;
+    private long line;
+
+    NdjsonTaskReader(BufferedReader reader, ObjectReader requestReader) {
+        this.reader = reader;
+        this.requestReader = requestReader;
+    }
+
+    @Override
+    public TaskRecord next() throws IOException {
+        String json;
+        do {
+            json = reader.readLine();
+            if (json == null) {
+                return null;
+            }
+            line++;
+        } while (json.isBlank());
+
+        try {
+            return TaskRecord.valid(line, requestReader.readValue(json, TaskRequest.class));
+        } catch (JsonProcessingException e) {
+            return TaskRecord.invalid(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+}
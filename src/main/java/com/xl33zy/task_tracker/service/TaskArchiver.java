@@ -0,0 +1,93 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.config.TaskArchiveProperties;
+import com.xl33zy.task_tracker.repository.InMemoryTaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves DONE tasks untouched for {@code tasks.archive.older-than} from the {@code tasks_done} partition into
+ * {@code tasks_archive}.
+ * <p>
+ * Each batch is one short autocommit {@code UPDATE} of at most {@code batch-size} rows, so locks are held
+ * briefly and a run never competes with request traffic for long. Rows locked by a concurrent writer are
+ * skipped until the next run, which also makes runs on several nodes safe. Archiving bumps {@code version}, so a
+ * write based on a copy read before it fails its optimistic lock instead of moving the row back with a stale
+ * {@code archived}; {@code updated_at} is kept, so archived tasks keep their age. Archived tasks are evicted from
+ * this node's cache; other nodes serve the old version until their entry expires.
+ */
+@Slf4j
+@Profile("!" + InMemoryTaskRepository.PROFILE)
+@Service
+public class TaskArchiver {
+    static final String ARCHIVE_SQL = """
+            UPDATE tasks SET archived = TRUE, version = version + 1
+            WHERE status = 'DONE' AND NOT archived
+              AND id IN (SELECT id FROM tasks
+                         WHERE status = 'DONE' AND NOT archived AND updated_at < ?
+                         ORDER BY updated_at, id
+                         LIMIT ?
+                         FOR UPDATE SKIP LOCKED)
+            RETURNING id
+            """;
+
+    // tasks.archive.interval converted to milliseconds, see TaskStatsService
+    private static final String ARCHIVE_INTERVAL_MILLIS =
+            "#{T(org.springframework.boot.convert.DurationStyle).detectAndParse('${tasks.archive.interval:10m}').toMillis()}";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskArchiveProperties properties;
+    private final TaskCache taskCache;
+    private final Counter archived;
+
+    public TaskArchiver(JdbcTemplate jdbcTemplate, TaskArchiveProperties properties, TaskCache taskCache,
+                        MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.taskCache = taskCache;
+        this.archived = Counter.builder("tasks.archive.moved")
+                               .description("DONE tasks moved to the archive partition")
+                               .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = ARCHIVE_INTERVAL_MILLIS, initialDelayString = ARCHIVE_INTERVAL_MILLIS)
+    public void scheduledArchive() {
+        if (properties.enabled()) {
+            archive();
+        }
+    }
+
+    /**
+     * Archives in batches until no candidates are left or {@code max-batches-per-run} is reached.
+     *
+     * @return number of tasks archived
+     */
+    public int archive() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(properties.olderThan()));
+        int total = 0;
+        for (int batch = 0; batch < properties.maxBatchesPerRun(); batch++) {
+            List<Long> ids = jdbcTemplate.queryForList(ARCHIVE_SQL, Long.class, cutoff, properties.batchSize());
+            // Cached responses carry the old version, and with it a stale ETag
+            ids.forEach(taskCache::invalidate);
+            int moved = ids.size();
+            total += moved;
+            archived.increment(moved);
+            if (moved < properties.batchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} DONE tasks last updated before {}", total, cutoff);
+        }
+        return total;
+    }
+}
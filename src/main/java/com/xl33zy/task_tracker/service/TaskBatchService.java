@@ -0,0 +1,300 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.config.TaskBatchProperties;
+import com.xl33zy.task_tracker.dto.TaskBatchItemResult;
+import com.xl33zy.task_tracker.dto.TaskBatchUpdateRequest;
+import com.xl33zy.task_tracker.dto.TaskRequest;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.exception.BadRequestException;
+import com.xl33zy.task_tracker.mapper.TaskMapper;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.repository.TaskRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Batch create/update/delete in chunks of {@code tasks.batch.chunk-size}, each in its own transaction. A chunk
+ * that commits fewer than {@code bulk-event-threshold} changes publishes a {@link TaskChangedEvent} per task like
+ * the single-task writes in {@link TaskService}; a larger one publishes a single {@link TaskBulkChangedEvent}, so
+ * the change log, stats, SSE stream and other nodes see batch writes without being flooded by them. If a chunk
+ * fails, its items are retried one by one so a single bad item does not fail its neighbours, unless
+ * {@code retry-failed-chunks} is off because the storage cannot roll the chunk back. Called inside a
+ * transaction, as for a request with an {@code Idempotency-Key}, the chunks join it and the batch commits or fails
+ * as a whole.
+ */
+@Slf4j
+@Service
+public class TaskBatchService {
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final Validator validator;
+    private final TaskCache taskCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskBatchProperties properties;
+
+    public TaskBatchService(TaskRepository taskRepository,
+                            TaskMapper taskMapper,
+                            Validator validator,
+                            TaskCache taskCache,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            TaskBatchProperties properties) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.validator = validator;
+        this.taskCache = taskCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    public List<TaskBatchItemResult> createTasks(List<TaskRequest> requests) {
+        checkBatchSize(requests.size());
+        TaskBatchItemResult[] results = new TaskBatchItemResult[requests.size()];
+
+        for (int start = 0; start < requests.size(); start += properties.chunkSize()) {
+            int end = Math.min(start + properties.chunkSize(), requests.size());
+            List<Integer> valid = validateChunk(requests, start, end, results, item -> null);
+            if (valid.isEmpty()) {
+                continue;
+            }
+            try {
+                List<TaskResponse> saved = transactionTemplate.execute(status -> {
+                    List<Task> tasks = valid.stream().map(i -> taskMapper.toEntity(requests.get(i))).toList();
+                    List<Task> savedTasks = taskRepository.saveAll(tasks);
+                    taskRepository.flush();
+                    List<TaskChangedEvent> changes = new ArrayList<>(savedTasks.size());
+                    List<TaskResponse> responses = savedTasks.stream().map(task -> cacheCreated(task, changes)).toList();
+                    publish(changes);
+                    return responses;
+                });
+                for (int i = 0; i < valid.size(); i++) {
+                    TaskResponse response = saved.get(i);
+                    results[valid.get(i)] = TaskBatchItemResult.success(valid.get(i), response.getId(), response);
+                }
+            } catch (RuntimeException e) {
+                if (!retryItems(e)) {
+                    valid.forEach(index -> results[index] = TaskBatchItemResult.failure(index, null, e.getMessage()));
+                    continue;
+                }
+                log.warn("Batch create chunk [{}, {}) failed, retrying items one by one: {}", start, end, e.getMessage());
+                for (int index : valid) {
+                    results[index] = createOne(index, requests.get(index));
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    public List<TaskBatchItemResult> updateTasks(List<TaskBatchUpdateRequest> requests) {
+        checkBatchSize(requests.size());
+        TaskBatchItemResult[] results = new TaskBatchItemResult[requests.size()];
+
+        for (int start = 0; start < requests.size(); start += properties.chunkSize()) {
+            int end = Math.min(start + properties.chunkSize(), requests.size());
+            List<Integer> valid = validateChunk(requests, start, end, results, TaskBatchUpdateRequest::getId);
+            if (valid.isEmpty()) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyUpdates(requests, valid, results));
+            } catch (RuntimeException e) {
+                if (!retryItems(e)) {
+                    valid.forEach(index -> results[index] = TaskBatchItemResult.failure(index, requests.get(index).getId(), e.getMessage()));
+                    continue;
+                }
+                log.warn("Batch update chunk [{}, {}) failed, retrying items one by one: {}", start, end, e.getMessage());
+                for (int index : valid) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> applyUpdates(requests, List.of(index), results));
+                    } catch (RuntimeException itemError) {
+                        results[index] = TaskBatchItemResult.failure(index, requests.get(index).getId(), itemError.getMessage());
+                    }
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    public List<TaskBatchItemResult> deleteTasks(List<Long> ids) {
+        checkBatchSize(ids.size());
+        TaskBatchItemResult[] results = new TaskBatchItemResult[ids.size()];
+        Set<Long> seen = new HashSet<>();
+
+        for (int start = 0; start < ids.size(); start += properties.chunkSize()) {
+            int end = Math.min(start + properties.chunkSize(), ids.size());
+            List<Integer> valid = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                Long id = ids.get(i);
+                if (id == null) {
+                    results[i] = TaskBatchItemResult.failure(i, null, "Id cannot be null");
+                } else if (!seen.add(id)) {
+                    results[i] = TaskBatchItemResult.failure(i, id, "Duplicate id in batch: " + id);
+                } else {
+                    valid.add(i);
+                }
+            }
+            if (valid.isEmpty()) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyDeletes(ids, valid, results));
+            } catch (RuntimeException e) {
+                if (!retryItems(e)) {
+                    valid.forEach(index -> results[index] = TaskBatchItemResult.failure(index, ids.get(index), e.getMessage()));
+                    continue;
+                }
+                log.warn("Batch delete chunk [{}, {}) failed, retrying items one by one: {}", start, end, e.getMessage());
+                for (int index : valid) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> applyDeletes(ids, List.of(index), results));
+                    } catch (RuntimeException itemError) {
+                        results[index] = TaskBatchItemResult.failure(index, ids.get(index), itemError.getMessage());
+                    }
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    // A chunk joined to the caller's transaction (an Idempotency-Key request) cannot be retried: its failure has
+    // marked that transaction rollback-only, so the batch fails as a whole and the client retries it with the key.
+    // Without retry-failed-chunks (storage that cannot roll back) the chunk's items are reported as failed.
+    private boolean retryItems(RuntimeException chunkFailure) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw chunkFailure;
+        }
+        return properties.retryFailedChunks();
+    }
+
+    private TaskBatchItemResult createOne(int index, TaskRequest request) {
+        try {
+            TaskResponse saved = transactionTemplate.execute(status -> {
+                List<TaskChangedEvent> changes = new ArrayList<>(1);
+                TaskResponse response = cacheCreated(taskRepository.saveAndFlush(taskMapper.toEntity(request)), changes);
+                publish(changes);
+                return response;
+            });
+            return TaskBatchItemResult.success(index, saved.getId(), saved);
+        } catch (RuntimeException e) {
+            return TaskBatchItemResult.failure(index, null, e.getMessage());
+        }
+    }
+
+    private void applyUpdates(List<TaskBatchUpdateRequest> requests, List<Integer> indexes, TaskBatchItemResult[] results) {
+        Set<Long> ids = indexes.stream().map(i -> requests.get(i).getId()).collect(Collectors.toSet());
+        Map<Long, Task> tasks = taskRepository.findAllById(ids).stream()
+                                              .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<Integer> applied = new ArrayList<>();
+        Map<Integer, TaskStatus> oldStatuses = new HashMap<>();
+        Map<Integer, TaskPriority> oldPriorities = new HashMap<>();
+        for (int index : indexes) {
+            TaskBatchUpdateRequest request = requests.get(index);
+            Task task = tasks.get(request.getId());
+            if (task == null) {
+                results[index] = TaskBatchItemResult.failure(index, request.getId(), "Task not found for update with id: " + request.getId());
+            } else {
+                oldStatuses.put(index, task.getStatus());
+                oldPriorities.put(index, task.getPriority());
+                taskMapper.updateTaskFromRequest(request, task);
+                applied.add(index);
+            }
+        }
+        taskRepository.flush();
+
+        List<TaskChangedEvent> changes = new ArrayList<>(applied.size());
+        for (int index : applied) {
+            Task task = tasks.get(requests.get(index).getId());
+            TaskResponse response = taskMapper.toResponse(task);
+            taskCache.putOnCommit(response);
+            changes.add(TaskChangedEvent.updated(oldStatuses.get(index), oldPriorities.get(index), task));
+            results[index] = TaskBatchItemResult.success(index, task.getId(), response);
+        }
+        publish(changes);
+    }
+
+    private void applyDeletes(List<Long> ids, List<Integer> indexes, TaskBatchItemResult[] results) {
+        Map<Long, Task> tasks = taskRepository.findAllById(indexes.stream().map(ids::get).toList()).stream()
+                                              .collect(Collectors.toMap(Task::getId, Function.identity()));
+        if (!tasks.isEmpty()) {
+            taskRepository.deleteAllByIdInBatch(tasks.keySet());
+        }
+
+        List<TaskChangedEvent> changes = new ArrayList<>(tasks.size());
+        for (int index : indexes) {
+            Long id = ids.get(index);
+            Task task = tasks.get(id);
+            if (task == null) {
+                results[index] = TaskBatchItemResult.failure(index, id, "Task not found with id: " + id);
+            } else {
+                taskCache.evictOnCommit(id);
+                changes.add(TaskChangedEvent.deleted(task));
+                results[index] = TaskBatchItemResult.success(index, id, null);
+            }
+        }
+        publish(changes);
+    }
+
+    private TaskResponse cacheCreated(Task task, List<TaskChangedEvent> changes) {
+        TaskResponse response = taskMapper.toResponse(task);
+        taskCache.putOnCommit(response);
+        changes.add(TaskChangedEvent.created(task));
+        return response;
+    }
+
+    private void publish(List<TaskChangedEvent> changes) {
+        if (changes.size() >= properties.bulkEventThreshold()) {
+            eventPublisher.publishEvent(TaskBulkChangedEvent.of(changes));
+        } else {
+            changes.forEach(eventPublisher::publishEvent);
+        }
+    }
+
+    private <T> List<Integer> validateChunk(List<T> items, int start, int end, TaskBatchItemResult[] results, Function<T, Long> idOf) {
+        List<Integer> valid = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            T item = items.get(i);
+            if (item == null) {
+                results[i] = TaskBatchItemResult.failure(i, null, "Item cannot be null");
+                continue;
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(item);
+            if (violations.isEmpty()) {
+                valid.add(i);
+            } else {
+                String msg = violations.stream()
+                                       .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                                       .sorted()
+                                       .collect(Collectors.joining(", "));
+                results[i] = TaskBatchItemResult.failure(i, idOf.apply(item), msg);
+            }
+        }
+        return valid;
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > properties.maxItems()) {
+            throw new BadRequestException("Batch cannot exceed " + properties.maxItems() + " items");
+        }
+    }
+}
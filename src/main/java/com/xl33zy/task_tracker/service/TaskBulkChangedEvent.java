@@ -0,0 +1,45 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One chunk of a batch write or import, published once instead of a {@link TaskChangedEvent} per task so that
+ * listeners apply it as a whole: stats add {@link #countDeltas()}, other nodes clear their task cache and SSE
+ * subscribers get a single {@code reset}. {@link #changes()} keeps the individual changes for the task history;
+ * it is empty for a bulk change received from another node, which only carries the deltas.
+ */
+public record TaskBulkChangedEvent(
+        List<TaskChangedEvent> changes,
+        Map<Cell, Long> countDeltas,
+        LocalDateTime occurredAt
+) {
+    public static TaskBulkChangedEvent of(List<TaskChangedEvent> changes) {
+        Map<Cell, Long> deltas = new HashMap<>();
+        for (TaskChangedEvent change : changes) {
+            if (change.oldStatus() != null && change.oldPriority() != null) {
+                deltas.merge(new Cell(change.oldStatus(), change.oldPriority()), -1L, Long::sum);
+            }
+            if (change.newStatus() != null && change.newPriority() != null) {
+                deltas.merge(new Cell(change.newStatus(), change.newPriority()), 1L, Long::sum);
+            }
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        return new TaskBulkChangedEvent(List.copyOf(changes), Map.copyOf(deltas), LocalDateTime.now());
+    }
+
+    public static TaskBulkChangedEvent ofDeltas(Map<Cell, Long> countDeltas) {
+        return new TaskBulkChangedEvent(List.of(), Map.copyOf(countDeltas), LocalDateTime.now());
+    }
+
+    /**
+     * A status × priority pair, the unit task counts are kept in.
+     */
+    public record Cell(TaskStatus status, TaskPriority priority) {
+    }
+}
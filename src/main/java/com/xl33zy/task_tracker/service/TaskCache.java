@@ -0,0 +1,144 @@
+package com.xl33zy.task_tracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.xl33zy.task_tracker.config.TaskCacheProperties;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of {@link TaskResponse} by task id.
+ * <p>
+ * Writers mark an id as pending inside their transaction and publish the committed value after completion.
+ * While a write is pending, reads bypass the cache and loaded values are not stored, so a read never
+ * observes data older than the last committed write. All bookkeeping for an id runs inside the cache's
+ * per-key {@code compute} so it is atomic with respect to the cached entry.
+ */
+@Component
+public class TaskCache implements MeterBinder {
+    private final Cache<Long, TaskResponse> cache;
+    private final ConcurrentMap<Long, TaskResponse> entries;
+    private final ConcurrentHashMap<Long, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Object> loadTokens = new ConcurrentHashMap<>();
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    public TaskCache(TaskCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(properties.maximumSize())
+                             .expireAfterWrite(properties.ttl())
+                             .recordStats()
+                             .build();
+        this.entries = cache.asMap();
+    }
+
+    public Optional<TaskResponse> get(Long id, Function<Long, Optional<TaskResponse>> loader) {
+        if (!pendingWrites.containsKey(id)) {
+            TaskResponse cached = cache.getIfPresent(id);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        Object token = new Object();
+        loadTokens.put(id, token);
+        try {
+            Optional<TaskResponse> loaded = loader.apply(id);
+            loaded.ifPresent(response -> entries.compute(id, (key, existing) -> {
+                boolean fresh = loadTokens.remove(key, token) && !pendingWrites.containsKey(key);
+                return existing != null || !fresh ? existing : response;
+            }));
+            return loaded;
+        } finally {
+            loadTokens.remove(id, token);
+        }
+    }
+
+    /**
+     * Cached value without loading; empty on a miss or while a write to the id is pending.
+     */
+    public Optional<TaskResponse> peek(Long id) {
+        if (pendingWrites.containsKey(id)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    public void putOnCommit(TaskResponse response) {
+        write(response.getId(), response);
+    }
+
+    public void evictOnCommit(Long id) {
+        write(id, null);
+    }
+
+    /**
+     * Drops an entry changed outside this process, e.g. committed by another node. A load that started before
+     * the call will not store its result.
+     */
+    public void invalidate(Long id) {
+        entries.compute(id, (key, existing) -> {
+            loadTokens.remove(key);
+            return null;
+        });
+    }
+
+    public void invalidateAll() {
+        loadTokens.clear();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "tasks");
+    }
+
+    private void write(Long id, TaskResponse committed) {
+        long sequence = writeSequence.incrementAndGet();
+        entries.compute(id, (key, existing) -> {
+            pendingWrites.merge(key, new PendingWrite(1, sequence),
+                    (current, started) -> new PendingWrite(current.count() + 1, sequence));
+            loadTokens.remove(key);
+            return null;
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    complete(id, sequence, status == STATUS_COMMITTED ? committed : null);
+                }
+            });
+        } else {
+            complete(id, sequence, committed);
+        }
+    }
+
+    private void complete(Long id, long sequence, TaskResponse committed) {
+        entries.compute(id, (key, existing) -> {
+            loadTokens.remove(key);
+            PendingWrite pending = pendingWrites.get(key);
+            // A later write to the same id may commit first; only the latest writer publishes its value
+            boolean latest = pending == null || pending.lastSequence() == sequence;
+            if (pending == null || pending.count() == 1) {
+                pendingWrites.remove(key);
+            } else {
+                pendingWrites.put(key, new PendingWrite(pending.count() - 1, pending.lastSequence()));
+            }
+            return latest ? committed : null;
+        });
+    }
+
+    private record PendingWrite(int count, long lastSequence) {
+    }
+}
@@ -0,0 +1,443 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.config.TaskBusProperties;
+import com.xl33zy.task_tracker.model.TaskEventType;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Cross-node change bus on PostgreSQL {@code LISTEN/NOTIFY}.
+ * <p>
+ * The changes of a transaction are collected as they are published and sent with {@code pg_notify} just before it
+ * commits, on its own connection, so other nodes hear about exactly the changes that commit. They go out in one
+ * statement, packed into as few notifications as the payload limit allows; a transaction with
+ * {@code coalesce-threshold} or more changes sends a single bulk notification with its count deltas instead. Each node keeps one dedicated connection outside the
+ * pool listening on the channel and applies remote changes to its local state: the task cache, stats counters
+ * and SSE stream. Notifications arriving within {@code coalesce-window} are handled as one burst: cache
+ * evictions are de-duplicated, and a burst of {@code coalesce-threshold} or more clears the whole cache.
+ * Notifications sent while the listener is reconnecting are lost, so after a reconnect the cache is cleared
+ * and stats are reconciled. A {@link TaskBulkChangedEvent} travels as one notification carrying only its count
+ * deltas; receivers clear their cache, adjust stats and send their SSE subscribers a {@code reset}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "tasks.bus", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskChangeBus implements SmartLifecycle {
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final String SEPARATOR = "|";
+    private static final String BULK = "BULK";
+    // Changes packed into one notification are separated by newlines
+    private static final String CHANGE_SEPARATOR = "\n";
+    // Postgres rejects notification payloads of 8000 bytes or more; encoded changes are ASCII
+    static final int MAX_PAYLOAD_LENGTH = 7999;
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, p) FROM unnest(?::text[]) p";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final TaskBusProperties properties;
+    private final TaskCache taskCache;
+    private final TaskStatsService taskStatsService;
+    private final TaskEventStream taskEventStream;
+    private final String nodeId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final Counter sent;
+    private final Counter received;
+    private final Counter fullInvalidations;
+
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listener;
+
+    public TaskChangeBus(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties, TaskBusProperties properties,
+                         TaskCache taskCache, TaskStatsService taskStatsService, TaskEventStream taskEventStream,
+                         MeterRegistry registry) {
+        if (!CHANNEL_NAME.matcher(properties.channel()).matches()) {
+            throw new IllegalArgumentException("Invalid tasks.bus.channel: " + properties.channel());
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.properties = properties;
+        this.taskCache = taskCache;
+        this.taskStatsService = taskStatsService;
+        this.taskEventStream = taskEventStream;
+        this.sent = messageCounter(registry, "sent");
+        this.received = messageCounter(registry, "received");
+        this.fullInvalidations = Counter.builder("tasks.bus.cache.full.invalidations")
+                                        .description("Bursts large enough to clear the whole task cache")
+                                        .register(registry);
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        PendingChanges pending = pendingChanges();
+        if (pending != null) {
+            pending.changes.add(event);
+        }
+    }
+
+    @EventListener
+    public void onTasksChanged(TaskBulkChangedEvent event) {
+        PendingChanges pending = pendingChanges();
+        if (pending != null) {
+            pending.bulks.add(event);
+        }
+    }
+
+    // The current transaction's changes, or null outside a transaction, where there is no commit to follow
+    private PendingChanges pendingChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private void send(List<String> payloads) {
+        // Runs on the transaction's connection: Postgres delivers the notifications only if it commits
+        jdbcTemplate.execute(NOTIFY_SQL, (PreparedStatementCallback<Void>) statement -> {
+            statement.setString(1, properties.channel());
+            statement.setArray(2, statement.getConnection().createArrayOf("text", payloads.toArray()));
+            statement.executeQuery().close();
+            return null;
+        });
+    }
+
+    /**
+     * Encodes a transaction's changes as notification payloads: each change on its own line, lines packed into
+     * payloads below the size limit, or one bulk change when there are {@code coalesce-threshold} or more of them
+     * or the transaction already published a bulk change.
+     */
+    List<String> payloads(List<TaskChangedEvent> changes, List<TaskBulkChangedEvent> bulks) {
+        if (!bulks.isEmpty() || changes.size() >= properties.coalesceThreshold()) {
+            Map<TaskBulkChangedEvent.Cell, Long> deltas = new HashMap<>(TaskBulkChangedEvent.of(changes).countDeltas());
+            for (TaskBulkChangedEvent bulk : bulks) {
+                bulk.countDeltas().forEach((cell, delta) -> deltas.merge(cell, delta, Long::sum));
+            }
+            deltas.values().removeIf(delta -> delta == 0);
+            return List.of(encode(nodeId, TaskBulkChangedEvent.ofDeltas(deltas)));
+        }
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder();
+        for (TaskChangedEvent change : changes) {
+            String line = encode(nodeId, change);
+            if (!payload.isEmpty() && payload.length() + CHANGE_SEPARATOR.length() + line.length() > MAX_PAYLOAD_LENGTH) {
+                payloads.add(payload.toString());
+                payload.setLength(0);
+            }
+            if (!payload.isEmpty()) {
+                payload.append(CHANGE_SEPARATOR);
+            }
+            payload.append(line);
+        }
+        if (!payload.isEmpty()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listenLoop, "task-change-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        closeQuietly(listenConnection);
+        try {
+            listener.join(properties.pollTimeout().toMillis() * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Applies one burst of notifications from other nodes to the local state.
+     */
+    void dispatch(List<String> payloads) {
+        List<TaskChangedEvent> changes = new ArrayList<>(payloads.size());
+        List<TaskBulkChangedEvent> bulks = new ArrayList<>();
+        for (String payload : payloads) {
+            if (payload.startsWith(nodeId + SEPARATOR)) {
+                continue;
+            }
+            try {
+                if (isBulk(payload)) {
+                    bulks.add(decodeBulk(payload));
+                } else {
+                    changes.add(decode(payload));
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring malformed task change notification '{}': {}", payload, e.getMessage());
+            }
+        }
+        if (changes.isEmpty() && bulks.isEmpty()) {
+            return;
+        }
+        received.increment(changes.size() + bulks.size());
+
+        if (!bulks.isEmpty() || changes.size() >= properties.coalesceThreshold()) {
+            fullInvalidations.increment();
+            taskCache.invalidateAll();
+        } else {
+            Set<Long> taskIds = new LinkedHashSet<>();
+            changes.forEach(change -> taskIds.add(change.taskId()));
+            taskIds.forEach(taskCache::invalidate);
+        }
+        for (TaskChangedEvent change : changes) {
+            taskStatsService.onTaskChanged(change);
+            taskEventStream.publish(change);
+        }
+        bulks.forEach(taskStatsService::onTasksChanged);
+        if (!bulks.isEmpty()) {
+            taskEventStream.publishReset();
+        }
+    }
+
+    private void listenLoop() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.channel());
+                }
+                if (reconnecting) {
+                    resync();
+                }
+                log.info("Listening for task changes on '{}' as node {}", properties.channel(), nodeId);
+                receive(connection.unwrap(PGConnection.class));
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Task change listener lost its connection, retrying in {}: {}", properties.reconnectDelay(), e.getMessage());
+                reconnecting = true;
+                sleep(properties.reconnectDelay().toMillis());
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.error("Task change listener failed, retrying in {}", properties.reconnectDelay(), e);
+                reconnecting = true;
+                sleep(properties.reconnectDelay().toMillis());
+            }
+        }
+    }
+
+    private void receive(PGConnection connection) throws SQLException {
+        int pollMillis = (int) Math.max(1, properties.pollTimeout().toMillis());
+        while (running) {
+            PGNotification[] first = connection.getNotifications(pollMillis);
+            if (first == null || first.length == 0) {
+                continue;
+            }
+            List<String> burst = new ArrayList<>();
+            collect(first, burst);
+
+            // Keep reading briefly so a burst of commits is applied as one
+            long deadline = System.nanoTime() + properties.coalesceWindow().toNanos();
+            long remaining;
+            while (burst.size() < properties.coalesceThreshold() && (remaining = deadline - System.nanoTime()) > 0) {
+                collect(connection.getNotifications((int) Math.max(1, remaining / 1_000_000)), burst);
+            }
+            dispatch(burst);
+        }
+    }
+
+    private void resync() {
+        log.info("Task change listener reconnected, clearing cache and reconciling stats");
+        fullInvalidations.increment();
+        taskCache.invalidateAll();
+        taskStatsService.reconcile();
+    }
+
+    static String encode(String nodeId, TaskChangedEvent event) {
+        return String.join(SEPARATOR,
+                nodeId,
+                event.type().name(),
+                String.valueOf(event.taskId()),
+                nameOrEmpty(event.oldStatus()),
+                nameOrEmpty(event.newStatus()),
+                nameOrEmpty(event.oldPriority()),
+                nameOrEmpty(event.newPriority()),
+                event.occurredAt().toString());
+    }
+
+    static TaskChangedEvent decode(String payload) {
+        String[] parts = payload.split(Pattern.quote(SEPARATOR), -1);
+        if (parts.length != 8) {
+            throw new IllegalArgumentException("expected 8 fields, got " + parts.length);
+        }
+        try {
+            return new TaskChangedEvent(
+                    TaskEventType.valueOf(parts[1]),
+                    Long.valueOf(parts[2]),
+                    parts[3].isEmpty() ? null : TaskStatus.valueOf(parts[3]),
+                    parts[4].isEmpty() ? null : TaskStatus.valueOf(parts[4]),
+                    parts[5].isEmpty() ? null : TaskPriority.valueOf(parts[5]),
+                    parts[6].isEmpty() ? null : TaskPriority.valueOf(parts[6]),
+                    LocalDateTime.parse(parts[7])
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    static String encode(String nodeId, TaskBulkChangedEvent event) {
+        StringBuilder deltas = new StringBuilder();
+        event.countDeltas().forEach((cell, delta) -> {
+            if (!deltas.isEmpty()) {
+                deltas.append(',');
+            }
+            deltas.append(cell.status().name()).append(':').append(cell.priority().name()).append(':').append(delta);
+        });
+        return String.join(SEPARATOR, nodeId, BULK, deltas, event.occurredAt().toString());
+    }
+
+    static TaskBulkChangedEvent decodeBulk(String payload) {
+        String[] parts = payload.split(Pattern.quote(SEPARATOR), -1);
+        if (parts.length != 4 || !BULK.equals(parts[1])) {
+            throw new IllegalArgumentException("expected a bulk change with 4 fields");
+        }
+        try {
+            Map<TaskBulkChangedEvent.Cell, Long> deltas = new HashMap<>();
+            if (!parts[2].isEmpty()) {
+                for (String delta : parts[2].split(",")) {
+                    String[] cell = delta.split(":", 3);
+                    deltas.put(new TaskBulkChangedEvent.Cell(TaskStatus.valueOf(cell[0]), TaskPriority.valueOf(cell[1])),
+                            Long.valueOf(cell[2]));
+                }
+            }
+            return new TaskBulkChangedEvent(List.of(), Map.copyOf(deltas), LocalDateTime.parse(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private static boolean isBulk(String payload) {
+        String[] parts = payload.split(Pattern.quote(SEPARATOR), 3);
+        return parts.length > 1 && BULK.equals(parts[1]);
+    }
+
+    private static void collect(PGNotification[] notifications, List<String> burst) {
+        if (notifications != null) {
+            for (PGNotification notification : notifications) {
+                burst.addAll(List.of(notification.getParameter().split(CHANGE_SEPARATOR)));
+            }
+        }
+    }
+
+    private static String nameOrEmpty(Enum<?> value) {
+        return value != null ? value.name() : "";
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                // the listener is shutting down anyway
+            }
+        }
+    }
+
+    /**
+     * Changes published in one transaction, sent together just before it commits. Unbound while the transaction
+     * is suspended, so changes of a nested {@code REQUIRES_NEW} transaction go out with that transaction.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+        private final List<TaskChangedEvent> changes = new ArrayList<>();
+        private final List<TaskBulkChangedEvent> bulks = new ArrayList<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(TaskChangeBus.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(TaskChangeBus.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!changes.isEmpty() || !bulks.isEmpty()) {
+                List<String> payloads = payloads(changes, bulks);
+                send(payloads);
+                sent.increment(payloads.size() == 1 && isBulk(payloads.get(0)) ? 1 : changes.size());
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TaskChangeBus.this);
+        }
+    }
+
+    private static Counter messageCounter(MeterRegistry registry, String direction) {
+        return Counter.builder("tasks.bus.messages")
+                      .description("Task changes exchanged with other nodes, a bulk change counting once")
+                      .tag("direction", direction)
+                      .register(registry);
+    }
+}
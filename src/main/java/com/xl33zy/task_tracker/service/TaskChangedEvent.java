@@ -0,0 +1,40 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskEventType;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link TaskService} inside the mutating transaction; listeners react after commit.
+ */
+public record TaskChangedEvent(
+        TaskEventType type,
+        Long taskId,
+        TaskStatus oldStatus,
+        TaskStatus newStatus,
+        TaskPriority oldPriority,
+        TaskPriority newPriority,
+        LocalDateTime occurredAt
+) {
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(TaskEventType.CREATED, task.getId(),
+                null, task.getStatus(), null, task.getPriority(), LocalDateTime.now());
+    }
+
+    public static TaskChangedEvent updated(TaskStatus oldStatus, TaskPriority oldPriority, Task task) {
+        return new TaskChangedEvent(TaskEventType.UPDATED, task.getId(),
+                oldStatus, task.getStatus(), oldPriority, task.getPriority(), LocalDateTime.now());
+    }
+
+    public static TaskChangedEvent deleted(Task task) {
+        return new TaskChangedEvent(TaskEventType.DELETED, task.getId(),
+                task.getStatus(), null, task.getPriority(), null, LocalDateTime.now());
+    }
+
+    public boolean statusOrPriorityChanged() {
+        return oldStatus != newStatus || oldPriority != newPriority;
+    }
+}
@@ -0,0 +1,46 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.exception.BadRequestException;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.repository.KeysetPosition;
+import com.xl33zy.task_tracker.repository.TaskSortField;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record TaskCursor(TaskSortField sortField, Sort.Direction direction, long lastId, String lastValue) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TaskCursor after(Task task, TaskSortField sortField, Sort.Direction direction) {
+        return new TaskCursor(sortField, direction, task.getId(), sortField.valueOf(task));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            TaskCursor cursor = new TaskCursor(
+                    TaskSortField.fromProperty(parts[0]),
+                    Sort.Direction.fromString(parts[1]),
+                    Long.parseLong(parts[2]),
+                    parts[3]
+            );
+            // Parsed here as well, so a malformed value is rejected as a bad cursor rather than failing the query
+            cursor.toPosition();
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = sortField.getProperty() + SEPARATOR + direction.name() + SEPARATOR + lastId + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public KeysetPosition toPosition() {
+        return new KeysetPosition(sortField.parseValue(lastValue), lastId);
+    }
+}
@@ -0,0 +1,33 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.exception.BadRequestException;
+
+import java.util.Arrays;
+
+public enum TaskDataFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    TaskDataFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static TaskDataFormat fromString(String format) {
+        return Arrays.stream(values())
+                     .filter(value -> value.extension.equalsIgnoreCase(format))
+                     .findFirst()
+                     .orElseThrow(() -> new BadRequestException("Unsupported format: " + format));
+    }
+}
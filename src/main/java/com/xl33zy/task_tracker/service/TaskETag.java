@@ -0,0 +1,64 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Strong entity tags for tasks, derived from the {@code @Version} counter and {@code updatedAt}.
+ */
+public final class TaskETag {
+
+    private TaskETag() {
+    }
+
+    public static String of(Long version, LocalDateTime updatedAt) {
+        return "\"" + version + "-" + Long.toHexString(epochNanos(updatedAt)) + "\"";
+    }
+
+    /**
+     * Returns null for responses without a version, e.g. {@code fields=} projections.
+     */
+    public static String of(TaskResponse response) {
+        return response.getVersion() != null ? of(response.getVersion(), response.getUpdatedAt()) : null;
+    }
+
+    /**
+     * Tag for a list page: changes whenever a task on the page changes, appears or disappears.
+     */
+    public static String ofList(List<TaskResponse> responses) {
+        StringBuilder tags = new StringBuilder(responses.size() * 24);
+        for (TaskResponse response : responses) {
+            if (response.getVersion() == null) {
+                return null;
+            }
+            tags.append(response.getId()).append(':').append(of(response)).append(';');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(tags.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * If-Match semantics (RFC 9110): {@code *} matches any current representation,
+     * otherwise one of the listed tags must equal the current one using strong comparison.
+     */
+    public static boolean matches(String ifMatch, String etag) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long epochNanos(LocalDateTime time) {
+        if (time == null) {
+            return 0;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+}
@@ -0,0 +1,209 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.config.TaskAuditProperties;
+import com.xl33zy.task_tracker.config.TaskAuditProperties.OverflowPolicy;
+import com.xl33zy.task_tracker.model.TaskEventType;
+import com.xl33zy.task_tracker.repository.InMemoryTaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous writer for the {@code task_events} history table.
+ * <p>
+ * Committed task changes are offered to a bounded ring buffer and a single background thread drains it,
+ * inserting events with one JDBC batch per drain. Mutations therefore pay for a queue offer, not for an
+ * extra insert. When the buffer is full the configured {@link OverflowPolicy} applies. On shutdown the
+ * writer stops after the web server has drained its requests and everything still buffered is flushed.
+ * Bulk changes from batch writes and imports would fill the buffer at once, so the committing thread writes
+ * them itself, in JDBC batches of {@code batch-size}.
+ */
+@Slf4j
+@Profile("!" + InMemoryTaskRepository.PROFILE)
+@Component
+public class TaskEventLog implements SmartLifecycle {
+    static final String INSERT_SQL = "INSERT INTO task_events "
+            + "(task_id, type, old_status, new_status, old_priority, new_priority, occurred_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskAuditProperties properties;
+    private final BlockingQueue<TaskChangedEvent> buffer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public TaskEventLog(JdbcTemplate jdbcTemplate, TaskAuditProperties properties, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.buffer = new ArrayBlockingQueue<>(properties.capacity());
+        this.written = outcomeCounter(registry, "written");
+        this.dropped = outcomeCounter(registry, "dropped");
+        this.failed = outcomeCounter(registry, "failed");
+        Gauge.builder("tasks.audit.buffer.size", buffer, BlockingQueue::size)
+             .description("Task events waiting to be written")
+             .register(registry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        // History only tracks lifecycle and status/priority transitions, not title/description edits
+        if (event.type() == TaskEventType.UPDATED && !event.statusOrPriorityChanged()) {
+            return;
+        }
+        if (!running) {
+            // Before start or after shutdown there is no writer to hand over to
+            write(List.of(event));
+            return;
+        }
+        if (!offer(event)) {
+            dropped.increment();
+            log.warn("Task event buffer full, dropped {} event for task {}", event.type(), event.taskId());
+        } else if (!running) {
+            // Lost the race with stop(): make sure the event does not sit in the buffer forever
+            flushRemaining();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTasksChanged(TaskBulkChangedEvent event) {
+        List<TaskChangedEvent> history = event.changes().stream()
+                                              .filter(change -> change.type() != TaskEventType.UPDATED
+                                                      || change.statusOrPriorityChanged())
+                                              .toList();
+        for (int start = 0; start < history.size(); start += properties.batchSize()) {
+            write(history.subList(start, Math.min(start + properties.batchSize(), history.size())));
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "task-event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(properties.shutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("Task event writer did not stop within {}", properties.shutdownTimeout());
+        }
+        flushRemaining();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Lower phase stops later: keep accepting events until the web server has stopped and drained requests
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    int buffered() {
+        return buffer.size();
+    }
+
+    private boolean offer(TaskChangedEvent event) {
+        if (properties.overflowPolicy() == OverflowPolicy.DROP) {
+            return buffer.offer(event);
+        }
+        try {
+            return buffer.offer(event, properties.offerTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drainLoop() {
+        List<TaskChangedEvent> batch = new ArrayList<>(properties.batchSize());
+        while (running) {
+            try {
+                TaskChangedEvent first = buffer.poll(properties.flushInterval().toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, properties.batchSize() - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private synchronized void flushRemaining() {
+        List<TaskChangedEvent> batch = new ArrayList<>(properties.batchSize());
+        while (buffer.drainTo(batch, properties.batchSize()) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<TaskChangedEvent> batch) {
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                    ps.setLong(1, event.taskId());
+                    ps.setString(2, event.type().name());
+                    ps.setString(3, event.oldStatus() != null ? event.oldStatus().name() : null);
+                    ps.setString(4, event.newStatus() != null ? event.newStatus().name() : null);
+                    ps.setString(5, event.oldPriority() != null ? event.oldPriority().name() : null);
+                    ps.setString(6, event.newPriority() != null ? event.newPriority().name() : null);
+                    ps.setTimestamp(7, Timestamp.valueOf(event.occurredAt()));
+                });
+                written.increment(batch.size());
+                return;
+            } catch (DataAccessException e) {
+                log.warn("Writing {} task events failed (attempt {}/{}): {}", batch.size(), attempt, MAX_WRITE_ATTEMPTS, e.getMessage());
+            }
+        }
+        failed.increment(batch.size());
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("tasks.audit.events")
+                      .description("Task events handled by the audit log")
+                      .tag("outcome", outcome)
+                      .register(registry);
+    }
+}
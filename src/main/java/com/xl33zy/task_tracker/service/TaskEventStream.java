@@ -0,0 +1,412 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.config.TaskStreamProperties;
+import com.xl33zy.task_tracker.config.TaskStreamProperties.SlowSubscriberPolicy;
+import com.xl33zy.task_tracker.dto.TaskEventResponse;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed task changes out to server-sent event subscribers.
+ * <p>
+ * Connections are servlet async requests, so an idle subscriber holds no thread. Each subscriber has its own
+ * bounded queue, drained by a sender thread of its own while it has something to send (heartbeats included), so a
+ * client whose writes block stalls only itself; it is handled by the {@link SlowSubscriberPolicy} once its queue
+ * fills up, and closed outright once a send has been pending for longer than {@code send-timeout}. The most recent events are kept in a ring
+ * so a reconnecting client can resume from {@code Last-Event-ID}; if it has fallen out of the ring it receives
+ * a {@code reset} event and should reload its view. A bulk change is sent the same way: one {@code reset}, with an
+ * id, to every subscriber, replacing whatever it still had queued.
+ */
+@Slf4j
+@Component
+public class TaskEventStream implements DisposableBean {
+    static final String RESET_EVENT = "reset";
+
+    // Events sent per drain turn before the sender thread goes back to the pool
+    private static final int DRAIN_BATCH = 64;
+
+    private final TaskStreamProperties properties;
+    private final ScheduledExecutorService scheduler;
+    private final Executor senders;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final StreamEvent[] replay;
+    private long lastEventId; // guarded by replay
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    @Autowired
+    public TaskEventStream(TaskStreamProperties properties, MeterRegistry registry) {
+        this(properties, registry, Executors.newSingleThreadScheduledExecutor(daemon("task-stream-scheduler")),
+                Executors.newCachedThreadPool(daemon("task-stream-sender-")));
+    }
+
+    TaskEventStream(TaskStreamProperties properties, MeterRegistry registry, ScheduledExecutorService scheduler,
+                    Executor senders) {
+        this.properties = properties;
+        this.replay = new StreamEvent[properties.replayCapacity()];
+        this.scheduler = scheduler;
+        this.senders = senders;
+        long heartbeat = properties.heartbeatInterval().toMillis();
+        scheduler.scheduleAtFixedRate(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+        long sendTimeout = properties.sendTimeout().toMillis();
+        scheduler.scheduleAtFixedRate(this::closeStalled, sendTimeout, sendTimeout, TimeUnit.MILLISECONDS);
+
+        this.dropped = Counter.builder("tasks.stream.dropped")
+                              .description("Events not delivered because a subscriber queue was full")
+                              .register(registry);
+        this.disconnected = Counter.builder("tasks.stream.slow.disconnects")
+                                   .description("Subscribers disconnected for falling behind or stalling a send")
+                                   .register(registry);
+        Gauge.builder("tasks.stream.subscribers", subscribers, Set::size)
+             .description("Connected task stream subscribers")
+             .register(registry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        publish(event);
+    }
+
+    public void publish(TaskChangedEvent event) {
+        List<Subscriber> overflowed = new ArrayList<>();
+        synchronized (replay) {
+            long id = ++lastEventId;
+            StreamEvent streamEvent = new StreamEvent(id, event);
+            replay[slot(id)] = streamEvent;
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.accepts(event) && !subscriber.offer(streamEvent)) {
+                    overflowed.add(subscriber);
+                }
+            }
+        }
+
+        for (Subscriber subscriber : overflowed) {
+            if (properties.slowSubscriberPolicy() == SlowSubscriberPolicy.DISCONNECT) {
+                disconnected.increment();
+                subscriber.abort();
+            } else {
+                dropped.increment();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTasksChanged(TaskBulkChangedEvent event) {
+        publishReset();
+    }
+
+    /**
+     * Tells every subscriber to reload its view. Queued events are superseded by the reset, so they are dropped
+     * rather than counted against the subscriber.
+     */
+    public void publishReset() {
+        synchronized (replay) {
+            long id = ++lastEventId;
+            StreamEvent streamEvent = new StreamEvent(id, null);
+            replay[slot(id)] = streamEvent;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.reset(streamEvent);
+            }
+        }
+    }
+
+    public SseEmitter subscribe(String status, String priority, String lastEventId) {
+        Subscriber subscriber = new Subscriber(
+                new SseEmitter(properties.connectionTimeout().toMillis()),
+                TaskService.parseStatus(status),
+                TaskService.parsePriority(priority)
+        );
+
+        synchronized (replay) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                subscriber.resetPending = !replaySince(subscriber, lastEventId.trim());
+            }
+            subscribers.add(subscriber);
+        }
+
+        try {
+            // Flushes the response headers so the client sees the stream open immediately
+            subscriber.emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            subscriber.close();
+        }
+        subscriber.scheduleDrain();
+        return subscriber.emitter;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        if (senders instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+        subscribers.forEach(Subscriber::close);
+    }
+
+    // Must hold the replay lock. Returns false when the client missed events that are no longer buffered.
+    private boolean replaySince(Subscriber subscriber, String lastEventId) {
+        long lastSeen;
+        try {
+            lastSeen = Long.parseLong(lastEventId);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        long oldest = Math.max(1, this.lastEventId - replay.length + 1);
+        // An id from the future means the client was connected to another instance or before a restart
+        if (lastSeen > this.lastEventId || lastSeen + 1 < oldest) {
+            return false;
+        }
+        for (long id = lastSeen + 1; id <= this.lastEventId; id++) {
+            StreamEvent event = replay[slot(id)];
+            if (event.isReset()) {
+                // Supersedes everything replayed before it; subscribe() starts the drain
+                subscriber.queue.clear();
+                subscriber.queue.offer(event);
+            } else if (subscriber.accepts(event.change()) && !subscriber.queue.offer(event)) {
+                subscriber.queue.clear();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Sent by each subscriber's own sender, so a blocked client cannot hold up the others' heartbeats
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatPending = true;
+            subscriber.scheduleDrain();
+        }
+    }
+
+    private void closeStalled() {
+        long deadline = System.nanoTime() - properties.sendTimeout().toNanos();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.busySince(deadline)) {
+                log.debug("Task stream subscriber stalled for longer than {}, closing it", properties.sendTimeout());
+                disconnected.increment();
+                subscriber.abort();
+            }
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            String threadName = name.endsWith("-") ? name + threadNumber.incrementAndGet() : name;
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private int slot(long id) {
+        return (int) (id % replay.length);
+    }
+
+    // A null change is a reset
+    private record StreamEvent(long id, TaskChangedEvent change) {
+        boolean isReset() {
+            return change == null;
+        }
+
+        TaskEventResponse toResponse() {
+            return TaskEventResponse.builder()
+                                    .id(id)
+                                    .taskId(change.taskId())
+                                    .type(change.type())
+                                    .oldStatus(change.oldStatus())
+                                    .newStatus(change.newStatus())
+                                    .oldPriority(change.oldPriority())
+                                    .newPriority(change.newPriority())
+                                    .occurredAt(change.occurredAt())
+                                    .build();
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final TaskStatus status;
+        private final TaskPriority priority;
+        private final BlockingQueue<StreamEvent> queue = new ArrayBlockingQueue<>(properties.subscriberQueueCapacity());
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long drainScheduledAt;
+        private Thread sender; // guarded by this
+        private volatile boolean heartbeatPending;
+        private volatile boolean resetPending;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, TaskStatus status, TaskPriority priority) {
+            this.emitter = emitter;
+            this.status = status;
+            this.priority = priority;
+            emitter.onCompletion(() -> subscribers.remove(this));
+            emitter.onTimeout(this::close);
+            emitter.onError(error -> subscribers.remove(this));
+        }
+
+        // A filter matches a change into or out of the filtered status/priority
+        boolean accepts(TaskChangedEvent change) {
+            boolean statusMatches = status == null || status == change.oldStatus() || status == change.newStatus();
+            boolean priorityMatches = priority == null || priority == change.oldPriority() || priority == change.newPriority();
+            return statusMatches && priorityMatches;
+        }
+
+        // Returns false only when the queue is full
+        boolean offer(StreamEvent event) {
+            if (closed) {
+                return true;
+            }
+            if (!queue.offer(event)) {
+                return false;
+            }
+            scheduleDrain();
+            return true;
+        }
+
+        void reset(StreamEvent event) {
+            if (closed) {
+                return;
+            }
+            queue.clear();
+            queue.offer(event);
+            scheduleDrain();
+        }
+
+        void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                drainScheduledAt = System.nanoTime();
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        // Whether a drain has been pending or sending since before the given System.nanoTime()
+        boolean busySince(long nanoTime) {
+            return draining.get() && drainScheduledAt - nanoTime < 0;
+        }
+
+        private void drain() {
+            synchronized (this) {
+                sender = Thread.currentThread();
+            }
+            try {
+                if (heartbeatPending && !closed) {
+                    heartbeatPending = false;
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                }
+                if (resetPending && !closed) {
+                    resetPending = false;
+                    emitter.send(SseEmitter.event().name(RESET_EVENT).data("{}", MediaType.APPLICATION_JSON));
+                }
+                StreamEvent event;
+                int sent = 0;
+                while (!closed && sent++ < DRAIN_BATCH && (event = queue.poll()) != null) {
+                    if (event.isReset()) {
+                        emitter.send(SseEmitter.event()
+                                               .id(Long.toString(event.id()))
+                                               .name(RESET_EVENT)
+                                               .data("{}", MediaType.APPLICATION_JSON));
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event()
+                                           .id(Long.toString(event.id()))
+                                           .name(event.change().type().name().toLowerCase(Locale.ROOT))
+                                           .data(event.toResponse(), MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Task stream subscriber gone: {}", e.getMessage());
+                markClosed();
+            } finally {
+                synchronized (this) {
+                    sender = null;
+                    // An interrupt from abort() must not leak into the next task run by this pooled thread
+                    Thread.interrupted();
+                }
+                draining.set(false);
+            }
+            if (closed) {
+                // Closed by a failed send or by abort() meanwhile; completing the emitter may wait for this thread's send
+                complete();
+            } else if (!queue.isEmpty() || heartbeatPending) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            if (markClosed()) {
+                complete();
+            }
+        }
+
+        // Closes a subscriber whose send is stuck without waiting for it: the blocked sender is interrupted and
+        // completes the emitter itself once its send returns
+        void abort() {
+            if (!markClosed()) {
+                return;
+            }
+            synchronized (this) {
+                if (sender != null) {
+                    sender.interrupt();
+                    return;
+                }
+            }
+            if (!draining.get()) {
+                complete();
+            }
+        }
+
+        private synchronized boolean markClosed() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+            return true;
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // already completed by the container
+            }
+        }
+    }
+}
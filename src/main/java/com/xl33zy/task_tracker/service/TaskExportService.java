@@ -0,0 +1,161 @@
+package com.xl33zy.task_tracker.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.mapper.TaskMapper;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Service
+public class TaskExportService {
+    private static final int FLUSH_EVERY_ROWS = 1000;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String CSV_HEADER = "id,title,description,status,priority,createdAt,updatedAt";
+
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final EntityManager entityManager;
+    private final ObjectWriter taskWriter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskExportService(TaskRepository taskRepository,
+                             TaskMapper taskMapper,
+                             Optional<EntityManager> entityManager,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.entityManager = entityManager.orElse(null);
+        this.objectMapper = objectMapper;
+        this.taskWriter = objectMapper.writerFor(TaskResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public long exportTasks(TaskDataFormat format, String status, String priority, OutputStream out) {
+        TaskStatus taskStatus = TaskService.parseStatus(status);
+        TaskPriority taskPriority = TaskService.parsePriority(priority);
+
+        // PostgreSQL only honours the fetch size (server-side cursor) inside a transaction
+        Long exported = transactionTemplate.execute(tx -> {
+            try (Stream<Task> tasks = openStream(taskStatus, taskPriority)) {
+                return switch (format) {
+                    case NDJSON -> writeNdjson(tasks.iterator(), out);
+                    case CSV -> writeCsv(tasks.iterator(), out);
+                };
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return exported == null ? 0 : exported;
+    }
+
+    private Stream<Task> openStream(TaskStatus status, TaskPriority priority) {
+        if (status != null && priority != null) {
+            return taskRepository.streamByStatusAndPriorityOrderByIdAsc(status, priority);
+        } else if (status != null) {
+            return taskRepository.streamByStatusOrderByIdAsc(status);
+        } else if (priority != null) {
+            return taskRepository.streamByPriorityOrderByIdAsc(priority);
+        } else {
+            return taskRepository.streamAllByOrderByIdAsc();
+        }
+    }
+
+    private long writeNdjson(Iterator<Task> tasks, OutputStream out) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (tasks.hasNext()) {
+                taskWriter.writeValue(generator, next(tasks));
+                generator.writeRaw('\n');
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return rows;
+    }
+
+    private long writeCsv(Iterator<Task> tasks, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (tasks.hasNext()) {
+            TaskResponse task = next(tasks);
+            writer.write(String.valueOf(task.getId()));
+            writer.write(',');
+            writeCsvField(writer, task.getTitle());
+            writer.write(',');
+            writeCsvField(writer, task.getDescription());
+            writer.write(',');
+            writer.write(task.getStatus().name());
+            writer.write(',');
+            writer.write(task.getPriority().name());
+            writer.write(',');
+            writer.write(formatDate(task.getCreatedAt()));
+            writer.write(',');
+            writer.write(formatDate(task.getUpdatedAt()));
+            writer.write('\n');
+            if (++rows % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private TaskResponse next(Iterator<Task> tasks) {
+        Task task = tasks.next();
+        // Keep the persistence context empty so memory stays flat regardless of the row count;
+        // the in-memory storage streams copies and has no persistence context
+        if (entityManager != null) {
+            entityManager.detach(task);
+        }
+        return taskMapper.toResponse(task);
+    }
+
+    static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String formatDate(LocalDateTime value) {
+        return value == null ? "" : DATE_FORMAT.format(value);
+    }
+}
@@ -0,0 +1,41 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.dto.TaskEventPage;
+import com.xl33zy.task_tracker.dto.TaskEventResponse;
+import com.xl33zy.task_tracker.exception.BadRequestException;
+import com.xl33zy.task_tracker.mapper.TaskMapper;
+import com.xl33zy.task_tracker.model.TaskEvent;
+import com.xl33zy.task_tracker.repository.InMemoryTaskRepository;
+import com.xl33zy.task_tracker.repository.TaskEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Profile("!" + InMemoryTaskRepository.PROFILE)
+@Service
+@RequiredArgsConstructor
+public class TaskHistoryService {
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final TaskEventRepository taskEventRepository;
+    private final TaskMapper taskMapper;
+
+    // History is kept for deleted tasks too, so an unknown id yields an empty page rather than 404
+    @Transactional(readOnly = true)
+    public TaskEventPage getHistory(Long taskId, long after, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<TaskEvent> events = taskEventRepository.findByTaskIdAndIdGreaterThanOrderByIdAsc(taskId, after, Limit.of(size + 1));
+        boolean hasNext = events.size() > size;
+        List<TaskEvent> pageEvents = hasNext ? events.subList(0, size) : events;
+        List<TaskEventResponse> items = pageEvents.stream().map(taskMapper::toEventResponse).toList();
+        Long nextAfter = hasNext ? pageEvents.get(pageEvents.size() - 1).getId() : null;
+        return new TaskEventPage(items, nextAfter);
+    }
+}
@@ -0,0 +1,222 @@
+package com.xl33zy.task_tracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.xl33zy.task_tracker.config.TaskImportProperties;
+import com.xl33zy.task_tracker.dto.TaskImportRejection;
+import com.xl33zy.task_tracker.dto.TaskImportReport;
+import com.xl33zy.task_tracker.dto.TaskRequest;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.repository.InMemoryTaskRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams NDJSON or CSV into {@code tasks} with {@code COPY}, in chunks of {@code tasks.import.chunk-size}.
+ * <p>
+ * Each chunk is one transaction, so a bad chunk is reported without undoing earlier ones. Ids are taken from
+ * {@code tasks_id_seq} up front, as the column default would, and each chunk publishes one
+ * {@link TaskBulkChangedEvent} with a change per row that reaches the listeners once the chunk commits.
+ */
+@Slf4j
+@Profile("!" + InMemoryTaskRepository.PROFILE)
+@Service
+public class TaskImportService {
+    private static final String COPY_SQL = "COPY tasks (id, title, description, status, priority) FROM STDIN WITH (FORMAT csv)";
+    static final String NEXT_IDS_SQL = "SELECT nextval('tasks_id_seq') FROM generate_series(1, ?)";
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectReader requestReader;
+    private final Validator validator;
+    private final TaskImportProperties properties;
+
+    public TaskImportService(DataSource dataSource,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             TaskImportProperties properties) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.requestReader = objectMapper.readerFor(TaskRequest.class);
+        this.validator = validator;
+        this.properties = properties;
+    }
+
+    public TaskImportReport importTasks(TaskDataFormat format, InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        TaskRecordReader records = format == TaskDataFormat.CSV
+                ? new CsvTaskReader(reader)
+                : new NdjsonTaskReader(reader, requestReader);
+
+        ImportProgress progress = new ImportProgress();
+        List<TaskRequest> chunk = new ArrayList<>(properties.chunkSize());
+        long firstLine = 0;
+        long lastLine = 0;
+
+        TaskRecordReader.TaskRecord record;
+        while ((record = records.next()) != null) {
+            String error = record.error() != null ? record.error() : validate(record.request());
+            if (error != null) {
+                progress.reject(record.line(), error);
+                continue;
+            }
+            if (chunk.isEmpty()) {
+                firstLine = record.line();
+            }
+            lastLine = record.line();
+            chunk.add(record.request());
+            if (chunk.size() == properties.chunkSize()) {
+                copyChunk(chunk, firstLine, lastLine, progress);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            copyChunk(chunk, firstLine, lastLine, progress);
+        }
+
+        log.info("Imported {} tasks, rejected {} lines", progress.accepted, progress.rejected);
+        return new TaskImportReport(progress.accepted, progress.rejected, progress.rejections);
+    }
+
+    private String validate(TaskRequest request) {
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                             .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                             .sorted()
+                             .collect(Collectors.joining(", "));
+        }
+        if (request.getTitle().length() > MAX_TITLE_LENGTH) {
+            return "title: Title cannot exceed " + MAX_TITLE_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private void copyChunk(List<TaskRequest> chunk, long firstLine, long lastLine, ImportProgress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> copy(chunk));
+            progress.accepted += chunk.size();
+        } catch (RuntimeException e) {
+            log.warn("COPY of lines {}-{} failed: {}", firstLine, lastLine, e.getMessage());
+            progress.rejected += chunk.size();
+            progress.report(firstLine, "Lines " + firstLine + "-" + lastLine + " were not imported: " + e.getMessage());
+        }
+        chunk.clear();
+    }
+
+    private void copy(List<TaskRequest> chunk) {
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, chunk.size());
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < chunk.size(); i++) {
+            appendCopyRow(rows, ids.get(i), chunk.get(i));
+        }
+
+        // The transaction's connection, so the rows and the change notifications commit together
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            copyManager.copyIn(COPY_SQL, new StringReader(rows.toString()));
+        } catch (SQLException | IOException e) {
+            throw new CopyFailedException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        List<TaskChangedEvent> changes = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            TaskRequest request = chunk.get(i);
+            Task task = Task.builder().id(ids.get(i)).status(statusOf(request)).priority(priorityOf(request)).build();
+            changes.add(TaskChangedEvent.created(task));
+        }
+        eventPublisher.publishEvent(TaskBulkChangedEvent.of(changes));
+    }
+
+    static void appendCopyRow(StringBuilder chunk, long id, TaskRequest request) {
+        chunk.append(id).append(',');
+        appendQuoted(chunk, request.getTitle());
+        chunk.append(',');
+        // An unquoted empty field is NULL in COPY csv format, a quoted one is an empty string
+        if (request.getDescription() != null) {
+            appendQuoted(chunk, request.getDescription());
+        }
+        chunk.append(',').append(statusOf(request).name())
+             .append(',').append(priorityOf(request).name())
+             .append('\n');
+    }
+
+    private static TaskStatus statusOf(TaskRequest request) {
+        return request.getStatus() != null ? request.getStatus() : TaskStatus.NEW;
+    }
+
+    private static TaskPriority priorityOf(TaskRequest request) {
+        return request.getPriority() != null ? request.getPriority() : TaskPriority.MEDIUM;
+    }
+
+    private static void appendQuoted(StringBuilder chunk, String value) {
+        chunk.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                chunk.append('"');
+            }
+            chunk.append(c);
+        }
+        chunk.append('"');
+    }
+
+    private static class CopyFailedException extends RuntimeException {
+        CopyFailedException(Exception cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    private class ImportProgress {
+        private long accepted;
+        private long rejected;
+        private final List<TaskImportRejection> rejections = new ArrayList<>();
+
+        void reject(long line, String error) {
+            rejected++;
+            report(line, error);
+        }
+
+        void report(long line, String error) {
+            if (rejections.size() < properties.maxReportedRejections()) {
+                rejections.add(new TaskImportRejection(line, error));
+            }
+        }
+    }
+}
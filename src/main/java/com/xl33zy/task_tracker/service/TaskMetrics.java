@@ -0,0 +1,67 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Application-level task metrics that the HTTP and repository timers cannot see:
+ * how many rows each list query returns, broken down by the filter combination that produced it.
+ */
+@Component
+public class TaskMetrics {
+    static final String QUERY_ROWS = "tasks.query.rows";
+
+    static final String FILTER_NONE = "none";
+    static final String FILTER_STATUS = "status";
+    static final String FILTER_PRIORITY = "priority";
+    static final String FILTER_STATUS_PRIORITY = "status_priority";
+
+    static final String PAGINATION_OFFSET = "offset";
+    static final String PAGINATION_CURSOR = "cursor";
+
+    private final Map<String, DistributionSummary> queryRows = new HashMap<>();
+
+    public TaskMetrics(MeterRegistry registry) {
+        // Fixed, small tag space: register every combination up front so the hot path is a map lookup
+        for (String pagination : new String[]{PAGINATION_OFFSET, PAGINATION_CURSOR}) {
+            for (String filter : new String[]{FILTER_NONE, FILTER_STATUS, FILTER_PRIORITY, FILTER_STATUS_PRIORITY}) {
+                queryRows.put(key(pagination, filter), DistributionSummary.builder(QUERY_ROWS)
+                                                                          .description("Rows returned per task list query")
+                                                                          .baseUnit("rows")
+                                                                          .tag("pagination", pagination)
+                                                                          .tag("filter", filter)
+                                                                          .publishPercentileHistogram()
+                                                                          .register(registry));
+            }
+        }
+    }
+
+    public void recordOffsetQuery(TaskStatus status, TaskPriority priority, int rows) {
+        queryRows.get(key(PAGINATION_OFFSET, filter(status, priority))).record(rows);
+    }
+
+    public void recordCursorQuery(TaskStatus status, TaskPriority priority, int rows) {
+        queryRows.get(key(PAGINATION_CURSOR, filter(status, priority))).record(rows);
+    }
+
+    static String filter(TaskStatus status, TaskPriority priority) {
+        if (status != null && priority != null) {
+            return FILTER_STATUS_PRIORITY;
+        } else if (status != null) {
+            return FILTER_STATUS;
+        } else if (priority != null) {
+            return FILTER_PRIORITY;
+        }
+        return FILTER_NONE;
+    }
+
+    private static String key(String pagination, String filter) {
+        return pagination + ':' + filter;
+    }
+}
@@ -0,0 +1,24 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.dto.TaskRequest;
+
+import java.io.IOException;
+
+interface TaskRecordReader {
+
+    /**
+     * Returns the next record, or {@code null} at the end of the input.
+     */
+    TaskRecord next() throws IOException;
+
+    record TaskRecord(long line, TaskRequest request, String error) {
+
+        static TaskRecord valid(long line, TaskRequest request) {
+            return new TaskRecord(line, request, null);
+        }
+
+        static TaskRecord invalid(long line, String error) {
+            return new TaskRecord(line, null, error);
+        }
+    }
+}
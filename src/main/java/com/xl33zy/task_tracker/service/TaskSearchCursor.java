@@ -0,0 +1,40 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.exception.BadRequestException;
+import com.xl33zy.task_tracker.repository.KeysetPosition;
+import com.xl33zy.task_tracker.repository.TaskSearchHit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a ranked search result: the (rank, id) of the last hit returned.
+ * Float.toString round-trips exactly, so the rank compares equal to PostgreSQL's {@code real} on the next page.
+ */
+public record TaskSearchCursor(float lastRank, long lastId) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TaskSearchCursor after(TaskSearchHit hit) {
+        return new TaskSearchCursor(hit.rank(), hit.task().getId());
+    }
+
+    public static TaskSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            return new TaskSearchCursor(Float.parseFloat(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = Float.toString(lastRank) + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public KeysetPosition toPosition() {
+        return new KeysetPosition(lastRank, lastId);
+    }
+}
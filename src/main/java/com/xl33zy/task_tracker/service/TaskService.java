@@ -1,14 +1,24 @@
 package com.xl33zy.task_tracker.service;
 
+import com.xl33zy.task_tracker.config.ReadYourWrites;
+import com.xl33zy.task_tracker.dto.TaskCursorPage;
 import com.xl33zy.task_tracker.dto.TaskRequest;
 import com.xl33zy.task_tracker.dto.TaskResponse;
 import com.xl33zy.task_tracker.dto.TaskUpdateRequest;
+import com.xl33zy.task_tracker.exception.BadRequestException;
+import com.xl33zy.task_tracker.exception.PreconditionFailedException;
 import com.xl33zy.task_tracker.mapper.TaskMapper;
 import com.xl33zy.task_tracker.model.TaskPriority;
 import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.repository.TaskField;
 import com.xl33zy.task_tracker.repository.TaskRepository;
+import com.xl33zy.task_tracker.repository.TaskSearchHit;
+import com.xl33zy.task_tracker.repository.TaskSortField;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import com.xl33zy.task_tracker.model.Task;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -20,88 +30,151 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "tasks.service", histogram = true)
 public class TaskService {
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
+    private final TaskCache taskCache;
+    private final TaskMetrics taskMetrics;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public TaskResponse createTask(TaskRequest taskRequest) {
         Task task = taskMapper.toEntity(taskRequest);
         Task saved = taskRepository.save(task);
-        System.out.println("createdAt: " + saved.getCreatedAt());
-        System.out.println("updatedAt: " + saved.getUpdatedAt());
-        return taskMapper.toResponse(saved);
+        TaskResponse response = taskMapper.toResponse(saved);
+        taskCache.putOnCommit(response);
+        eventPublisher.publishEvent(TaskChangedEvent.created(saved));
+        return response;
     }
 
     @Transactional(readOnly = true)
-    public List<TaskResponse> getAllTasks(int page, int size, String sort, String status, String priority) {
-        Sort sortObj;
-
-        if (sort == null || sort.isBlank()) {
-            sortObj = Sort.by(Sort.Direction.ASC, "id");
-        } else {
-            String[] parts = sort.split(",");
-            String property = parts[0].trim();
-            Sort.Direction direction = parts.length > 1
-                    ? Sort.Direction.fromString(parts[1].trim())
-                    : Sort.Direction.ASC;
-            sortObj = Sort.by(direction, property);
-        }
-
-        Pageable pageable = PageRequest.of(page, size, sortObj);
-
-        TaskStatus taskStatus = null;
-        if (status != null && !status.isBlank()) {
-            try {
-                taskStatus = TaskStatus.valueOf(status.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                throw new RuntimeException("Invalid status: " + status);
-            }
+    public List<TaskResponse> getAllTasks(int page, int size, String sort, String status, String priority, String fields) {
+        if (page < 0 || size < 1) {
+            throw new BadRequestException("Page must not be negative and page size must be greater than zero");
         }
+        Pageable pageable = PageRequest.of(page, size, parseSort(sort));
+        TaskStatus taskStatus = parseStatus(status);
+        TaskPriority taskPriority = parsePriority(priority);
 
-        TaskPriority taskPriority = null;
-        if (priority != null && !priority.isBlank()) {
-            try {
-                taskPriority = TaskPriority.valueOf(priority.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                throw new RuntimeException("Invalid priority: " + priority);
-            }
+        if (fields != null && !fields.isBlank()) {
+            List<TaskResponse> projected = taskRepository.findProjected(TaskField.parse(fields), taskStatus, taskPriority, pageable);
+            taskMetrics.recordOffsetQuery(taskStatus, taskPriority, projected.size());
+            return projected;
         }
 
+        Page<Task> tasks;
         if (taskStatus != null && taskPriority != null) {
-            return taskRepository.findByStatusAndPriority(taskStatus, taskPriority, pageable)
-                                 .stream()
-                                 .map(taskMapper::toResponse)
-                                 .toList();
+            tasks = taskRepository.findByStatusAndPriority(taskStatus, taskPriority, pageable);
         } else if (taskStatus != null) {
-            return taskRepository.findByStatus(taskStatus, pageable)
-                                 .stream()
-                                 .map(taskMapper::toResponse)
-                                 .toList();
+            tasks = taskRepository.findByStatus(taskStatus, pageable);
         } else if (taskPriority != null) {
-            return taskRepository.findByPriority(taskPriority, pageable)
-                                 .stream()
-                                 .map(taskMapper::toResponse)
-                                 .toList();
+            tasks = taskRepository.findByPriority(taskPriority, pageable);
         } else {
-            return taskRepository.findAll(pageable)
-                                 .stream()
-                                 .map(taskMapper::toResponse)
-                                 .toList();
+            tasks = taskRepository.findAll(pageable);
         }
+
+        taskMetrics.recordOffsetQuery(taskStatus, taskPriority, tasks.getNumberOfElements());
+        return tasks.stream()
+                    .map(taskMapper::toResponse)
+                    .toList();
     }
 
     @Transactional(readOnly = true)
+    public TaskCursorPage getTasksByCursor(String cursor, int size, String sort, String status, String priority) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be greater than zero");
+        }
+
+        TaskCursor position = (cursor == null || cursor.isBlank()) ? null : TaskCursor.decode(cursor);
+        TaskSortField sortField;
+        Sort.Direction direction;
+        if (position != null) {
+            sortField = position.sortField();
+            direction = position.direction();
+        } else {
+            Sort.Order order = parseSort(sort).iterator().next();
+            sortField = TaskSortField.fromProperty(order.getProperty());
+            direction = order.getDirection();
+        }
+
+        TaskStatus taskStatus = parseStatus(status);
+        TaskPriority taskPriority = parsePriority(priority);
+        List<Task> tasks = taskRepository.findKeysetPage(
+                taskStatus,
+                taskPriority,
+                sortField,
+                direction,
+                position != null ? position.toPosition() : null,
+                size + 1
+        );
+
+        boolean hasNext = tasks.size() > size;
+        List<Task> pageTasks = hasNext ? tasks.subList(0, size) : tasks;
+        taskMetrics.recordCursorQuery(taskStatus, taskPriority, pageTasks.size());
+        String nextCursor = hasNext
+                ? TaskCursor.after(pageTasks.get(pageTasks.size() - 1), sortField, direction).encode()
+                : null;
+
+        return new TaskCursorPage(pageTasks.stream().map(taskMapper::toResponse).toList(), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskCursorPage searchTasks(String text, String cursor, int size, String status, String priority) {
+        if (text == null || text.isBlank()) {
+            throw new BadRequestException("Search query cannot be empty");
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be greater than zero");
+        }
+
+        TaskSearchCursor position = (cursor == null || cursor.isBlank()) ? null : TaskSearchCursor.decode(cursor);
+        List<TaskSearchHit> hits = taskRepository.search(
+                text,
+                parseStatus(status),
+                parsePriority(priority),
+                position != null ? position.toPosition() : null,
+                size + 1
+        );
+
+        boolean hasNext = hits.size() > size;
+        List<TaskSearchHit> pageHits = hasNext ? hits.subList(0, size) : hits;
+        String nextCursor = hasNext ? TaskSearchCursor.after(pageHits.get(pageHits.size() - 1)).encode() : null;
+
+        return new TaskCursorPage(pageHits.stream().map(hit -> taskMapper.toResponse(hit.task())).toList(), nextCursor);
+    }
+
+    // Not transactional so that cache hits never check out a connection; findById runs in its own read-only transaction.
+    // What it loads is shared through the cache until the TTL, so it is read from the primary, never a lagging replica
     public Optional<TaskResponse> getTaskById(Long id) {
-        return taskRepository.findById(id).map(taskMapper::toResponse);
+        return taskCache.get(id, key -> ReadYourWrites.onPrimary(
+                () -> taskRepository.findById(key).map(taskMapper::toResponse)));
+    }
+
+    // Cheap conditional-GET check: served from the cache or a (version, updated_at) lookup, never the full row
+    public Optional<String> getTaskETag(Long id) {
+        Optional<TaskResponse> cached = taskCache.peek(id);
+        if (cached.isPresent()) {
+            return Optional.ofNullable(TaskETag.of(cached.get()));
+        }
+        return taskRepository.findVersionById(id).map(version -> TaskETag.of(version.version(), version.updatedAt()));
     }
 
     @Transactional
-    public Optional<TaskResponse> patchTask(Long id, TaskUpdateRequest request) {
+    public Optional<TaskResponse> patchTask(Long id, TaskUpdateRequest request, String ifMatch) {
         return taskRepository.findById(id).map(task -> {
+            if (ifMatch != null && !TaskETag.matches(ifMatch, TaskETag.of(task.getVersion(), task.getUpdatedAt()))) {
+                throw new PreconditionFailedException("Task " + id + " has been modified since it was read");
+            }
+            TaskStatus oldStatus = task.getStatus();
+            TaskPriority oldPriority = task.getPriority();
             taskMapper.updateTaskFromRequest(request, task);
-            Task updated = taskRepository.save(task);
-            return taskMapper.toResponse(updated);
+            // Flush so the response (and its ETag) carries the incremented version and new updatedAt
+            Task updated = taskRepository.saveAndFlush(task);
+            TaskResponse response = taskMapper.toResponse(updated);
+            taskCache.putOnCommit(response);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(oldStatus, oldPriority, updated));
+            return response;
         });
     }
 
@@ -110,8 +183,52 @@ public class TaskService {
         Optional<Task> taskOpt = taskRepository.findById(id);
         if (taskOpt.isPresent()) {
             taskRepository.delete(taskOpt.get());
+            taskCache.evictOnCommit(id);
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(taskOpt.get()));
             return true;
         }
         return false;
     }
+
+    static Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by(Sort.Direction.ASC, "id");
+        }
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        Sort.Direction direction = parts.length > 1
+                ? parseDirection(parts[1].trim())
+                : Sort.Direction.ASC;
+        return Sort.by(direction, property);
+    }
+
+    private static Sort.Direction parseDirection(String direction) {
+        try {
+            return Sort.Direction.fromString(direction);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid sort direction: " + direction);
+        }
+    }
+
+    static TaskStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return TaskStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid status: " + status);
+        }
+    }
+
+    static TaskPriority parsePriority(String priority) {
+        if (priority == null || priority.isBlank()) {
+            return null;
+        }
+        try {
+            return TaskPriority.valueOf(priority.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid priority: " + priority);
+        }
+    }
 }
@@ -0,0 +1,227 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.config.ReadYourWrites;
+import com.xl33zy.task_tracker.dto.TaskStatsResponse;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.repository.TaskCountRow;
+import com.xl33zy.task_tracker.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Task counts for every status × priority cell, kept in memory.
+ * <p>
+ * Counters are seeded from a single {@code GROUP BY} when the application is ready, adjusted after each
+ * committed create/patch/delete (single, batch or import) on this or, via {@link TaskChangeBus}, another
+ * node, and periodically reconciled against the database to absorb anything the events do not cover, such as
+ * writes made outside the application.
+ * <p>
+ * A change must not be counted both by the reconcile query and by its event, and reconciliation must not hold
+ * up commits to guarantee that. Each cell has a change sequence, bumped after every change applied to it, and
+ * an in-flight count covering a local transaction from {@code BEFORE_COMMIT} until its events are applied and
+ * any other change while it is being applied. Reconciliation reads the sequences before the query and the
+ * sequences and in-flight counts after it, and corrects only the cells nothing touched in between; the others
+ * keep their counters until a later run. A remote change committed before the query but delivered after it is
+ * counted twice until the next run corrects its cell.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskStatsService {
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    // @Scheduled reads only milliseconds or ISO-8601, not the "5m" style used for durations in application.yml
+    private static final String RECONCILE_INTERVAL_MILLIS =
+            "#{T(org.springframework.boot.convert.DurationStyle).detectAndParse('${tasks.stats.reconcile-interval:5m}').toMillis()}";
+
+    private final TaskRepository taskRepository;
+    private final AtomicLongArray counts = new AtomicLongArray(STATUSES.length * PRIORITIES.length);
+    private final AtomicLongArray sequence = new AtomicLongArray(counts.length());
+    private final AtomicLongArray inFlight = new AtomicLongArray(counts.length());
+    private volatile LocalDateTime reconciledAt;
+
+    /**
+     * Marks the cells this transaction changes as in flight until its events are applied.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void markCommitting(TaskChangedEvent event) {
+        markCommitting(deltas(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void markCommitting(TaskBulkChangedEvent event) {
+        markCommitting(deltas(event));
+    }
+
+    private void markCommitting(long[] deltas) {
+        long[] committing = (long[]) TransactionSynchronizationManager.getResource(inFlight);
+        if (committing == null) {
+            long[] cells = new long[counts.length()];
+            TransactionSynchronizationManager.bindResource(inFlight, cells);
+            // Registered after the AFTER_COMMIT listeners of this transaction's events, so it completes after them
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(inFlight);
+                    for (int i = 0; i < cells.length; i++) {
+                        if (cells[i] != 0) {
+                            inFlight.addAndGet(i, -cells[i]);
+                        }
+                    }
+                }
+            });
+            committing = cells;
+        }
+        for (int i = 0; i < deltas.length; i++) {
+            if (deltas[i] != 0) {
+                committing[i]++;
+                inFlight.incrementAndGet(i);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        apply(deltas(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTasksChanged(TaskBulkChangedEvent event) {
+        apply(deltas(event));
+    }
+
+    public TaskStatsResponse getStats() {
+        if (reconciledAt == null) {
+            reconcile();
+        }
+
+        Map<TaskStatus, Map<TaskPriority, Long>> matrix = new EnumMap<>(TaskStatus.class);
+        long total = 0;
+        for (TaskStatus status : STATUSES) {
+            Map<TaskPriority, Long> row = new EnumMap<>(TaskPriority.class);
+            for (TaskPriority priority : PRIORITIES) {
+                long count = counts.get(index(status, priority));
+                row.put(priority, count);
+                total += count;
+            }
+            matrix.put(status, row);
+        }
+        return new TaskStatsResponse(total, matrix, reconciledAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (reconciledAt == null) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(fixedDelayString = RECONCILE_INTERVAL_MILLIS, initialDelayString = RECONCILE_INTERVAL_MILLIS)
+    public synchronized void reconcile() {
+        long[] sequenceBefore = snapshot(sequence);
+        long[] before = snapshot(counts);
+        long[] actual = new long[counts.length()];
+        // Counts from a lagging replica would undo the events applied since
+        for (TaskCountRow row : ReadYourWrites.onPrimary(taskRepository::countByStatusAndPriority)) {
+            actual[index(row.getStatus(), row.getPriority())] = row.getCount();
+        }
+        long[] sequenceAfter = snapshot(sequence);
+        long[] inFlightAfter = snapshot(inFlight);
+
+        long drift = 0;
+        int skipped = 0;
+        for (int i = 0; i < actual.length; i++) {
+            // The query may or may not have seen a change applied or committing meanwhile; the first run has no choice
+            if (reconciledAt != null && (sequenceAfter[i] != sequenceBefore[i] || inFlightAfter[i] != 0)) {
+                skipped++;
+                continue;
+            }
+            long correction = actual[i] - before[i];
+            if (correction != 0) {
+                // Relative, so a change applied after the check is kept
+                counts.addAndGet(i, correction);
+                drift += Math.abs(correction);
+            }
+        }
+        if (skipped != 0) {
+            log.debug("Task stats reconcile overlapped changes in {} cells, leaving them to the next run", skipped);
+        }
+        if (drift != 0 && reconciledAt != null) {
+            log.info("Task stats reconciled, corrected drift of {}", drift);
+        }
+        reconciledAt = LocalDateTime.now();
+    }
+
+    private void apply(long[] deltas) {
+        // Changes of a local transaction are in flight since BEFORE_COMMIT, anything else only while applied here
+        boolean committing = TransactionSynchronizationManager.hasResource(inFlight);
+        for (int i = 0; i < deltas.length; i++) {
+            if (deltas[i] == 0) {
+                continue;
+            }
+            if (!committing) {
+                inFlight.incrementAndGet(i);
+            }
+            counts.addAndGet(i, deltas[i]);
+            // Bumped after the count, as reconcile reads the sequence before the counts
+            sequence.incrementAndGet(i);
+            if (!committing) {
+                inFlight.decrementAndGet(i);
+            }
+        }
+    }
+
+    private static long[] deltas(TaskChangedEvent event) {
+        long[] deltas = new long[STATUSES.length * PRIORITIES.length];
+        switch (event.type()) {
+            case CREATED -> add(deltas, event.newStatus(), event.newPriority(), 1);
+            case DELETED -> add(deltas, event.oldStatus(), event.oldPriority(), -1);
+            case UPDATED -> {
+                if (event.statusOrPriorityChanged()) {
+                    add(deltas, event.oldStatus(), event.oldPriority(), -1);
+                    add(deltas, event.newStatus(), event.newPriority(), 1);
+                }
+            }
+        }
+        return deltas;
+    }
+
+    private static long[] deltas(TaskBulkChangedEvent event) {
+        long[] deltas = new long[STATUSES.length * PRIORITIES.length];
+        event.countDeltas().forEach((cell, delta) -> add(deltas, cell.status(), cell.priority(), delta));
+        return deltas;
+    }
+
+    private static long[] snapshot(AtomicLongArray array) {
+        long[] values = new long[array.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i);
+        }
+        return values;
+    }
+
+    private static void add(long[] deltas, TaskStatus status, TaskPriority priority, long delta) {
+        if (status != null && priority != null) {
+            deltas[index(status, priority)] += delta;
+        }
+    }
+
+    private static int index(TaskStatus status, TaskPriority priority) {
+        return status.ordinal() * PRIORITIES.length + priority.ordinal();
+    }
+}
@@ -0,0 +1,284 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.config.TaskCoalesceProperties;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.dto.TaskUpdateRequest;
+import com.xl33zy.task_tracker.exception.ServiceOverloadedException;
+import com.xl33zy.task_tracker.mapper.TaskMapper;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in write-behind for {@code PATCH /api/tasks/{id}} without {@code If-Match}.
+ * <p>
+ * Updates to a task that arrive before the next flush are merged field by field, later values winning. A flusher
+ * thread writes every pending task each {@code flush-interval}, or as soon as {@code max-pending} tasks wait, in
+ * one transaction with one batched UPDATE per task. Callers block until that transaction commits and all get the
+ * task as it was written, so an acknowledged update is durable and visible to reads. Commits follow the number of
+ * flushes and distinct tasks, not of requests, and the task history records one change per task and flush.
+ * A batch that fails is retried one task at a time, so a failing task only fails its own callers.
+ * <p>
+ * Callers wait at most {@code write-timeout} and then get a 503; their update stays pending and may still be
+ * written. If the flusher thread dies, pending updates are written at once and later ones are written directly.
+ */
+@Slf4j
+@Service
+public class TaskWriteCoalescer implements SmartLifecycle {
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final TaskCache taskCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskCoalesceProperties properties;
+    private final ConcurrentHashMap<Long, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition full = lock.newCondition();
+    private final Counter requests;
+    private final Counter flushes;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public TaskWriteCoalescer(TaskRepository taskRepository, TaskMapper taskMapper, TaskCache taskCache,
+                              ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                              TaskCoalesceProperties properties, MeterRegistry registry) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.taskCache = taskCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.requests = Counter.builder("tasks.coalesce.requests")
+                               .description("PATCH requests merged into pending task updates")
+                               .register(registry);
+        this.flushes = Counter.builder("tasks.coalesce.flushes")
+                              .description("Transactions that wrote pending task updates")
+                              .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Merges the update into the task's pending one and waits until it is committed.
+     *
+     * @return the task after the flush that wrote the update, or empty if it does not exist
+     */
+    public Optional<TaskResponse> patch(Long id, TaskUpdateRequest request) {
+        requests.increment();
+        PendingUpdate update = pending.compute(id, (key, current) -> {
+            if (current == null) {
+                current = new PendingUpdate(key);
+            }
+            current.merge(request);
+            return current;
+        });
+        if (!running) {
+            // Stopped, or stopping after its last flush: nobody else will write this update
+            flushPending();
+        } else if (pending.size() >= properties.maxPending()) {
+            lock.lock();
+            try {
+                full.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+        try {
+            return update.result.get(properties.writeTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ServiceOverloadedException("Update of task " + id + " was not written within "
+                    + properties.writeTimeout() + ", retry later", properties.flushInterval());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Interrupted while waiting for the update of task " + id + " to be written",
+                    properties.flushInterval());
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !properties.enabled()) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "task-write-coalescer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        lock.lock();
+        try {
+            full.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushPending();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Takes every pending update off the map and writes them in chunks of {@code max-pending}.
+     */
+    void flushPending() {
+        List<PendingUpdate> batch = new ArrayList<>();
+        for (Long id : pending.keySet()) {
+            // Removed inside the key's compute, so a concurrent patch either made it in or starts a new update
+            pending.computeIfPresent(id, (key, update) -> {
+                batch.add(update);
+                return null;
+            });
+        }
+        for (int start = 0; start < batch.size(); start += properties.maxPending()) {
+            write(batch.subList(start, Math.min(start + properties.maxPending(), batch.size())));
+        }
+    }
+
+    private void flushLoop() {
+        boolean interrupted = false;
+        while (running) {
+            lock.lock();
+            try {
+                if (pending.size() < properties.maxPending()) {
+                    full.awaitNanos(properties.flushInterval().toNanos());
+                }
+            } catch (InterruptedException e) {
+                // Nobody would flush later updates: patch() writes them itself once running is false.
+                // The interrupt is restored only after the last flush, so it cannot fail a connection checkout
+                log.warn("Task write coalescer interrupted, writing pending updates and coalescing no more");
+                running = false;
+                interrupted = true;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                flushPending();
+            } catch (RuntimeException e) {
+                log.error("Flushing coalesced task updates failed", e);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<PendingUpdate> batch) {
+        try {
+            Map<Long, Optional<TaskResponse>> written = transactionTemplate.execute(status -> apply(batch));
+            flushes.increment();
+            batch.forEach(update -> update.result.complete(written.get(update.id)));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            log.warn("Coalesced update of {} tasks failed, retrying them one by one: {}", batch.size(), e.getMessage());
+            for (PendingUpdate update : batch) {
+                write(List.of(update));
+            }
+        }
+    }
+
+    private Map<Long, Optional<TaskResponse>> apply(List<PendingUpdate> batch) {
+        Map<Long, Task> tasks = taskRepository.findAllById(batch.stream().map(update -> update.id).toList())
+                                              .stream()
+                                              .collect(Collectors.toMap(Task::getId, Function.identity()));
+        Map<Long, Optional<TaskResponse>> results = new HashMap<>();
+        List<Applied> applied = new ArrayList<>(tasks.size());
+        for (PendingUpdate update : batch) {
+            Task task = tasks.get(update.id);
+            if (task == null) {
+                results.put(update.id, Optional.empty());
+                continue;
+            }
+            applied.add(new Applied(task, task.getStatus(), task.getPriority()));
+            taskMapper.updateTaskFromRequest(update.request, task);
+        }
+        // One flush for the whole batch, so Hibernate sends the UPDATEs as a JDBC batch
+        taskRepository.flush();
+
+        for (Applied change : applied) {
+            TaskResponse response = taskMapper.toResponse(change.task());
+            taskCache.putOnCommit(response);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(change.oldStatus(), change.oldPriority(), change.task()));
+            results.put(change.task().getId(), Optional.of(response));
+        }
+        return results;
+    }
+
+    private record Applied(Task task, TaskStatus oldStatus, TaskPriority oldPriority) {
+    }
+
+    // Only changed inside the pending map's compute for its id, and only read once removed from the map
+    private static final class PendingUpdate {
+        private final Long id;
+        private final TaskUpdateRequest request = new TaskUpdateRequest();
+        private final CompletableFuture<Optional<TaskResponse>> result = new CompletableFuture<>();
+
+        PendingUpdate(Long id) {
+            this.id = id;
+        }
+
+        void merge(TaskUpdateRequest next) {
+            if (next.getTitle() != null) {
+                request.setTitle(next.getTitle());
+            }
+            if (next.getDescription() != null) {
+                request.setDescription(next.getDescription());
+            }
+            if (next.getStatus() != null) {
+                request.setStatus(next.getStatus());
+            }
+            if (next.getPriority() != null) {
+                request.setPriority(next.getPriority());
+            }
+        }
+    }
+}
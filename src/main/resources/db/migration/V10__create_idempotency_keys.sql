@@ -0,0 +1,15 @@
+-- Results of requests sent with an Idempotency-Key header, so retries are answered without repeating the write.
+-- A row is claimed as IN_PROGRESS before the write runs; locked_at lets another node take over a claim whose
+-- owner died. Rows past expires_at are deleted in batches by IdempotencyService.
+CREATE TABLE idempotency_keys (
+    scope           VARCHAR(64)  NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash    CHAR(64)     NOT NULL,
+    status          VARCHAR(16)  NOT NULL,
+    response        TEXT,
+    locked_at       TIMESTAMP    NOT NULL,
+    expires_at      TIMESTAMP    NOT NULL,
+    PRIMARY KEY (scope, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,2 @@
+-- sort=title, offset and keyset, with id as tiebreaker; created on every partition
+CREATE INDEX idx_tasks_title_id ON tasks (title, id);
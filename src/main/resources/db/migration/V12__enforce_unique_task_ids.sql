@@ -0,0 +1,29 @@
+-- The partitioned tasks table can only have a primary key that contains the partition key, (id, status, archived),
+-- so by itself it would accept the same id twice in different tiers. task_ids holds one row per task and its
+-- primary key rejects a duplicate id in any partition.
+-- A status change that moves a row to another partition is executed as a DELETE plus an INSERT, which fire the
+-- AFTER DELETE and AFTER INSERT triggers below in that order, so the id is released and claimed again.
+
+CREATE TABLE task_ids (
+    id BIGINT PRIMARY KEY
+);
+
+INSERT INTO task_ids (id)
+SELECT id FROM tasks;
+
+CREATE FUNCTION claim_task_id() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO task_ids (id) VALUES (NEW.id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION release_task_id() RETURNS trigger AS $$
+BEGIN
+    DELETE FROM task_ids WHERE id = OLD.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tasks_claim_id AFTER INSERT ON tasks FOR EACH ROW EXECUTE FUNCTION claim_task_id();
+CREATE TRIGGER tasks_release_id AFTER DELETE ON tasks FOR EACH ROW EXECUTE FUNCTION release_task_id();
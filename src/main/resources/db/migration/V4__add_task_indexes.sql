@@ -0,0 +1,12 @@
+-- Filter access paths used by findByStatus / findByPriority / findByStatusAndPriority (default sort by id)
+CREATE INDEX idx_tasks_status_id ON tasks (status, id);
+CREATE INDEX idx_tasks_priority_id ON tasks (priority, id);
+CREATE INDEX idx_tasks_status_priority_id ON tasks (status, priority, id);
+
+-- Common sort columns, with id as tiebreaker for keyset pagination
+CREATE INDEX idx_tasks_created_at_id ON tasks (created_at, id);
+CREATE INDEX idx_tasks_updated_at_id ON tasks (updated_at, id);
+
+-- Open (not DONE) tasks are the hot working set: keep their per-status recency lists small
+CREATE INDEX idx_tasks_open_status_created_at_id ON tasks (status, created_at, id) WHERE status <> 'DONE';
+CREATE INDEX idx_tasks_open_status_updated_at_id ON tasks (status, updated_at, id) WHERE status <> 'DONE';
@@ -0,0 +1,2 @@
+-- Hibernate's pooled optimizer reserves a block of ids per nextval call, which keeps insert batching enabled
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
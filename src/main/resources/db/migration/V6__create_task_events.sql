@@ -0,0 +1,15 @@
+-- Append-only history of task status/priority changes.
+-- No foreign key to tasks: history must survive task deletion, and the background writer
+-- should never take locks on task rows.
+CREATE TABLE task_events (
+    id           BIGSERIAL PRIMARY KEY,
+    task_id      BIGINT      NOT NULL,
+    type         VARCHAR(20) NOT NULL,
+    old_status   VARCHAR(20),
+    new_status   VARCHAR(20),
+    old_priority VARCHAR(20),
+    new_priority VARCHAR(20),
+    occurred_at  TIMESTAMP   NOT NULL
+);
+
+CREATE INDEX idx_task_events_task_id_id ON task_events (task_id, id);
@@ -0,0 +1,9 @@
+-- Full-text search over title (weight A) and description (weight B).
+-- 'simple' configuration: no stemming or stop words, so mixed-language titles tokenize predictably.
+ALTER TABLE tasks
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_tasks_search_vector ON tasks USING GIN (search_vector);
@@ -0,0 +1,2 @@
+-- Optimistic locking counter, also the basis of task ETags
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
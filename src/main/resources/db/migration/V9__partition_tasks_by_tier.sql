@@ -0,0 +1,53 @@
+-- Split tasks into tiers so list queries, sorts and indexes for open work never touch finished tasks:
+--   tasks_open      every status except DONE (NEW / IN_PROGRESS)
+--   tasks_done      DONE, not yet archived
+--   tasks_archive   DONE tasks moved here by TaskArchiver once they are old enough
+-- Queries on tasks are routed by partition pruning, so the application keeps using the single table name.
+-- A partitioned table's primary key must contain the partition key, hence (id, status, archived);
+-- ids stay unique because they all come from tasks_id_seq.
+
+ALTER TABLE tasks RENAME TO tasks_unpartitioned;
+ALTER SEQUENCE tasks_id_seq OWNED BY NONE;
+
+CREATE TABLE tasks (
+    id            BIGINT       NOT NULL DEFAULT nextval('tasks_id_seq'),
+    title         VARCHAR(255) NOT NULL,
+    description   TEXT,
+    status        VARCHAR(20)  NOT NULL DEFAULT 'TODO',
+    created_at    TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at    TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    priority      VARCHAR(10)  NOT NULL DEFAULT 'MEDIUM',
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED,
+    version       BIGINT       NOT NULL DEFAULT 0,
+    archived      BOOLEAN      NOT NULL DEFAULT FALSE
+) PARTITION BY LIST (status);
+
+-- Default partition, so any status other than DONE is open work
+CREATE TABLE tasks_open PARTITION OF tasks DEFAULT;
+CREATE TABLE tasks_done_all PARTITION OF tasks FOR VALUES IN ('DONE') PARTITION BY LIST (archived);
+CREATE TABLE tasks_done PARTITION OF tasks_done_all FOR VALUES IN (FALSE);
+CREATE TABLE tasks_archive PARTITION OF tasks_done_all FOR VALUES IN (TRUE);
+
+INSERT INTO tasks (id, title, description, status, created_at, updated_at, priority, version)
+SELECT id, title, description, status, created_at, updated_at, priority, version
+FROM tasks_unpartitioned;
+
+DROP TABLE tasks_unpartitioned;
+ALTER SEQUENCE tasks_id_seq OWNED BY tasks.id;
+
+ALTER TABLE tasks ADD PRIMARY KEY (id, status, archived);
+
+-- Same access paths as before, created on every partition; (updated_at, id) on tasks_done also serves the archiver
+CREATE INDEX idx_tasks_status_id ON tasks (status, id);
+CREATE INDEX idx_tasks_priority_id ON tasks (priority, id);
+CREATE INDEX idx_tasks_status_priority_id ON tasks (status, priority, id);
+CREATE INDEX idx_tasks_created_at_id ON tasks (created_at, id);
+CREATE INDEX idx_tasks_updated_at_id ON tasks (updated_at, id);
+CREATE INDEX idx_tasks_search_vector ON tasks USING GIN (search_vector);
+
+-- Per-status recency lists only matter for open work (previously partial indexes on status <> 'DONE')
+CREATE INDEX idx_tasks_open_status_created_at_id ON tasks_open (status, created_at, id);
+CREATE INDEX idx_tasks_open_status_updated_at_id ON tasks_open (status, updated_at, id);
@@ -0,0 +1,168 @@
+package com.xl33zy.task_tracker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.xl33zy.task_tracker.config.ReadYourWrites;
+import com.xl33zy.task_tracker.dto.TaskRequest;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.service.TaskService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the application against a primary and a streaming replica built from it with {@code pg_basebackup}, and
+ * checks which of them read-only transactions reach.
+ */
+@Testcontainers
+class ReadReplicaIntegrationTest {
+
+    private static final Duration CONVERGENCE_TIMEOUT = Duration.ofSeconds(10);
+    private static final Network NETWORK = Network.newNetwork();
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:14")
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withDatabaseName("tasktracker")
+            .withUsername("user")
+            .withPassword("password")
+            .withCopyToContainer(Transferable.of("echo 'host replication all all trust' >> \"$PGDATA/pg_hba.conf\""),
+                    "/docker-entrypoint-initdb.d/replication.sh");
+
+    @Container
+    static GenericContainer<?> replica = new GenericContainer<>("postgres:14")
+            .withNetwork(NETWORK)
+            .dependsOn(primary)
+            .withExposedPorts(PostgreSQLContainer.POSTGRESQL_PORT)
+            .withCommand("bash", "-c", """
+                    until gosu postgres pg_basebackup -h primary -U user -D /tmp/replica -R -X stream; do sleep 1; done
+                    chmod 700 /tmp/replica
+                    exec gosu postgres postgres -D /tmp/replica
+                    """)
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1));
+
+    private static ConfigurableApplicationContext node;
+
+    @BeforeAll
+    static void startNode() {
+        node = new SpringApplicationBuilder(TaskTrackerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + primary.getJdbcUrl(),
+                        "spring.datasource.username=" + primary.getUsername(),
+                        "spring.datasource.password=" + primary.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "tasks.read-replicas.enabled=true",
+                        "tasks.read-replicas.urls[0]=" + replicaUrl(),
+                        "tasks.read-replicas.max-lag=1s",
+                        "tasks.read-replicas.lag-check-interval=100ms"
+                )
+                .run();
+    }
+
+    @AfterAll
+    static void stopNode() {
+        if (node != null) {
+            node.close();
+        }
+    }
+
+    @Test
+    void readOnlyTransactions_runOnTheReplica_andWritesOnThePrimary() {
+        awaitTrue(() -> onReplica(true));
+
+        assertThat(onReplica(false)).isFalse();
+        assertThat(ReadYourWrites.onPrimary(() -> onReplica(true))).isFalse();
+    }
+
+    @Test
+    void replicaThatStopsReplaying_isTakenOutOfUse_untilItCatchesUp() {
+        JdbcTemplate replicaAdmin = new JdbcTemplate(new DriverManagerDataSource(replicaUrl(), "user", "password"));
+        TaskService taskService = node.getBean(TaskService.class);
+        awaitTrue(() -> onReplica(true));
+
+        replicaAdmin.execute("SELECT pg_wal_replay_pause()");
+        try {
+            TaskResponse created = taskService.createTask(TaskRequest.builder().title("Written while paused").build());
+
+            awaitTrue(() -> !onReplica(true));
+            assertThat(taskService.getAllTasks(0, 1000, null, null, null, null))
+                    .extracting(TaskResponse::getId)
+                    .contains(created.getId());
+        } finally {
+            replicaAdmin.execute("SELECT pg_wal_replay_resume()");
+        }
+        awaitTrue(() -> onReplica(true));
+    }
+
+    @Test
+    void writeResponse_carriesAToken_thatKeepsTheClientsReadsOnThePrimary() {
+        RestClient client = RestClient.create("http://localhost:" + node.getEnvironment().getProperty("local.server.port"));
+
+        ResponseEntity<JsonNode> created = client.post()
+                                                 .uri("/api/tasks")
+                                                 .contentType(MediaType.APPLICATION_JSON)
+                                                 .body(Map.of("title", "Read my write"))
+                                                 .retrieve()
+                                                 .toEntity(JsonNode.class);
+        String token = created.getHeaders().getFirst(ReadYourWrites.HEADER);
+        assertThat(token).isNotBlank();
+
+        ResponseEntity<JsonNode> listed = client.get()
+                                                .uri("/api/tasks?size=1000")
+                                                .header(ReadYourWrites.HEADER, token)
+                                                .retrieve()
+                                                .toEntity(JsonNode.class);
+        assertThat(listed.getHeaders().containsKey(ReadYourWrites.HEADER)).isFalse();
+        assertThat(listed.getBody().path("data").findValuesAsText("id"))
+                .contains(created.getBody().path("data").path("id").asText());
+    }
+
+    // Whether a transaction of the application runs on the replica
+    private static boolean onReplica(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(node.getBean(PlatformTransactionManager.class));
+        transaction.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = node.getBean(JdbcTemplate.class);
+        return Boolean.TRUE.equals(transaction.execute(status -> jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)));
+    }
+
+    private static String replicaUrl() {
+        return "jdbc:postgresql://" + replica.getHost() + ":" + replica.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT)
+                + "/tasktracker";
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + CONVERGENCE_TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("converged within %s", CONVERGENCE_TIMEOUT).isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
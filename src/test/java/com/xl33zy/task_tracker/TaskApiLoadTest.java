@@ -0,0 +1,199 @@
+package com.xl33zy.task_tracker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.rekawek.toxiproxy.Proxy;
+import eu.rekawek.toxiproxy.ToxiproxyClient;
+import eu.rekawek.toxiproxy.model.ToxicDirection;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.ToxiproxyContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares platform-thread and virtual-thread request execution under database latency.
+ * Run with {@code mvn -Pjava21,load-test test}; on a JVM older than 21 only the platform-thread mode is measured.
+ */
+@Slf4j
+@Tag("load")
+@Testcontainers
+class TaskApiLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 400);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.seconds", 20));
+    private static final int DB_LATENCY_MILLIS = Integer.getInteger("loadtest.dbLatencyMillis", 20);
+    private static final int HOT_TASKS = 1000;
+
+    static Network network = Network.newNetwork();
+
+    @Container
+    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("tasktracker")
+            .withUsername("user")
+            .withPassword("password")
+            .withNetwork(network)
+            .withNetworkAliases("postgres");
+
+    @Container
+    static ToxiproxyContainer toxiproxy = new ToxiproxyContainer("ghcr.io/shopify/toxiproxy:2.5.0")
+            .withNetwork(network);
+
+    private static String jdbcUrl;
+
+    @BeforeAll
+    static void setUpLatency() throws Exception {
+        ToxiproxyClient client = new ToxiproxyClient(toxiproxy.getHost(), toxiproxy.getControlPort());
+        Proxy proxy = client.createProxy("postgres", "0.0.0.0:8666", "postgres:5432");
+        proxy.toxics().latency("db-latency", ToxicDirection.DOWNSTREAM, DB_LATENCY_MILLIS);
+        jdbcUrl = "jdbc:postgresql://" + toxiproxy.getHost() + ":" + toxiproxy.getMappedPort(8666)
+                + "/" + postgresContainer.getDatabaseName();
+    }
+
+    @Test
+    void compareVirtualAndPlatformThreads() throws Exception {
+        LoadResult platform = run(false);
+        log.info("platform threads: {}", platform);
+
+        if (Runtime.version().feature() < 21) {
+            log.warn("Virtual threads need Java 21, skipping the virtual-thread run");
+            assertThat(platform.requests()).isPositive();
+            return;
+        }
+
+        LoadResult virtual = run(true);
+        log.info("virtual threads:  {}", virtual);
+        log.info("throughput x{}, p99 {} ms -> {} ms",
+                String.format("%.2f", virtual.throughput() / platform.throughput()),
+                platform.p99Millis(), virtual.p99Millis());
+        assertThat(platform.requests()).isPositive();
+        assertThat(virtual.requests()).isPositive();
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskTrackerApplication.class)
+                .profiles(virtualThreads ? "virtual-threads" : "default")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + jdbcUrl,
+                        "spring.datasource.username=" + postgresContainer.getUsername(),
+                        "spring.datasource.password=" + postgresContainer.getPassword(),
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "spring.jpa.show-sql=false",
+                        "server.tomcat.threads.max=100"
+                )
+                .run()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            long[] hotIds = seed(client, baseUrl);
+
+            drive(client, baseUrl, hotIds, WARMUP);
+            return drive(client, baseUrl, hotIds, DURATION);
+        }
+    }
+
+    private long[] seed(HttpClient client, String baseUrl) throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < HOT_TASKS; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"title\":\"Load task ").append(i).append("\"}");
+        }
+        body.append(']');
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/batch"))
+                           .header("Content-Type", "application/json")
+                           .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                           .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        JsonNode results = new ObjectMapper().readTree(response.body()).path("data");
+        long[] ids = new long[results.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = results.get(i).path("id").asLong();
+        }
+        return ids;
+    }
+
+    // Closed-loop clients: 80% hot single-task reads (mostly cache hits), 20% list reads that always hit the database
+    private LoadResult drive(HttpClient client, String baseUrl, long[] hotIds, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        String path = random.nextInt(100) < 80
+                                ? "/api/tasks/" + hotIds[random.nextInt(hotIds.length)]
+                                : "/api/tasks?size=20&sort=updatedAt,desc";
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(
+                                HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        long elapsed = System.nanoTime() - start;
+                        latencies.add(response.statusCode() < 500 ? elapsed : -elapsed);
+                    }
+                    return latencies;
+                }));
+            }
+
+            List<Long> all = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                all.addAll(future.get());
+            }
+            return LoadResult.of(all, duration);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    record LoadResult(long requests, long errors, double throughput, double p50Millis, double p99Millis) {
+
+        static LoadResult of(List<Long> latencies, Duration duration) {
+            long errors = latencies.stream().filter(latency -> latency < 0).count();
+            long[] sorted = latencies.stream().mapToLong(Math::abs).sorted().toArray();
+            return new LoadResult(
+                    sorted.length,
+                    errors,
+                    sorted.length / (double) duration.toSeconds(),
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.99)
+            );
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests (%d errors), %.0f req/s, p50 %.1f ms, p99 %.1f ms",
+                    requests, errors, throughput, p50Millis, p99Millis);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.xl33zy.task_tracker;
+
+import com.xl33zy.task_tracker.dto.TaskRequest;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.dto.TaskUpdateRequest;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.service.TaskService;
+import com.xl33zy.task_tracker.service.TaskStatsService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two application instances against one database and checks that each converges on the other's writes
+ * through the LISTEN/NOTIFY bus rather than waiting for cache expiry or stats reconciliation.
+ */
+@Testcontainers
+class TaskChangeBusIntegrationTest {
+
+    private static final Duration CONVERGENCE_TIMEOUT = Duration.ofSeconds(10);
+
+    @Container
+    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("tasktracker")
+            .withUsername("user")
+            .withPassword("password");
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void patchOnOneNode_invalidatesCachedTaskOnTheOther() {
+        TaskService serviceA = nodeA.getBean(TaskService.class);
+        TaskService serviceB = nodeB.getBean(TaskService.class);
+
+        TaskResponse created = serviceA.createTask(TaskRequest.builder().title("Shared task").build());
+        Long id = created.getId();
+        // Warm node B's cache so a stale read would be served from memory
+        assertThat(serviceB.getTaskById(id)).map(TaskResponse::getStatus).contains(TaskStatus.NEW);
+
+        TaskUpdateRequest done = new TaskUpdateRequest();
+        done.setStatus(TaskStatus.DONE);
+        serviceA.patchTask(id, done, null);
+
+        awaitTrue(() -> serviceB.getTaskById(id).map(TaskResponse::getStatus).orElse(null) == TaskStatus.DONE);
+
+        serviceB.deleteTask(id);
+        awaitTrue(() -> serviceA.getTaskById(id).isEmpty());
+    }
+
+    @Test
+    void burstOfCreates_convergesStatsOnTheOtherNode() {
+        TaskService serviceA = nodeA.getBean(TaskService.class);
+        TaskStatsService statsA = nodeA.getBean(TaskStatsService.class);
+        TaskStatsService statsB = nodeB.getBean(TaskStatsService.class);
+
+        for (int i = 0; i < 200; i++) {
+            serviceA.createTask(TaskRequest.builder().title("Burst " + i).priority(TaskPriority.HIGH).build());
+        }
+
+        awaitTrue(() -> statsB.getStats().getTotal() == statsA.getStats().getTotal());
+        assertThat(statsB.getStats().getCounts()).isEqualTo(statsA.getStats().getCounts());
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(TaskTrackerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgresContainer.getJdbcUrl(),
+                        "spring.datasource.username=" + postgresContainer.getUsername(),
+                        "spring.datasource.password=" + postgresContainer.getPassword(),
+                        "spring.jpa.show-sql=false",
+                        // Only the bus may propagate changes within the test
+                        "tasks.stats.reconcile-interval=1h"
+                )
+                .run();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + CONVERGENCE_TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("converged within %s", CONVERGENCE_TIMEOUT).isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
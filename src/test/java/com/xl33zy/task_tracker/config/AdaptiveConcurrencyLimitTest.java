@@ -0,0 +1,79 @@
+package com.xl33zy.task_tracker.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+    private static final long MILLIS = 1_000_000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read",
+            new ConcurrencyLimitProperties(true, 20, 4, 200, 1.5, 0.2, 0.9, Duration.ofSeconds(1)), registry);
+
+    @Test
+    void requestsOverTheLimit_areRejected_untilOneCompletes() {
+        AdaptiveConcurrencyLimit.Permit first = null;
+        for (int i = 0; i < 20; i++) {
+            AdaptiveConcurrencyLimit.Permit permit = limit.tryAcquire();
+            assertThat(permit).isNotNull();
+            first = first == null ? permit : first;
+        }
+
+        assertThat(limit.tryAcquire()).isNull();
+        first.release(false);
+        assertThat(limit.tryAcquire()).isNotNull();
+        assertThat(registry.counter("tasks.concurrency.rejected", "kind", "read").count()).isEqualTo(1);
+    }
+
+    @Test
+    void steadyLatencyAtFullUse_growsTheLimit() {
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit());
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(50);
+    }
+
+    @Test
+    void risingLatency_shrinksTheLimit_andItRecoversOnceLatencyDrops() {
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit());
+        }
+        int healthy = limit.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(100 * MILLIS, limit.getLimit());
+        }
+        int degraded = limit.getLimit();
+        assertThat(degraded).isLessThan(healthy / 2);
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit());
+        }
+        assertThat(limit.getLimit()).isGreaterThan(degraded * 2);
+    }
+
+    @Test
+    void lightLoad_leavesTheLimitAlone() {
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLIS, 2);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void overload_backsOff_downToTheMinimum() {
+        limit.onOverload();
+        assertThat(limit.getLimit()).isEqualTo(18);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onOverload();
+        }
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,85 @@
+package com.xl33zy.task_tracker.config;
+
+import com.xl33zy.task_tracker.controller.TaskController;
+import com.xl33zy.task_tracker.exception.GlobalExceptionHandler;
+import com.xl33zy.task_tracker.service.IdempotencyService;
+import com.xl33zy.task_tracker.service.TaskService;
+import com.xl33zy.task_tracker.service.TaskWriteCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private final TaskService taskService = mock(TaskService.class);
+    private ConcurrencyLimitInterceptor interceptor;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new ConcurrencyLimitInterceptor(
+                new ConcurrencyLimitProperties(true, 1, 1, 10, 1.5, 0.2, 0.9, Duration.ofMillis(1500)),
+                new SimpleMeterRegistry());
+        TaskController controller = new TaskController(taskService, mock(IdempotencyService.class),
+                mock(TaskWriteCoalescer.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                                 .addInterceptors(interceptor)
+                                 .setControllerAdvice(new GlobalExceptionHandler())
+                                 .build();
+    }
+
+    @Test
+    void readOverTheLimit_failsFastWith503AndRetryAfter_whileWritesHaveTheirOwnLimit() throws Exception {
+        AdaptiveConcurrencyLimit.Permit held = interceptor.limit(true).tryAcquire();
+
+        mockMvc.perform(get("/api/tasks"))
+               .andExpect(status().isServiceUnavailable())
+               .andExpect(header().string("Retry-After", "2"))
+               .andExpect(jsonPath("$.status").value(503));
+        mockMvc.perform(delete("/api/tasks/1"))
+               .andExpect(status().isNotFound());
+
+        held.release(false);
+        mockMvc.perform(get("/api/tasks"))
+               .andExpect(status().isOk());
+        assertThat(interceptor.limit(true).getInflight()).isZero();
+        assertThat(interceptor.limit(false).getInflight()).isZero();
+    }
+
+    @Test
+    void serverErrorUnrelatedToLoad_isAnOrdinarySample_whileTimeoutsCutTheLimit() throws Exception {
+        AdaptiveConcurrencyLimit reads = interceptor.limit(true);
+        while (reads.getLimit() < 8) {
+            reads.onSample(1_000_000, reads.getLimit());
+        }
+        int raised = reads.getLimit();
+        when(taskService.getTaskById(1L)).thenThrow(new IllegalStateException("mapping bug"));
+        when(taskService.getTaskById(2L)).thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+        when(taskService.getTaskById(3L)).thenThrow(
+                new CannotGetJdbcConnectionException("pool exhausted", new SQLTransientConnectionException("timed out")));
+
+        mockMvc.perform(get("/api/tasks/1")).andExpect(status().isInternalServerError());
+        assertThat(reads.getLimit()).isEqualTo(raised);
+
+        mockMvc.perform(get("/api/tasks/2")).andExpect(status().isInternalServerError());
+        int afterQueryTimeout = reads.getLimit();
+        assertThat(afterQueryTimeout).isLessThan(raised);
+
+        mockMvc.perform(get("/api/tasks/3")).andExpect(status().isInternalServerError());
+        assertThat(reads.getLimit()).isLessThan(afterQueryTimeout);
+    }
+}
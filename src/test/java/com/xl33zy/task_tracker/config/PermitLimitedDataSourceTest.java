@@ -0,0 +1,53 @@
+package com.xl33zy.task_tracker.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class PermitLimitedDataSourceTest {
+
+    private DataSource target;
+    private PermitLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new PermitLimitedDataSource(target, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    void getConnection_overLimit_timesOut() throws SQLException {
+        dataSource.getConnection();
+
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void close_releasesPermitOnlyOnce() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_targetFailure_releasesPermit() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("database down"));
+
+        assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("database down");
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+}
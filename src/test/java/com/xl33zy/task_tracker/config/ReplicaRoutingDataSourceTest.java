@@ -0,0 +1,124 @@
+package com.xl33zy.task_tracker.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = dataSource("primary", true, 0);
+    private ReplicaRoutingDataSource routing;
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+    }
+
+    @Test
+    void readOnlyTransactions_goToReplicasInTurn_andWritesToThePrimary() throws SQLException {
+        routing = routing(Map.of("a", dataSource("a", true, 0)), Map.of("b", dataSource("b", true, 0)));
+
+        assertThat(target(true)).hasToString("a");
+        assertThat(target(true)).hasToString("b");
+        assertThat(target(true)).hasToString("a");
+        assertThat(target(false)).hasToString("primary");
+    }
+
+    @Test
+    void replicaBehindMaxLag_isSkipped_untilItCatchesUp() throws SQLException {
+        DataSource lagging = dataSource("lagging", false, 5.0);
+        routing = routing(Map.of("lagging", lagging));
+
+        Connection fallback = target(true);
+        assertThat(fallback).hasToString("primary");
+        verify(fallback).setReadOnly(true);
+
+        ResultSet caughtUp = mock(ResultSet.class);
+        when(caughtUp.next()).thenReturn(true);
+        when(caughtUp.getBoolean(1)).thenReturn(true);
+        when(caughtUp.getBoolean(2)).thenReturn(true);
+        Connection probe = mock(Connection.class, "lagging");
+        Statement statement = mock(Statement.class);
+        when(probe.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(caughtUp);
+        when(lagging.getConnection()).thenReturn(probe);
+        routing.checkLag();
+
+        assertThat(target(true)).hasToString("lagging");
+    }
+
+    @Test
+    void unreachableReplica_fallsBackToThePrimary() throws SQLException {
+        DataSource broken = mock(DataSource.class);
+        when(broken.getConnection()).thenThrow(new SQLException("Connection refused"));
+        routing = routing(Map.of("broken", broken));
+
+        assertThat(target(true)).hasToString("primary");
+    }
+
+    @Test
+    void readsRequiringThePrimary_skipReplicas() {
+        routing = routing(Map.of("a", dataSource("a", true, 0)));
+
+        Connection target = ReadYourWrites.onPrimary(() -> {
+            try {
+                return target(true);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(target).hasToString("primary");
+        assertThat(ReadYourWrites.isPrimaryRequired()).isFalse();
+    }
+
+    @SafeVarargs
+    private ReplicaRoutingDataSource routing(Map<String, DataSource>... replicas) {
+        Map<String, DataSource> ordered = new LinkedHashMap<>();
+        for (Map<String, DataSource> replica : replicas) {
+            ordered.putAll(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, ordered, Duration.ofSeconds(1), Duration.ofHours(1));
+    }
+
+    // The connection a transaction gets once it runs its first statement
+    private Connection target(boolean readOnly) throws SQLException {
+        Connection connection = routing.getConnection();
+        connection.setReadOnly(readOnly);
+        return ((ConnectionProxy) connection).getTargetConnection();
+    }
+
+    private static DataSource dataSource(String name, boolean caughtUp, double lagSeconds) {
+        DataSource dataSource = mock(DataSource.class);
+        try {
+            when(dataSource.getConnection()).thenAnswer(invocation -> {
+                ResultSet lag = mock(ResultSet.class);
+                when(lag.next()).thenReturn(true);
+                when(lag.getBoolean(1)).thenReturn(true);
+                when(lag.getBoolean(2)).thenReturn(caughtUp);
+                when(lag.getDouble(3)).thenReturn(lagSeconds);
+                Statement statement = mock(Statement.class);
+                when(statement.executeQuery(anyString())).thenReturn(lag);
+                Connection connection = mock(Connection.class, name);
+                when(connection.createStatement()).thenReturn(statement);
+                return connection;
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return dataSource;
+    }
+}
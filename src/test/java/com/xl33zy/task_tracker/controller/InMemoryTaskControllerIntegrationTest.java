@@ -0,0 +1,8 @@
+package com.xl33zy.task_tracker.controller;
+
+import com.xl33zy.task_tracker.repository.InMemoryTaskRepository;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles(InMemoryTaskRepository.PROFILE)
+public class InMemoryTaskControllerIntegrationTest extends TaskControllerScenarios {
+}
@@ -0,0 +1,374 @@
+package com.xl33zy.task_tracker.controller;
+
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * API scenarios shared by every storage backend; subclasses only choose where the tasks are stored.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+abstract class TaskControllerScenarios {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Task task1;
+    private Task task2;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+
+        task1 = Task.builder()
+                    .title("Task 1")
+                    .description("Desc 1")
+                    .status(TaskStatus.NEW)
+                    .priority(TaskPriority.MEDIUM)
+                    .build();
+
+        task2 = Task.builder()
+                    .title("Task 2")
+                    .description("Desc 2")
+                    .status(TaskStatus.IN_PROGRESS)
+                    .priority(TaskPriority.HIGH)
+                    .build();
+
+        taskRepository.save(task1);
+        taskRepository.save(task2);
+    }
+
+    // ---------------- GET /api/tasks ----------------
+    @Test
+    void getAllTasks_noParams_returnsDefaultPagination() throws Exception {
+        mockMvc.perform(get("/api/tasks"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data", hasSize(2)));
+    }
+
+    @Test
+    void getAllTasks_withPagination_returnsCorrectPage() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                       .param("page", "0")
+                       .param("size", "1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data", hasSize(1)));
+    }
+
+    @Test
+    void getAllTasks_withSort_returnsSortedTasks() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                       .param("sort", "title,desc"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data[0].title", is("Task 2")));
+    }
+
+    @Test
+    void getAllTasks_withCursor_pagesThroughAllTasks() throws Exception {
+        String body = mockMvc.perform(get("/api/tasks")
+                                     .param("cursor", "")
+                                     .param("size", "1"))
+                             .andExpect(status().isOk())
+                             .andExpect(jsonPath("$.data.items", hasSize(1)))
+                             .andExpect(jsonPath("$.data.items[0].title", is("Task 1")))
+                             .andReturn().getResponse().getContentAsString();
+        String nextCursor = objectMapper.readTree(body).path("data").path("nextCursor").asText();
+
+        mockMvc.perform(get("/api/tasks")
+                       .param("cursor", nextCursor)
+                       .param("size", "1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data.items[0].title", is("Task 2")))
+               .andExpect(jsonPath("$.data.nextCursor").isEmpty());
+    }
+
+    @Test
+    void getAllTasks_withFields_returnsOnlyRequestedAttributes() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                       .param("fields", "title,status")
+                       .param("status", "IN_PROGRESS"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data", hasSize(1)))
+               .andExpect(jsonPath("$.data[0].id").value(task2.getId()))
+               .andExpect(jsonPath("$.data[0].title", is("Task 2")))
+               .andExpect(jsonPath("$.data[0].status", is("IN_PROGRESS")))
+               .andExpect(jsonPath("$.data[0].description").isEmpty())
+               .andExpect(jsonPath("$.data[0].priority").isEmpty());
+    }
+
+    @Test
+    void getAllTasks_withInvalidCursorOrSortDirection_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("cursor", "not-a-cursor"))
+               .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks").param("sort", "title,sideways"))
+               .andExpect(status().isBadRequest());
+        String badValue = Base64.getUrlEncoder().withoutPadding()
+                                .encodeToString("createdAt|ASC|1|yesterday".getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(get("/api/tasks").param("cursor", badValue))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void invalidStatusOrPriorityFilter_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("status", "bogus"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.message", is("Invalid status: bogus")));
+        mockMvc.perform(get("/api/tasks").param("priority", "bogus"))
+               .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/search").param("q", "task").param("status", "bogus"))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllTasks_withUnknownField_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("fields", "title,secret"))
+               .andExpect(status().isBadRequest());
+    }
+
+    // ---------------- GET /api/tasks/search ----------------
+    @Test
+    void searchTasks_matchesTitleAndDescription_withFilters() throws Exception {
+        mockMvc.perform(get("/api/tasks/search")
+                       .param("q", "desc"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data.items", hasSize(2)));
+
+        mockMvc.perform(get("/api/tasks/search")
+                       .param("q", "desc")
+                       .param("status", "IN_PROGRESS"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data.items", hasSize(1)))
+               .andExpect(jsonPath("$.data.items[0].title", is("Task 2")));
+    }
+
+    @Test
+    void searchTasks_pagesByCursor() throws Exception {
+        String body = mockMvc.perform(get("/api/tasks/search")
+                                     .param("q", "task")
+                                     .param("size", "1"))
+                             .andExpect(status().isOk())
+                             .andExpect(jsonPath("$.data.items", hasSize(1)))
+                             .andReturn().getResponse().getContentAsString();
+        String nextCursor = objectMapper.readTree(body).path("data").path("nextCursor").asText();
+
+        mockMvc.perform(get("/api/tasks/search")
+                       .param("q", "task")
+                       .param("cursor", nextCursor)
+                       .param("size", "1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data.items", hasSize(1)))
+               .andExpect(jsonPath("$.data.nextCursor").isEmpty());
+    }
+
+    @Test
+    void searchTasks_emptyQuery_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks/search"))
+               .andExpect(status().isBadRequest());
+    }
+
+    // ---------------- GET /api/tasks/{id} ----------------
+    @Test
+    void getTaskById_existing_returnsTask() throws Exception {
+        mockMvc.perform(get("/api/tasks/{id}", task1.getId()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data.title", is(task1.getTitle())));
+    }
+
+    @Test
+    void getTaskById_nonExisting_returnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/tasks/{id}", 999))
+               .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getTaskById_matchingIfNoneMatch_returnsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks/{id}", task1.getId()))
+                             .andExpect(status().isOk())
+                             .andExpect(header().exists("ETag"))
+                             .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks/{id}", task1.getId()).header("If-None-Match", etag))
+               .andExpect(status().isNotModified())
+               .andExpect(content().string(""));
+    }
+
+    @Test
+    void getAllTasks_matchingIfNoneMatch_returnsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks"))
+                             .andExpect(status().isOk())
+                             .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+               .andExpect(status().isNotModified());
+    }
+
+    // ---------------- POST /api/tasks ----------------
+    @Test
+    void createTask_validRequest_createsTask() throws Exception {
+        Task newTask = Task.builder()
+                           .title("New Task")
+                           .description("New Desc")
+                           .status(TaskStatus.NEW)
+                           .priority(TaskPriority.LOW)
+                           .build();
+
+        mockMvc.perform(post("/api/tasks")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(objectMapper.writeValueAsString(newTask)))
+               .andExpect(status().isCreated())
+               .andExpect(jsonPath("$.data.title", is("New Task")));
+    }
+
+    @Test
+    void createTask_retriedWithIdempotencyKey_createsOnlyOneTask() throws Exception {
+        String body = "{\"title\":\"Retried Task\",\"priority\":\"LOW\"}";
+
+        String first = mockMvc.perform(post("/api/tasks")
+                                      .header("Idempotency-Key", "create-retried-task")
+                                      .contentType(MediaType.APPLICATION_JSON)
+                                      .content(body))
+                              .andExpect(status().isCreated())
+                              .andReturn().getResponse().getHeader("ETag");
+        Long id = taskRepository.findAll().stream()
+                                .filter(task -> task.getTitle().equals("Retried Task"))
+                                .findFirst().orElseThrow().getId();
+
+        mockMvc.perform(post("/api/tasks")
+                       .header("Idempotency-Key", "create-retried-task")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(body))
+               .andExpect(status().isCreated())
+               .andExpect(header().string("ETag", first))
+               .andExpect(jsonPath("$.data.id", is(id.intValue())));
+        mockMvc.perform(post("/api/tasks")
+                       .header("Idempotency-Key", "create-retried-task")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"title\":\"Different Task\"}"))
+               .andExpect(status().isUnprocessableEntity());
+
+        assertThat(taskRepository.count()).isEqualTo(3);
+    }
+
+    // ---------------- PATCH /api/tasks/{id} ----------------
+    @Test
+    void patchTask_existing_updatesTask() throws Exception {
+        task1.setTitle("Updated Title");
+
+        mockMvc.perform(patch("/api/tasks/{id}", task1.getId())
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(objectMapper.writeValueAsString(task1)))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data.title", is("Updated Title")));
+    }
+
+    @Test
+    void patchTask_nonExisting_returnsNotFound() throws Exception {
+        task1.setTitle("Updated Title");
+
+        mockMvc.perform(patch("/api/tasks/{id}", 999)
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(objectMapper.writeValueAsString(task1)))
+               .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patchTask_staleIfMatch_returnsPreconditionFailed() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks/{id}", task1.getId()))
+                             .andReturn().getResponse().getHeader("ETag");
+
+        String newEtag = mockMvc.perform(patch("/api/tasks/{id}", task1.getId())
+                                        .header("If-Match", etag)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content("{\"status\": \"DONE\"}"))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getHeader("ETag");
+        assertThat(newEtag).isNotEqualTo(etag);
+
+        mockMvc.perform(patch("/api/tasks/{id}", task1.getId())
+                       .header("If-Match", etag)
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"priority\": \"LOW\"}"))
+               .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void patchTask_withETagFromCreate_updatesTask() throws Exception {
+        String etag = mockMvc.perform(post("/api/tasks")
+                                     .contentType(MediaType.APPLICATION_JSON)
+                                     .content("{\"title\":\"Created Task\"}"))
+                             .andExpect(status().isCreated())
+                             .andReturn().getResponse().getHeader("ETag");
+        Long id = taskRepository.findAll().stream()
+                                .filter(task -> task.getTitle().equals("Created Task"))
+                                .findFirst().orElseThrow().getId();
+
+        mockMvc.perform(get("/api/tasks/{id}", id))
+               .andExpect(header().string("ETag", etag));
+        mockMvc.perform(patch("/api/tasks/{id}", id)
+                       .header("If-Match", etag)
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"status\": \"IN_PROGRESS\"}"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data.status", is("IN_PROGRESS")));
+    }
+
+    @Test
+    void patchTask_withETagFromPreviousPatch_updatesTask() throws Exception {
+        String etag = mockMvc.perform(patch("/api/tasks/{id}", task1.getId())
+                                     .contentType(MediaType.APPLICATION_JSON)
+                                     .content("{\"status\": \"IN_PROGRESS\"}"))
+                             .andExpect(status().isOk())
+                             .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks/{id}", task1.getId()))
+               .andExpect(header().string("ETag", etag));
+        mockMvc.perform(patch("/api/tasks/{id}", task1.getId())
+                       .header("If-Match", etag)
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"status\": \"DONE\"}"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data.status", is("DONE")));
+    }
+
+    // ---------------- DELETE /api/tasks/{id} ----------------
+    @Test
+    void deleteTask_existing_deletesTask() throws Exception {
+        mockMvc.perform(delete("/api/tasks/{id}", task1.getId()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.message").value("Task deleted successfully"))
+               .andExpect(jsonPath("$.data").isEmpty());
+    }
+
+    @Test
+    void deleteTask_nonExisting_returnsNotFound() throws Exception {
+        mockMvc.perform(delete("/api/tasks/{id}", 999))
+               .andExpect(status().isNotFound())
+               .andExpect(jsonPath("$.message").value(org.hamcrest.Matchers.containsString("Task not found")))
+               .andExpect(jsonPath("$.data").isEmpty());
+    }
+}
@@ -0,0 +1,90 @@
+package com.xl33zy.task_tracker.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiJsonModuleTest {
+
+    // Same defaults Spring Boot applies to the MVC ObjectMapper, with and without the hand-written serializers
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+                                                                      .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                                                                      .build();
+    private final ObjectMapper prebuilt = Jackson2ObjectMapperBuilder.json()
+                                                                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                                                                    .modulesToInstall(new ApiJsonModule())
+                                                                    .build();
+
+    @Test
+    void taskPage_serializesExactlyLikeBeanSerializer() throws Exception {
+        List<TaskResponse> tasks = List.of(
+                task(1L, LocalDateTime.of(2025, 11, 11, 15, 21, 35, 123_456_789)),
+                task(2L, LocalDateTime.of(2025, 1, 2, 3, 4, 5)),
+                // fields= projection leaves everything but the selected columns null
+                TaskResponse.builder().id(3L).title("Projected").build()
+        );
+
+        for (LocalDateTime timestamp : List.of(
+                LocalDateTime.of(2025, 11, 11, 15, 21, 35),
+                LocalDateTime.of(2025, 11, 11, 15, 21, 35, 500_000_000),
+                LocalDateTime.of(2025, 11, 11, 15, 21, 35, 120_000),
+                LocalDateTime.of(2025, 11, 11, 15, 21, 35, 1),
+                LocalDateTime.of(12025, 11, 11, 15, 21, 35))) {
+            ApiResponseDTO<List<TaskResponse>> page = ApiResponseDTO.success(tasks, "Tasks retrieved successfully", "/api/tasks", "id");
+            page.setTimestamp(timestamp);
+
+            assertThat(prebuilt.writeValueAsString(page)).isEqualTo(reflective.writeValueAsString(page));
+        }
+    }
+
+    @Test
+    void nestedTasksAndErrors_serializeExactlyLikeBeanSerializer() throws Exception {
+        TaskCursorPage cursorPage = new TaskCursorPage(List.of(task(7L, LocalDateTime.of(2025, 11, 11, 15, 21, 35))), "cursor");
+        ApiResponseDTO<TaskCursorPage> success = ApiResponseDTO.success(cursorPage, "Tasks retrieved successfully", "/api/tasks", "id");
+        ApiResponseDTO<?> error = ApiResponseDTO.error(404, "Not Found", "Task not found with id: 1", "/api/tasks/1", "id", null);
+
+        assertThat(prebuilt.writeValueAsString(success)).isEqualTo(reflective.writeValueAsString(success));
+        assertThat(prebuilt.writeValueAsString(error)).isEqualTo(reflective.writeValueAsString(error));
+    }
+
+    @Test
+    void webRequestFactory_usesRequestUriAndUniqueUuidShapedIds() {
+        ServletWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/tasks/42"));
+
+        Set<String> requestIds = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            ApiResponseDTO<Void> response = ApiResponseDTO.success(null, "Task deleted successfully", webRequest);
+            assertThat(response.getPath()).isEqualTo(webRequest.getDescription(false).replace("uri=", ""));
+            requestIds.add(response.getRequestId());
+        }
+
+        assertThat(requestIds).hasSize(1000);
+        assertThat(requestIds).allSatisfy(id -> assertThat(UUID.fromString(id).toString()).isEqualTo(id));
+    }
+
+    private static TaskResponse task(Long id, LocalDateTime createdAt) {
+        return TaskResponse.builder()
+                           .id(id)
+                           .title("Task \"" + id + "\"")
+                           .description("Vacuum and mop the floor")
+                           .status(TaskStatus.IN_PROGRESS)
+                           .priority(TaskPriority.HIGH)
+                           .createdAt(createdAt)
+                           .updatedAt(createdAt.plusSeconds(90))
+                           .version(3L)
+                           .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.xl33zy.task_tracker.exception;
+
+import com.xl33zy.task_tracker.controller.TaskController;
+import com.xl33zy.task_tracker.service.IdempotencyService;
+import com.xl33zy.task_tracker.service.TaskService;
+import com.xl33zy.task_tracker.service.TaskWriteCoalescer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.sql.SQLException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GlobalExceptionHandlerTest {
+
+    private final TaskService taskService = mock(TaskService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        TaskController controller = new TaskController(taskService, mock(IdempotencyService.class),
+                mock(TaskWriteCoalescer.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                                 .setControllerAdvice(new GlobalExceptionHandler())
+                                 .build();
+    }
+
+    @Test
+    void badRequest_returns400() throws Exception {
+        when(taskService.getAllTasks(anyInt(), anyInt(), any(), any(), any(), any()))
+                .thenThrow(new BadRequestException("Unsupported field: secret"));
+
+        mockMvc.perform(get("/api/tasks"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.message").value("Unsupported field: secret"));
+    }
+
+    @Test
+    void concurrentPartitionMove_returns409() throws Exception {
+        SQLException moved = new SQLException(
+                "tuple to be locked was already moved to another partition due to concurrent update", "40001");
+        when(taskService.getAllTasks(anyInt(), anyInt(), any(), any(), any(), any()))
+                .thenThrow(new CannotAcquireLockException("could not execute statement", moved))
+                .thenThrow(new TransactionSystemException("Could not commit JPA transaction", moved));
+
+        mockMvc.perform(get("/api/tasks"))
+               .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/tasks"))
+               .andExpect(status().isConflict());
+    }
+
+    @Test
+    void illegalArgumentFromServerCode_returns500() throws Exception {
+        when(taskService.getAllTasks(anyInt(), anyInt(), any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Key must be positive: 0"));
+
+        mockMvc.perform(get("/api/tasks"))
+               .andExpect(status().isInternalServerError());
+    }
+}
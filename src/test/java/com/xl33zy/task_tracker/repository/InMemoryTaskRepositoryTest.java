@@ -0,0 +1,251 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.config.InMemoryStorageProperties;
+import com.xl33zy.task_tracker.config.InMemoryStorageProperties.FsyncPolicy;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryTaskRepositoryTest {
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final InMemoryTaskRepository repository = new InMemoryTaskRepository(properties(), Optional.empty());
+
+    @Test
+    void save_assignsIdAndVersion_andLookupsReturnCopies() {
+        Task task = task("Write report", TaskStatus.NEW, TaskPriority.HIGH);
+
+        Task saved = repository.save(task);
+
+        assertThat(saved).isSameAs(task);
+        assertThat(task.getId()).isPositive();
+        assertThat(task.getVersion()).isZero();
+        assertThat(task.getCreatedAt()).isNotNull();
+
+        Task loaded = repository.findById(task.getId()).orElseThrow();
+        loaded.setTitle("Changed outside a transaction");
+        assertThat(repository.findById(task.getId()).orElseThrow().getTitle()).isEqualTo("Write report");
+        assertThat(repository.findVersionById(task.getId())).contains(new TaskVersion(0L, task.getUpdatedAt()));
+    }
+
+    @Test
+    void offsetAndKeysetPages_matchSortedFilteredTasks() {
+        Random random = new Random(42);
+        List<Task> all = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            all.add(repository.save(task("Task " + random.nextInt(50),
+                    STATUSES[random.nextInt(STATUSES.length)], PRIORITIES[random.nextInt(PRIORITIES.length)])));
+        }
+
+        List<TaskStatus> statuses = new ArrayList<>(List.of(STATUSES));
+        statuses.add(null);
+        List<TaskPriority> priorities = new ArrayList<>(List.of(PRIORITIES));
+        priorities.add(null);
+        for (TaskStatus status : statuses) {
+            for (TaskPriority priority : priorities) {
+                for (TaskSortField field : TaskSortField.values()) {
+                    for (Sort.Direction direction : Sort.Direction.values()) {
+                        List<Long> expected = all.stream()
+                                                 .filter(t -> (status == null || t.getStatus() == status)
+                                                         && (priority == null || t.getPriority() == priority))
+                                                 .sorted(order(field, direction))
+                                                 .map(Task::getId)
+                                                 .toList();
+
+                        Page<Task> page = repository.findByStatusAndPriority(status, priority,
+                                PageRequest.of(1, 7, Sort.by(direction, field.getProperty())));
+                        assertThat(page.getTotalElements()).isEqualTo(expected.size());
+                        assertThat(page.getContent()).extracting(Task::getId)
+                                                     .isEqualTo(expected.subList(Math.min(7, expected.size()), Math.min(14, expected.size())));
+
+                        assertThat(walkKeyset(status, priority, field, direction)).isEqualTo(expected);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void update_movesTaskBetweenIndexes() {
+        Task task = repository.save(task("Task", TaskStatus.NEW, TaskPriority.LOW));
+        Task detached = repository.findById(task.getId()).orElseThrow();
+        detached.setStatus(TaskStatus.DONE);
+
+        Task updated = repository.save(detached);
+
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(repository.findByStatus(TaskStatus.NEW, PageRequest.of(0, 10))).isEmpty();
+        assertThat(repository.findByStatus(TaskStatus.DONE, PageRequest.of(0, 10))).extracting(Task::getId).containsExactly(task.getId());
+        assertThat(repository.countByStatusAndPriority()).singleElement().satisfies(row -> {
+            assertThat(row.getStatus()).isEqualTo(TaskStatus.DONE);
+            assertThat(row.getCount()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void update_withStaleVersion_isRejected() {
+        Task task = repository.save(task("Task", TaskStatus.NEW, TaskPriority.LOW));
+        Task first = repository.findById(task.getId()).orElseThrow();
+        Task second = repository.findById(task.getId()).orElseThrow();
+        first.setTitle("First");
+        repository.save(first);
+        second.setTitle("Second");
+
+        assertThatThrownBy(() -> repository.save(second)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(repository.findById(task.getId()).orElseThrow().getTitle()).isEqualTo("First");
+    }
+
+    @Test
+    void tasksLoadedInTransaction_areWrittenOnCommit() {
+        Task task = repository.save(task("Task", TaskStatus.NEW, TaskPriority.LOW));
+        TransactionTemplate transaction = new TransactionTemplate(new InMemoryTransactionManager());
+
+        Task managed = transaction.execute(status -> {
+            Task loaded = repository.findAllById(List.of(task.getId())).get(0);
+            assertThat(repository.findById(task.getId())).containsSame(loaded);
+            loaded.setPriority(TaskPriority.HIGH);
+            return loaded;
+        });
+
+        assertThat(managed.getVersion()).isEqualTo(1L);
+        assertThat(repository.findByPriority(TaskPriority.HIGH, PageRequest.of(0, 10))).extracting(Task::getId).containsExactly(task.getId());
+    }
+
+    @Test
+    void saveAll_withMissingTitle_savesNothing() {
+        List<Task> tasks = List.of(task("Valid", TaskStatus.NEW, TaskPriority.LOW), task(null, TaskStatus.NEW, TaskPriority.LOW));
+
+        assertThatThrownBy(() -> repository.saveAll(tasks)).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void projectionAndSearch_readFromStoredTasks() {
+        Task clean = repository.save(task("Clean room", TaskStatus.NEW, TaskPriority.HIGH));
+        Task cleanKitchen = repository.save(task("Clean kitchen and clean room", TaskStatus.DONE, TaskPriority.HIGH));
+        repository.save(task("Buy milk", TaskStatus.NEW, TaskPriority.LOW));
+
+        List<TaskResponse> projected = repository.findProjected(EnumSet.of(TaskField.ID, TaskField.TITLE), null, TaskPriority.HIGH,
+                PageRequest.of(0, 10, Sort.by("id")));
+        assertThat(projected).extracting(TaskResponse::getTitle).containsExactly("Clean room", "Clean kitchen and clean room");
+        assertThat(projected).extracting(TaskResponse::getStatus).containsOnlyNulls();
+
+        List<TaskSearchHit> first = repository.search("clean room", null, null, null, 1);
+        assertThat(first).extracting(hit -> hit.task().getId()).containsExactly(clean.getId());
+        List<TaskSearchHit> next = repository.search("clean room", null, null,
+                new KeysetPosition(first.get(0).rank(), clean.getId()), 10);
+        assertThat(next).extracting(hit -> hit.task().getId()).containsExactly(cleanKitchen.getId());
+    }
+
+    @Test
+    void concurrentWriters_leaveIndexesConsistent() throws Exception {
+        for (int i = 0; i < 200; i++) {
+            repository.save(task("Task " + i, TaskStatus.NEW, TaskPriority.MEDIUM));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 2000; i++) {
+                        long id = 1 + random.nextInt(250);
+                        switch (random.nextInt(4)) {
+                            case 0 -> repository.save(task("New " + i, STATUSES[random.nextInt(STATUSES.length)], TaskPriority.LOW));
+                            case 1 -> repository.deleteById(id);
+                            default -> repository.findById(id).ifPresent(task -> {
+                                task.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+                                task.setTitle("Title " + random.nextInt(100));
+                                try {
+                                    repository.save(task);
+                                } catch (ObjectOptimisticLockingFailureException ignored) {
+                                    // Lost the race to another writer of the same task
+                                }
+                            });
+                        }
+                        repository.findByStatus(STATUSES[random.nextInt(STATUSES.length)], PageRequest.of(0, 20, Sort.by("title")));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Task> stored = repository.findAll();
+        assertThat(repository.count()).isEqualTo(stored.size());
+        for (TaskSortField field : TaskSortField.values()) {
+            for (TaskStatus status : STATUSES) {
+                List<Long> expected = stored.stream()
+                                            .filter(task -> task.getStatus() == status)
+                                            .sorted(order(field, Sort.Direction.ASC))
+                                            .map(Task::getId)
+                                            .toList();
+                assertThat(walkKeyset(status, null, field, Sort.Direction.ASC)).isEqualTo(expected);
+            }
+        }
+    }
+
+    private List<Long> walkKeyset(TaskStatus status, TaskPriority priority, TaskSortField field, Sort.Direction direction) {
+        List<Long> ids = new ArrayList<>();
+        KeysetPosition after = null;
+        while (true) {
+            List<Task> page = repository.findKeysetPage(status, priority, field, direction, after, 5);
+            page.forEach(task -> ids.add(task.getId()));
+            if (page.size() < 5) {
+                return ids;
+            }
+            Task last = page.get(page.size() - 1);
+            after = new KeysetPosition(field.parseValue(field.valueOf(last)), last.getId());
+        }
+    }
+
+    private static Comparator<Task> order(TaskSortField field, Sort.Direction direction) {
+        Comparator<Task> byValue = switch (field) {
+            case ID -> Comparator.comparing(Task::getId);
+            case TITLE -> Comparator.comparing(Task::getTitle);
+            case STATUS -> Comparator.comparing(task -> task.getStatus().name());
+            case PRIORITY -> Comparator.comparing(task -> task.getPriority().name());
+            case CREATED_AT -> Comparator.comparing(Task::getCreatedAt);
+            case UPDATED_AT -> Comparator.comparing(Task::getUpdatedAt);
+        };
+        Comparator<Task> order = byValue.thenComparing(Task::getId);
+        return direction.isAscending() ? order : order.reversed();
+    }
+
+    private static InMemoryStorageProperties properties() {
+        return new InMemoryStorageProperties(4, 16, null, FsyncPolicy.ALWAYS, Duration.ofMillis(10),
+                DataSize.ofMegabytes(64), Duration.ofMinutes(10));
+    }
+
+    static Task task(String title, TaskStatus status, TaskPriority priority) {
+        return Task.builder().title(title).status(status).priority(priority).build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.xl33zy.task_tracker.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedLongMapTest {
+
+    @Test
+    void randomOperations_matchHashMap() {
+        StripedLongMap<String> map = new StripedLongMap<>(4, 8);
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        // A small key range keeps probe chains long, so removals have entries to shift back
+        for (int i = 0; i < 50_000; i++) {
+            long key = 1 + random.nextInt(2_000);
+            switch (random.nextInt(3)) {
+                case 0 -> assertThat(map.put(key, "v" + i)).isEqualTo(expected.put(key, "v" + i));
+                case 1 -> assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+                default -> assertThat(map.get(key)).isEqualTo(expected.get(key));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+    }
+
+    @Test
+    void compute_replacesOrRemovesUnderLock() {
+        StripedLongMap<String> map = new StripedLongMap<>(2, 8);
+        map.put(5L, "a");
+
+        assertThat(map.compute(5L, current -> current + "b")).isEqualTo("ab");
+        assertThat(map.compute(6L, current -> current == null ? "new" : current)).isEqualTo("new");
+        assertThat(map.compute(5L, current -> null)).isNull();
+
+        assertThat(map.get(5L)).isNull();
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void nonPositiveKey_isRejected() {
+        StripedLongMap<String> map = new StripedLongMap<>(2, 8);
+
+        assertThatThrownBy(() -> map.put(0L, "zero")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
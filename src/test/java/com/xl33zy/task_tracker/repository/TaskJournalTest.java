@@ -0,0 +1,173 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.config.InMemoryStorageProperties;
+import com.xl33zy.task_tracker.config.InMemoryStorageProperties.FsyncPolicy;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static com.xl33zy.task_tracker.repository.InMemoryTaskRepositoryTest.task;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskJournalTest {
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void logCutAtRandomOffsets_recoversAPrefixOfTheWrites() throws IOException {
+        Path wal = directory.resolve("wal");
+        List<String> states = new ArrayList<>();
+        try (TaskJournal journal = new TaskJournal(properties(wal, FsyncPolicy.NEVER))) {
+            InMemoryTaskRepository repository = new InMemoryTaskRepository(properties(wal, FsyncPolicy.NEVER), Optional.of(journal));
+            states.add(state(repository));
+            Random random = new Random(11);
+            for (int i = 0; i < 400; i++) {
+                write(repository, random, i);
+                states.add(state(repository));
+            }
+        }
+        List<Path> segments = segments(wal);
+        assertThat(segments).hasSizeGreaterThan(3);
+
+        Random random = new Random(5);
+        for (int trial = 0; trial < 40; trial++) {
+            Path copy = Files.createDirectory(directory.resolve("crash-" + trial));
+            for (Path segment : segments) {
+                Files.copy(segment, copy.resolve(segment.getFileName()));
+            }
+            Path cut = copy.resolve(segments.get(random.nextInt(segments.size())).getFileName());
+            try (FileChannel channel = FileChannel.open(cut, StandardOpenOption.WRITE)) {
+                channel.truncate(random.nextInt((int) channel.size()));
+            }
+
+            String recovered;
+            try (TaskJournal journal = new TaskJournal(properties(copy, FsyncPolicy.NEVER))) {
+                InMemoryTaskRepository repository = new InMemoryTaskRepository(properties(copy, FsyncPolicy.NEVER), Optional.of(journal));
+                recovered = state(repository);
+                assertThat(states).contains(recovered);
+                repository.save(task("After recovery", TaskStatus.NEW, TaskPriority.HIGH));
+                recovered = state(repository);
+            }
+            try (TaskJournal journal = new TaskJournal(properties(copy, FsyncPolicy.NEVER))) {
+                assertThat(state(new InMemoryTaskRepository(properties(copy, FsyncPolicy.NEVER), Optional.of(journal)))).isEqualTo(recovered);
+            }
+        }
+
+        try (TaskJournal journal = new TaskJournal(properties(wal, FsyncPolicy.NEVER))) {
+            assertThat(state(new InMemoryTaskRepository(properties(wal, FsyncPolicy.NEVER), Optional.of(journal))))
+                    .isEqualTo(states.get(states.size() - 1));
+        }
+    }
+
+    @Test
+    void snapshot_dropsCoveredSegments_andTailIsReplayedOverIt() throws Exception {
+        Path wal = directory.resolve("wal");
+        String expected;
+        long lastId;
+        try (TaskJournal journal = new TaskJournal(properties(wal, FsyncPolicy.ALWAYS))) {
+            InMemoryTaskRepository repository = new InMemoryTaskRepository(properties(wal, FsyncPolicy.ALWAYS), Optional.of(journal));
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int thread = 0; thread < 4; thread++) {
+                    int seed = thread;
+                    futures.add(executor.submit(() -> {
+                        Random random = new Random(seed);
+                        for (int i = 0; i < 150; i++) {
+                            write(repository, random, i);
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            int segmentsBefore = segments(wal).size();
+
+            repository.snapshot();
+            assertThat(segments(wal)).hasSizeLessThan(segmentsBefore);
+
+            Random random = new Random(3);
+            for (int i = 0; i < 50; i++) {
+                write(repository, random, i);
+            }
+            lastId = repository.save(task("Deleted last", TaskStatus.NEW, TaskPriority.LOW)).getId();
+            repository.deleteById(lastId);
+            expected = state(repository);
+        }
+
+        try (TaskJournal journal = new TaskJournal(properties(wal, FsyncPolicy.ALWAYS))) {
+            InMemoryTaskRepository repository = new InMemoryTaskRepository(properties(wal, FsyncPolicy.ALWAYS), Optional.of(journal));
+            assertThat(state(repository)).isEqualTo(expected);
+            assertThat(repository.save(task("Next", TaskStatus.NEW, TaskPriority.LOW)).getId()).isGreaterThan(lastId);
+        }
+    }
+
+    private static void write(InMemoryTaskRepository repository, Random random, int i) {
+        long id = 1 + random.nextInt(Math.max(1, (int) repository.count() + 20));
+        switch (random.nextInt(4)) {
+            case 0 -> repository.deleteById(id);
+            case 1 -> repository.findById(id).ifPresent(task -> {
+                task.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+                task.setDescription(random.nextBoolean() ? null : "Описание " + i);
+                try {
+                    repository.save(task);
+                } catch (ObjectOptimisticLockingFailureException ignored) {
+                    // Another writer got there first
+                }
+            });
+            default -> repository.save(task("Task " + i, STATUSES[random.nextInt(STATUSES.length)],
+                    PRIORITIES[random.nextInt(PRIORITIES.length)]));
+        }
+    }
+
+    // Every stored field, so a lossy encoding shows up as a state that never existed
+    private static String state(InMemoryTaskRepository repository) {
+        StringBuilder state = new StringBuilder();
+        for (Task task : repository.findAll()) {
+            state.append(task.getId()).append('|').append(task.getTitle()).append('|').append(task.getDescription())
+                 .append('|').append(task.getStatus()).append('|').append(task.getPriority())
+                 .append('|').append(task.getVersion()).append('|').append(task.isArchived())
+                 .append('|').append(task.getCreatedAt()).append('|').append(task.getUpdatedAt()).append('\n');
+        }
+        return state.toString();
+    }
+
+    private static List<Path> segments(Path wal) throws IOException {
+        try (Stream<Path> files = Files.list(wal)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("wal-"))
+                        .sorted(Comparator.naturalOrder())
+                        .toList();
+        }
+    }
+
+    private static InMemoryStorageProperties properties(Path wal, FsyncPolicy policy) {
+        return new InMemoryStorageProperties(4, 16, wal, policy, Duration.ofMillis(10), DataSize.ofKilobytes(4),
+                Duration.ofMinutes(10));
+    }
+}
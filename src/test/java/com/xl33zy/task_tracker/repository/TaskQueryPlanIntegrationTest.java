@@ -0,0 +1,287 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls the repository methods behind the task API on 1M rows, captures the statements they send together with
+ * their bind values, and EXPLAINs exactly those. Count queries behind {@code Page<Task>} are aggregates and are
+ * not part of the suite.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TaskQueryPlanIntegrationTest {
+
+    private static final int SEED_ROWS = 1_000_000;
+    private static final LocalDateTime SEEK_TIME = LocalDateTime.of(2024, 1, 6, 0, 0);
+
+    @Container
+    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("tasktracker")
+            .withUsername("user")
+            .withPassword("password");
+
+    @DynamicPropertySource
+    static void configureDatasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+        @Bean
+        static BeanPostProcessor statementRecorderPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof StatementRecorder)
+                            ? new StatementRecorder(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("TRUNCATE tasks, task_ids");
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, status, priority, created_at, updated_at)
+                SELECT 'Task ' || g,
+                       'Description ' || g,
+                       (ARRAY['NEW', 'IN_PROGRESS', 'DONE'])[1 + g % 3],
+                       (ARRAY['LOW', 'MEDIUM', 'HIGH'])[1 + (g / 3) % 3],
+                       TIMESTAMP '2024-01-01' + g * INTERVAL '1 second',
+                       TIMESTAMP '2024-01-01' + ((g * 7919) % ?) * INTERVAL '1 second'
+                FROM generate_series(1, ?) g
+                """, SEED_ROWS, SEED_ROWS);
+        // Half of the DONE tasks in the archive partition, as after TaskArchiver has been running for a while
+        jdbcTemplate.update("UPDATE tasks SET archived = TRUE WHERE status = 'DONE' AND id % 2 = 0");
+        jdbcTemplate.execute("VACUUM ANALYZE tasks");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void repositoryQuery_doesNotFallBackToSeqScan(String name, Consumer<TaskRepository> call) {
+        for (List<String> plan : plans(call)) {
+            assertThat(plan)
+                    .as("Plan for %s:%n%s", name, String.join("\n", plan))
+                    .noneMatch(line -> line.contains("Seq Scan"));
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("openWorkQueries")
+    void openWorkQuery_readsOnlyOpenPartition(String name, Consumer<TaskRepository> call) {
+        for (List<String> plan : plans(call)) {
+            assertThat(plan)
+                    .as("Plan for %s:%n%s", name, String.join("\n", plan))
+                    .noneMatch(line -> line.contains("tasks_done") || line.contains("tasks_archive"));
+        }
+    }
+
+    static Stream<Arguments> openWorkQueries() {
+        return Stream.of(
+                query("findByStatus NEW", repository -> repository.findByStatus(TaskStatus.NEW, page("id", Sort.Direction.DESC))),
+                query("findByStatusAndPriority IN_PROGRESS", repository -> repository.findByStatusAndPriority(
+                        TaskStatus.IN_PROGRESS, TaskPriority.HIGH, page("updatedAt", Sort.Direction.DESC))),
+                query("findKeysetPage NEW", repository -> repository.findKeysetPage(
+                        TaskStatus.NEW, null, TaskSortField.UPDATED_AT, Sort.Direction.DESC, new KeysetPosition(SEEK_TIME, 500_000), 11))
+        );
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        TaskStatus[] statuses = {null, TaskStatus.NEW, null, TaskStatus.IN_PROGRESS};
+        TaskPriority[] priorities = {null, null, TaskPriority.HIGH, TaskPriority.HIGH};
+        Map<TaskSortField, Object> seeks = Map.of(
+                TaskSortField.ID, 500_000L,
+                TaskSortField.TITLE, "Task 500000",
+                TaskSortField.CREATED_AT, SEEK_TIME,
+                TaskSortField.UPDATED_AT, SEEK_TIME
+        );
+
+        List<Arguments> queries = new ArrayList<>();
+        for (int i = 0; i < statuses.length; i++) {
+            TaskStatus status = statuses[i];
+            TaskPriority priority = priorities[i];
+            String filter = "status=" + status + " priority=" + priority;
+            for (TaskSortField sortField : List.of(TaskSortField.ID, TaskSortField.TITLE, TaskSortField.CREATED_AT, TaskSortField.UPDATED_AT)) {
+                for (Sort.Direction direction : Sort.Direction.values()) {
+                    String shape = filter + " sort " + sortField.getProperty() + " " + direction;
+                    Pageable pageable = page(sortField.getProperty(), direction);
+
+                    queries.add(query(shape + " (offset)", repository -> offsetPage(repository, status, priority, pageable)));
+                    queries.add(query(shape + " (fields)", repository -> repository.findProjected(
+                            EnumSet.of(TaskField.ID, TaskField.TITLE, TaskField.STATUS), status, priority, pageable)));
+                    queries.add(query(shape + " (keyset)", repository -> repository.findKeysetPage(
+                            status, priority, sortField, direction, new KeysetPosition(seeks.get(sortField), 500_000), 11)));
+                }
+            }
+        }
+        queries.add(query("findById", repository -> repository.findById(42L)));
+        queries.add(query("search", repository -> repository.search("42", null, null, null, 11)));
+        queries.add(query("search with status", repository -> repository.search("42", TaskStatus.NEW, null, null, 11)));
+        queries.add(query("search next page", repository -> repository.search("42", null, null, new KeysetPosition(0.05f, 500_000), 11)));
+        return queries.stream();
+    }
+
+    // Same repository method TaskService picks for the filter
+    private static void offsetPage(TaskRepository repository, TaskStatus status, TaskPriority priority, Pageable pageable) {
+        if (status != null && priority != null) {
+            repository.findByStatusAndPriority(status, priority, pageable);
+        } else if (status != null) {
+            repository.findByStatus(status, pageable);
+        } else if (priority != null) {
+            repository.findByPriority(priority, pageable);
+        } else {
+            repository.findAll(pageable);
+        }
+    }
+
+    // As TaskService.parseSort builds it from ?sort=property,direction
+    private static Pageable page(String property, Sort.Direction direction) {
+        return PageRequest.of(0, 10, Sort.by(direction, property));
+    }
+
+    private static Arguments query(String name, Consumer<TaskRepository> call) {
+        return Arguments.of(name, call);
+    }
+
+    private List<List<String>> plans(Consumer<TaskRepository> call) {
+        List<CapturedStatement> statements = ((StatementRecorder) dataSource).record(() -> call.accept(taskRepository)).stream()
+                                                     .filter(statement -> !statement.sql().startsWith("select count("))
+                                                     .toList();
+        assertThat(statements).as("statements issued").isNotEmpty();
+        return statements.stream()
+                         .map(statement -> jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), String.class,
+                                 statement.parameters().toArray()))
+                         .toList();
+    }
+
+    record CapturedStatement(String sql, List<Object> parameters) {
+    }
+
+    /**
+     * Wraps the application's DataSource and, while recording, keeps each prepared statement executed through it
+     * with the values bound to its parameters.
+     */
+    static class StatementRecorder extends DelegatingDataSource {
+        private final List<CapturedStatement> statements = new CopyOnWriteArrayList<>();
+        private volatile boolean recording;
+
+        StatementRecorder(DataSource target) {
+            super(target);
+        }
+
+        List<CapturedStatement> record(Runnable action) {
+            statements.clear();
+            recording = true;
+            try {
+                action.run();
+            } finally {
+                recording = false;
+            }
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recordingConnection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recordingConnection(super.getConnection(username, password));
+        }
+
+        private Connection recordingConnection(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (method.getName().equals("prepareStatement")) {
+                            return recordingStatement((PreparedStatement) result, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement recordingStatement(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            parameters.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.equals("clearParameters")) {
+                            parameters.clear();
+                        } else if (recording && (name.equals("executeQuery") || name.equals("execute")) && (args == null || args.length == 0)) {
+                            statements.add(new CapturedStatement(sql, new ArrayList<>(parameters.values())));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.xl33zy.task_tracker.repository;
+
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.service.TaskSearchCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures full-text search latency while the table grows to a few million rows.
+ * The searched terms match a fixed number of rows at every size, so with the GIN index latency should stay flat;
+ * an ILIKE scan over the same data is timed alongside for contrast. A term in every eighth title is timed too but
+ * not asserted: ranking has to score every match, so its latency grows with the match count.
+ * Run with {@code mvn -Pload-test test -Dtest=TaskSearchLoadTest}.
+ */
+@Slf4j
+@Tag("load")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskSearchLoadTest {
+
+    private static final int[] SIZES = Arrays.stream(System.getProperty("searchbench.sizes", "1000000,2000000,4000000").split(","))
+                                             .mapToInt(Integer::parseInt)
+                                             .toArray();
+    private static final int WARMUP = Integer.getInteger("searchbench.warmup", 50);
+    private static final int ITERATIONS = Integer.getInteger("searchbench.iterations", 300);
+    private static final int ESCALATED_ROWS = 200;
+    private static final int PAGE_SIZE = 10;
+
+    @Container
+    static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:14")
+            .withDatabaseName("tasktracker")
+            .withUsername("user")
+            .withPassword("password");
+
+    @DynamicPropertySource
+    static void configureDatasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void searchLatency_staysFlatAsTableGrows() {
+        jdbcTemplate.execute("TRUNCATE tasks, task_ids");
+
+        KeysetPosition[] secondPage = new KeysetPosition[1];
+        Map<String, Supplier<Integer>> queries = new LinkedHashMap<>();
+        queries.put("unique token", () -> taskRepository.search("ref777", null, null, null, PAGE_SIZE + 1).size());
+        queries.put("rare term, ranked top 10", () -> taskRepository.search("escalated", null, null, null, PAGE_SIZE + 1).size());
+        queries.put("rare term + status", () -> taskRepository.search("escalated", TaskStatus.NEW, null, null, PAGE_SIZE + 1).size());
+        queries.put("rare term, second page", () -> taskRepository.search("escalated", null, null, secondPage[0], PAGE_SIZE + 1).size());
+        Supplier<Integer> commonTerm = () -> taskRepository.search("deploy", null, null, null, PAGE_SIZE + 1).size();
+
+        List<Map<String, long[]>> results = new ArrayList<>();
+        int seeded = 0;
+        for (int size : SIZES) {
+            seed(seeded + 1, size);
+            seeded = size;
+            secondPage[0] = nextPage("escalated");
+
+            Map<String, long[]> latencies = new LinkedHashMap<>();
+            queries.forEach((name, query) -> latencies.put(name, measure(query, WARMUP, ITERATIONS)));
+            latencies.put("common term, ranked top 10", measure(commonTerm, 5, 20));
+            latencies.put("ILIKE baseline", measure(() -> jdbcTemplate.queryForList(
+                    "SELECT id FROM tasks WHERE description ILIKE '%escalated%' ORDER BY id DESC LIMIT 11", Long.class).size(), 1, 5));
+            results.add(latencies);
+
+            latencies.forEach((name, nanos) -> log.info("{} rows | {} | p50 {} ms | p99 {} ms",
+                    size, name, millis(percentile(nanos, 50)), millis(percentile(nanos, 99))));
+        }
+
+        Map<String, long[]> smallest = results.get(0);
+        Map<String, long[]> largest = results.get(results.size() - 1);
+        for (String name : queries.keySet()) {
+            long small = percentile(smallest.get(name), 50);
+            long large = percentile(largest.get(name), 50);
+            // Allow noise: 3x or 2 ms, whichever is larger; a scan would grow with the row count instead
+            assertThat(large)
+                    .as("p50 of '%s' at %d rows vs %d rows", name, SIZES[SIZES.length - 1], SIZES[0])
+                    .isLessThanOrEqualTo(Math.max(small * 3, small + 2_000_000L));
+        }
+    }
+
+    // Position after the first page, passed through the same cursor token a client would send back
+    private KeysetPosition nextPage(String text) {
+        List<TaskSearchHit> firstPage = taskRepository.search(text, null, null, null, PAGE_SIZE + 1);
+        assertThat(firstPage).hasSize(PAGE_SIZE + 1);
+        TaskSearchCursor cursor = TaskSearchCursor.decode(TaskSearchCursor.after(firstPage.get(PAGE_SIZE - 1)).encode());
+        KeysetPosition position = cursor.toPosition();
+        assertThat(taskRepository.search(text, null, null, position, PAGE_SIZE + 1))
+                .hasSize(PAGE_SIZE + 1)
+                .extracting(hit -> hit.task().getId())
+                .doesNotContainAnyElementsOf(firstPage.subList(0, PAGE_SIZE).stream().map(hit -> hit.task().getId()).toList());
+        return position;
+    }
+
+    private void seed(int from, int to) {
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, status, priority, created_at, updated_at)
+                SELECT 'Task ' || g || ' ' || (ARRAY['deploy', 'review', 'refactor', 'document', 'migrate', 'triage', 'release', 'audit'])[1 + g % 8],
+                       'Ticket ref' || g || CASE WHEN g <= ? THEN ' escalated to on-call' ELSE ' routine follow-up' END,
+                       (ARRAY['NEW', 'IN_PROGRESS', 'DONE'])[1 + g % 3],
+                       (ARRAY['LOW', 'MEDIUM', 'HIGH'])[1 + (g / 3) % 3],
+                       TIMESTAMP '2024-01-01' + g * INTERVAL '1 second',
+                       TIMESTAMP '2024-01-01' + g * INTERVAL '1 second'
+                FROM generate_series(?, ?) g
+                """, ESCALATED_ROWS, from, to);
+        jdbcTemplate.execute("VACUUM ANALYZE tasks");
+    }
+
+    private static long[] measure(Supplier<Integer> query, int warmup, int iterations) {
+        for (int i = 0; i < warmup; i++) {
+            query.get();
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+}
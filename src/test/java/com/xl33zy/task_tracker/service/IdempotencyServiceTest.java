@@ -0,0 +1,241 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.config.IdempotencyProperties;
+import com.xl33zy.task_tracker.dto.TaskRequest;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.exception.IdempotencyConflictException;
+import com.xl33zy.task_tracker.exception.IdempotencyKeyReuseException;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+    private static final String SCOPE = "POST /api/tasks";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger writes = new AtomicInteger();
+    private final PlatformTransactionManager transactionManager = transactionManager();
+
+    @Test
+    void withoutKey_runsActionWithoutTouchingTheTable() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        IdempotencyService service = service(jdbcTemplate, Duration.ofSeconds(1));
+
+        service.execute(null, SCOPE, request("Task"), TaskResponse.class, this::createTask);
+        service.execute(null, SCOPE, request("Task"), TaskResponse.class, this::createTask);
+
+        assertThat(writes).hasValue(2);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void retry_returnsFirstResultFromMemoryWithoutWritingAgain() {
+        JdbcTemplate jdbcTemplate = claimingJdbcTemplate();
+        IdempotencyService service = service(jdbcTemplate, Duration.ofSeconds(1));
+
+        TaskResponse first = service.execute("key-1", SCOPE, request("Task"), TaskResponse.class, this::createTask);
+        TaskResponse retry = service.execute("key-1", SCOPE, request("Task"), TaskResponse.class, this::createTask);
+
+        assertThat(retry).isSameAs(first);
+        assertThat(writes).hasValue(1);
+        verify(jdbcTemplate, times(1)).update(eq(IdempotencyService.CLAIM_SQL), any(Object[].class));
+        assertThat(meterRegistry.get("tasks.idempotency.requests").tag("outcome", "replayed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void concurrentDuplicate_waitsForFirstRequestAndReusesItsResult() throws Exception {
+        JdbcTemplate jdbcTemplate = claimingJdbcTemplate();
+        IdempotencyService service = service(jdbcTemplate, Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<TaskResponse> first = CompletableFuture.supplyAsync(() ->
+                service.execute("key-1", SCOPE, request("Task"), TaskResponse.class, () -> {
+                    started.countDown();
+                    await(release);
+                    return createTask();
+                }));
+        started.await();
+        CompletableFuture<TaskResponse> duplicate = CompletableFuture.supplyAsync(() ->
+                service.execute("key-1", SCOPE, request("Task"), TaskResponse.class, this::createTask));
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+        assertThat(writes).hasValue(1);
+    }
+
+    @Test
+    void sameKeyWithDifferentRequest_isRejected() {
+        IdempotencyService service = service(claimingJdbcTemplate(), Duration.ofSeconds(1));
+        service.execute("key-1", SCOPE, request("Task"), TaskResponse.class, this::createTask);
+
+        assertThatThrownBy(() -> service.execute("key-1", SCOPE, request("Other task"), TaskResponse.class, this::createTask))
+                .isInstanceOf(IdempotencyKeyReuseException.class);
+        assertThat(writes).hasValue(1);
+    }
+
+    @Test
+    void claimWriteAndCompletion_runInOneTransaction() {
+        JdbcTemplate jdbcTemplate = claimingJdbcTemplate();
+        IdempotencyService service = service(jdbcTemplate, Duration.ofSeconds(1));
+        Runnable write = mock(Runnable.class);
+
+        service.execute("key-1", SCOPE, request("Task"), TaskResponse.class, () -> {
+            write.run();
+            return createTask();
+        });
+
+        InOrder order = inOrder(transactionManager, jdbcTemplate, write);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(jdbcTemplate).update(eq(IdempotencyService.CLAIM_SQL), any(Object[].class));
+        order.verify(write).run();
+        order.verify(jdbcTemplate).update(eq(IdempotencyService.COMPLETE_SQL), any(Object[].class));
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void failedWrite_rollsBackClaimSoRetryRunsAgain() {
+        JdbcTemplate jdbcTemplate = claimingJdbcTemplate();
+        IdempotencyService service = service(jdbcTemplate, Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> service.execute("key-1", SCOPE, request("Task"), TaskResponse.class, () -> {
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+        TaskResponse retry = service.execute("key-1", SCOPE, request("Task"), TaskResponse.class, this::createTask);
+
+        assertThat(retry.getId()).isEqualTo(1L);
+        verify(transactionManager).rollback(any());
+        verify(jdbcTemplate, times(1)).update(eq(IdempotencyService.COMPLETE_SQL), any(Object[].class));
+    }
+
+    @Test
+    void failedCompletion_failsRequestAndRollsBackItsWrite() {
+        JdbcTemplate jdbcTemplate = claimingJdbcTemplate();
+        when(jdbcTemplate.update(eq(IdempotencyService.COMPLETE_SQL), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+        IdempotencyService service = service(jdbcTemplate, Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> service.execute("key-1", SCOPE, request("Task"), TaskResponse.class, this::createTask))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void retryOnAnotherNode_replaysStoredResultIncludingVersion() throws Exception {
+        JdbcTemplate nodeAJdbc = claimingJdbcTemplate();
+        TaskResponse original = service(nodeAJdbc, Duration.ofSeconds(1))
+                .execute("key-1", SCOPE, request("Task"), TaskResponse.class, this::createTask);
+        Object[] claim = capturedArgs(nodeAJdbc, IdempotencyService.CLAIM_SQL);
+        Object[] complete = capturedArgs(nodeAJdbc, IdempotencyService.COMPLETE_SQL);
+
+        JdbcTemplate nodeBJdbc = mock(JdbcTemplate.class);
+        when(nodeBJdbc.update(eq(IdempotencyService.CLAIM_SQL), any(Object[].class))).thenReturn(0);
+        stubLookup(nodeBJdbc, (String) claim[2], "COMPLETED", (String) complete[0]);
+        TaskResponse replayed = service(nodeBJdbc, Duration.ofSeconds(1))
+                .execute("key-1", SCOPE, request("Task"), TaskResponse.class, this::createTask);
+
+        assertThat(replayed).isEqualTo(original);
+        assertThat(TaskETag.of(replayed)).isEqualTo(TaskETag.of(original));
+        assertThat(writes).hasValue(1);
+    }
+
+    @Test
+    void requestStillRunningOnAnotherNode_conflictsWhenClaimLockTimesOut() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.update(eq(IdempotencyService.CLAIM_SQL), any(Object[].class)))
+                .thenThrow(new CannotAcquireLockException("canceling statement due to lock timeout"));
+        IdempotencyService service = service(jdbcTemplate, Duration.ofMillis(100));
+
+        assertThatThrownBy(() -> service.execute("key-1", SCOPE, request("Task"), TaskResponse.class, this::createTask))
+                .isInstanceOf(IdempotencyConflictException.class);
+        assertThat(writes).hasValue(0);
+        verify(jdbcTemplate).queryForObject(eq(IdempotencyService.SET_LOCK_TIMEOUT_SQL), eq(String.class), any(Object[].class));
+        verify(transactionManager).rollback(any());
+    }
+
+    private IdempotencyService service(JdbcTemplate jdbcTemplate, Duration waitTimeout) {
+        IdempotencyProperties properties = new IdempotencyProperties(Duration.ofHours(24), 100, waitTimeout,
+                1000, Duration.ofMinutes(10));
+        return new IdempotencyService(Optional.of(jdbcTemplate), transactionManager, properties, meterRegistry);
+    }
+
+    private static PlatformTransactionManager transactionManager() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        return transactionManager;
+    }
+
+    // Every claim succeeds, as for the first request with a key
+    private static JdbcTemplate claimingJdbcTemplate() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+        return jdbcTemplate;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void stubLookup(JdbcTemplate jdbcTemplate, String requestHash, String status, String response) throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("request_hash")).thenReturn(requestHash);
+        when(row.getString("status")).thenReturn(status);
+        when(row.getString("response")).thenReturn(response);
+        when(jdbcTemplate.query(eq(IdempotencyService.LOOKUP_SQL), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocation -> List.of(invocation.<RowMapper<?>>getArgument(1).mapRow(row, 0)));
+    }
+
+    private static Object[] capturedArgs(JdbcTemplate jdbcTemplate, String sql) {
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(eq(sql), args.capture());
+        return args.getValue();
+    }
+
+    private TaskResponse createTask() {
+        return TaskResponse.builder()
+                           .id((long) writes.incrementAndGet())
+                           .title("Task")
+                           .status(TaskStatus.NEW)
+                           .priority(TaskPriority.MEDIUM)
+                           .createdAt(LocalDateTime.of(2025, 11, 11, 15, 21, 35, 123_456_000))
+                           .updatedAt(LocalDateTime.of(2025, 11, 11, 15, 21, 35, 123_456_000))
+                           .version(0L)
+                           .build();
+    }
+
+    private static TaskRequest request(String title) {
+        return TaskRequest.builder().title(title).priority(TaskPriority.MEDIUM).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.config.TaskArchiveProperties;
+import com.xl33zy.task_tracker.config.TaskCacheProperties;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskArchiverTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskCache taskCache;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        taskCache = new TaskCache(new TaskCacheProperties(100, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void archive_stopsAfterFirstPartialBatch() {
+        when(jdbcTemplate.queryForList(eq(TaskArchiver.ARCHIVE_SQL), eq(Long.class), any(), eq(100)))
+                .thenReturn(ids(1, 100), ids(101, 100), ids(201, 42));
+
+        int archived = archiver(true, 100, 10).archive();
+
+        assertThat(archived).isEqualTo(242);
+        verify(jdbcTemplate, times(3)).queryForList(eq(TaskArchiver.ARCHIVE_SQL), eq(Long.class), any(), eq(100));
+        assertThat(meterRegistry.get("tasks.archive.moved").counter().count()).isEqualTo(242.0);
+    }
+
+    @Test
+    void archive_boundsBatchesPerRun() {
+        when(jdbcTemplate.queryForList(eq(TaskArchiver.ARCHIVE_SQL), eq(Long.class), any(), eq(100))).thenReturn(ids(1, 100));
+
+        int archived = archiver(true, 100, 3).archive();
+
+        assertThat(archived).isEqualTo(300);
+        verify(jdbcTemplate, times(3)).queryForList(eq(TaskArchiver.ARCHIVE_SQL), eq(Long.class), any(), eq(100));
+    }
+
+    @Test
+    void archive_bumpsVersionAndEvictsArchivedTasksFromCache() {
+        taskCache.get(1L, id -> Optional.of(TaskResponse.builder().id(id).version(3L).build()));
+        taskCache.get(2L, id -> Optional.of(TaskResponse.builder().id(id).version(1L).build()));
+        when(jdbcTemplate.queryForList(eq(TaskArchiver.ARCHIVE_SQL), eq(Long.class), any(), eq(100))).thenReturn(List.of(1L));
+
+        archiver(true, 100, 3).archive();
+
+        assertThat(TaskArchiver.ARCHIVE_SQL).contains("version = version + 1");
+        assertThat(taskCache.peek(1L)).isEmpty();
+        assertThat(taskCache.peek(2L)).isPresent();
+    }
+
+    @Test
+    void scheduledArchive_disabled_doesNothing() {
+        archiver(false, 100, 3).scheduledArchive();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private TaskArchiver archiver(boolean enabled, int batchSize, int maxBatches) {
+        TaskArchiveProperties properties = new TaskArchiveProperties(enabled, Duration.ofDays(30), batchSize, maxBatches, Duration.ofMinutes(10));
+        return new TaskArchiver(jdbcTemplate, properties, taskCache, meterRegistry);
+    }
+
+    private static List<Long> ids(long first, int count) {
+        return LongStream.range(first, first + count).boxed().toList();
+    }
+}
@@ -0,0 +1,276 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.config.TaskBatchProperties;
+import com.xl33zy.task_tracker.config.TaskCacheProperties;
+import com.xl33zy.task_tracker.dto.TaskBatchItemResult;
+import com.xl33zy.task_tracker.dto.TaskBatchUpdateRequest;
+import com.xl33zy.task_tracker.dto.TaskRequest;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.exception.BadRequestException;
+import com.xl33zy.task_tracker.mapper.TaskMapper;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskEventType;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.repository.TaskRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TaskBatchServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TaskBatchService taskBatchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        taskBatchService = service(new TaskBatchProperties(2, 5, 2, true));
+        when(taskMapper.toResponse(any())).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            return TaskResponse.builder().id(task.getId()).title(task.getTitle()).build();
+        });
+    }
+
+    // ---------------- createTasks ----------------
+    @Test
+    void createTasks_invalidItem_isReportedWithoutFailingBatch() {
+        TaskRequest valid = TaskRequest.builder().title("Valid").build();
+        TaskRequest invalid = TaskRequest.builder().title(" ").build();
+        Task entity = Task.builder().title("Valid").build();
+        when(taskMapper.toEntity(valid)).thenReturn(entity);
+        when(taskRepository.saveAll(List.of(entity))).thenAnswer(invocation -> {
+            entity.setId(10L);
+            return List.of(entity);
+        });
+
+        List<TaskBatchItemResult> results = taskBatchService.createTasks(List.of(valid, invalid));
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(0).getId()).isEqualTo(10L);
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1).getError()).contains("title");
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().type()).isEqualTo(TaskEventType.CREATED);
+        assertThat(event.getValue().taskId()).isEqualTo(10L);
+    }
+
+    @Test
+    void createTasks_failedChunk_retriesItemsOneByOne() {
+        TaskRequest first = TaskRequest.builder().title("First").build();
+        TaskRequest second = TaskRequest.builder().title("Second").status(null).build();
+        Task firstEntity = Task.builder().title("First").status(TaskStatus.NEW).build();
+        Task secondEntity = Task.builder().title("Second").build();
+        when(taskMapper.toEntity(first)).thenReturn(firstEntity);
+        when(taskMapper.toEntity(second)).thenReturn(secondEntity);
+        when(taskRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("status is null"));
+        when(taskRepository.saveAndFlush(firstEntity)).thenAnswer(invocation -> {
+            firstEntity.setId(1L);
+            return firstEntity;
+        });
+        when(taskRepository.saveAndFlush(secondEntity)).thenThrow(new DataIntegrityViolationException("status is null"));
+
+        List<TaskBatchItemResult> results = taskBatchService.createTasks(List.of(first, second));
+
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1).getError()).contains("status is null");
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void createTasks_failedChunkWithoutRetries_reportsItsItemsAsFailed() {
+        TaskBatchService withoutRetries = service(new TaskBatchProperties(2, 5, 2, false));
+        TaskRequest first = TaskRequest.builder().title("First").build();
+        TaskRequest second = TaskRequest.builder().title("Second").build();
+        when(taskMapper.toEntity(any())).thenAnswer(invocation -> Task.builder().title("Task").build());
+        when(taskRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("status is null"));
+
+        List<TaskBatchItemResult> results = withoutRetries.createTasks(List.of(first, second));
+
+        assertThat(results).extracting(TaskBatchItemResult::isSuccess, TaskBatchItemResult::getError)
+                           .containsExactly(tuple(false, "status is null"), tuple(false, "status is null"));
+        verify(taskRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createTasks_failedChunkInCallerTransaction_failsWholeBatch() {
+        TaskRequest first = TaskRequest.builder().title("First").build();
+        TaskRequest second = TaskRequest.builder().title("Second").build();
+        when(taskMapper.toEntity(any())).thenAnswer(invocation -> Task.builder().title("Task").build());
+        when(taskRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("status is null"));
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThatThrownBy(() -> taskBatchService.createTasks(List.of(first, second)))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        verify(taskRepository, never()).saveAndFlush(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void createTasks_tooManyItems_throws() {
+        List<TaskRequest> requests = Arrays.asList(new TaskRequest[6]);
+
+        assertThatThrownBy(() -> taskBatchService.createTasks(requests))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    // ---------------- updateTasks ----------------
+    @Test
+    void updateTasks_missingTask_isReportedAsNotFound() {
+        Task task = Task.builder().id(1L).title("Old").status(TaskStatus.NEW).priority(TaskPriority.LOW).build();
+        TaskBatchUpdateRequest existing = new TaskBatchUpdateRequest();
+        existing.setId(1L);
+        existing.setTitle("New");
+        TaskBatchUpdateRequest missing = new TaskBatchUpdateRequest();
+        missing.setId(2L);
+        when(taskRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(task));
+
+        List<TaskBatchItemResult> results = taskBatchService.updateTasks(List.of(existing, missing));
+
+        verify(taskMapper).updateTaskFromRequest(existing, task);
+        verify(taskRepository).flush();
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1).getError()).contains("Task not found");
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void updateTasks_publishesOldAndNewStatus() {
+        Task task = Task.builder().id(1L).title("Old").status(TaskStatus.NEW).priority(TaskPriority.LOW).build();
+        TaskBatchUpdateRequest request = new TaskBatchUpdateRequest();
+        request.setId(1L);
+        request.setStatus(TaskStatus.DONE);
+        when(taskRepository.findAllById(Set.of(1L))).thenReturn(List.of(task));
+        doAnswer(invocation -> {
+            task.setStatus(TaskStatus.DONE);
+            return null;
+        }).when(taskMapper).updateTaskFromRequest(request, task);
+
+        taskBatchService.updateTasks(List.of(request));
+
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().type()).isEqualTo(TaskEventType.UPDATED);
+        assertThat(event.getValue().oldStatus()).isEqualTo(TaskStatus.NEW);
+        assertThat(event.getValue().newStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(event.getValue().oldPriority()).isEqualTo(TaskPriority.LOW);
+    }
+
+    // ---------------- deleteTasks ----------------
+    @Test
+    void deleteTasks_deletesExistingInOneStatementPerChunk_andPublishesEachDelete() {
+        Task first = Task.builder().id(1L).status(TaskStatus.NEW).priority(TaskPriority.HIGH).build();
+        Task third = Task.builder().id(3L).status(TaskStatus.DONE).priority(TaskPriority.LOW).build();
+        when(taskRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first));
+        when(taskRepository.findAllById(List.of(3L))).thenReturn(List.of(third));
+
+        List<TaskBatchItemResult> results = taskBatchService.deleteTasks(List.of(1L, 2L, 3L));
+
+        verify(taskRepository).deleteAllByIdInBatch(Set.of(1L));
+        verify(taskRepository).deleteAllByIdInBatch(Set.of(3L));
+        assertThat(results).extracting(TaskBatchItemResult::isSuccess).containsExactly(true, false, true);
+        ArgumentCaptor<TaskChangedEvent> events = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues())
+                .extracting(TaskChangedEvent::type, TaskChangedEvent::taskId, TaskChangedEvent::oldStatus)
+                .containsExactly(tuple(TaskEventType.DELETED, 1L, TaskStatus.NEW), tuple(TaskEventType.DELETED, 3L, TaskStatus.DONE));
+    }
+
+    @Test
+    void deleteTasks_chunkAtBulkThreshold_publishesOneBulkChange() {
+        Task first = Task.builder().id(1L).status(TaskStatus.NEW).priority(TaskPriority.HIGH).build();
+        Task second = Task.builder().id(2L).status(TaskStatus.DONE).priority(TaskPriority.HIGH).build();
+        when(taskRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first, second));
+
+        taskBatchService.deleteTasks(List.of(1L, 2L));
+
+        ArgumentCaptor<TaskBulkChangedEvent> event = ArgumentCaptor.forClass(TaskBulkChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        verify(eventPublisher, never()).publishEvent(any(TaskChangedEvent.class));
+        assertThat(event.getValue().changes()).extracting(TaskChangedEvent::taskId).containsExactly(1L, 2L);
+        assertThat(event.getValue().countDeltas()).containsOnly(
+                entry(new TaskBulkChangedEvent.Cell(TaskStatus.NEW, TaskPriority.HIGH), -1L),
+                entry(new TaskBulkChangedEvent.Cell(TaskStatus.DONE, TaskPriority.HIGH), -1L)
+        );
+    }
+
+    @Test
+    void deleteTasks_duplicateId_isDeletedOnce() {
+        Task task = Task.builder().id(1L).status(TaskStatus.NEW).priority(TaskPriority.HIGH).build();
+        when(taskRepository.findAllById(List.of(1L))).thenReturn(List.of(task));
+
+        List<TaskBatchItemResult> results = taskBatchService.deleteTasks(List.of(1L, 1L));
+
+        assertThat(results).extracting(TaskBatchItemResult::isSuccess).containsExactly(true, false);
+        assertThat(results.get(1).getError()).contains("Duplicate id");
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void deleteTasks_failedChunk_retriesItemsOneByOne() {
+        Task first = Task.builder().id(1L).status(TaskStatus.NEW).priority(TaskPriority.HIGH).build();
+        Task second = Task.builder().id(2L).status(TaskStatus.NEW).priority(TaskPriority.HIGH).build();
+        when(taskRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first, second));
+        when(taskRepository.findAllById(List.of(1L))).thenReturn(List.of(first));
+        when(taskRepository.findAllById(List.of(2L))).thenReturn(List.of(second));
+        doThrow(new DataIntegrityViolationException("lock timeout")).when(taskRepository).deleteAllByIdInBatch(Set.of(1L, 2L));
+        doThrow(new DataIntegrityViolationException("lock timeout")).when(taskRepository).deleteAllByIdInBatch(Set.of(2L));
+
+        List<TaskBatchItemResult> results = taskBatchService.deleteTasks(List.of(1L, 2L));
+
+        assertThat(results).extracting(TaskBatchItemResult::isSuccess).containsExactly(true, false);
+        assertThat(results.get(1).getError()).contains("lock timeout");
+    }
+
+    private TaskBatchService service(TaskBatchProperties properties) {
+        return new TaskBatchService(
+                taskRepository,
+                taskMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TaskCache(new TaskCacheProperties(100, Duration.ofMinutes(1))),
+                eventPublisher,
+                transactionManager,
+                properties
+        );
+    }
+}
@@ -0,0 +1,198 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.config.TaskBusProperties;
+import com.xl33zy.task_tracker.config.TaskCacheProperties;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TaskChangeBusTest {
+
+    private static final String OTHER_NODE = "0123456789abcdef";
+
+    private TaskCache taskCache;
+    private TaskStatsService taskStatsService;
+    private TaskEventStream taskEventStream;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskChangeBus bus;
+
+    @BeforeEach
+    void setUp() {
+        taskCache = new TaskCache(new TaskCacheProperties(100, Duration.ofMinutes(1)));
+        taskStatsService = mock(TaskStatsService.class);
+        taskEventStream = mock(TaskEventStream.class);
+        meterRegistry = new SimpleMeterRegistry();
+        jdbcTemplate = mock(JdbcTemplate.class);
+        bus = new TaskChangeBus(jdbcTemplate, new DataSourceProperties(),
+                new TaskBusProperties(true, "task_changes", Duration.ofMillis(20), 3, Duration.ofMillis(500), Duration.ofSeconds(1)),
+                taskCache, taskStatsService, taskEventStream, meterRegistry);
+    }
+
+    @Test
+    void encodeDecode_roundTrips() {
+        TaskChangedEvent created = TaskChangedEvent.created(task(7, TaskStatus.NEW));
+        TaskChangedEvent deleted = TaskChangedEvent.deleted(task(8, TaskStatus.DONE));
+
+        assertThat(TaskChangeBus.decode(TaskChangeBus.encode(OTHER_NODE, created))).isEqualTo(created);
+        assertThat(TaskChangeBus.decode(TaskChangeBus.encode(OTHER_NODE, deleted))).isEqualTo(deleted);
+    }
+
+    @Test
+    void encodeDecodeBulk_keepsOnlyCountDeltas() {
+        TaskBulkChangedEvent bulk = TaskBulkChangedEvent.of(List.of(
+                TaskChangedEvent.created(task(7, TaskStatus.NEW)),
+                TaskChangedEvent.updated(TaskStatus.NEW, TaskPriority.MEDIUM, task(8, TaskStatus.DONE))
+        ));
+
+        TaskBulkChangedEvent decoded = TaskChangeBus.decodeBulk(TaskChangeBus.encode(OTHER_NODE, bulk));
+
+        assertThat(decoded.changes()).isEmpty();
+        assertThat(decoded.countDeltas()).isEqualTo(bulk.countDeltas());
+        assertThat(decoded.occurredAt()).isEqualTo(bulk.occurredAt());
+    }
+
+    @Test
+    void transactionChanges_areSentInOneStatementBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bus.onTaskChanged(TaskChangedEvent.created(task(1, TaskStatus.NEW)));
+            bus.onTaskChanged(TaskChangedEvent.deleted(task(2, TaskStatus.DONE)));
+            verifyNoInteractions(jdbcTemplate);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.unbindResourceIfPossible(bus);
+        }
+
+        verify(jdbcTemplate, times(1)).execute(eq("SELECT pg_notify(?, p) FROM unnest(?::text[]) p"), any(PreparedStatementCallback.class));
+        assertThat(meterRegistry.get("tasks.bus.messages").tag("direction", "sent").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void changeOutsideTransaction_isNotSent() {
+        bus.onTaskChanged(TaskChangedEvent.created(task(1, TaskStatus.NEW)));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void payloads_packChangesBelowPayloadLimit() {
+        List<TaskChangedEvent> changes = new ArrayList<>();
+        for (long id = 1; id <= 2; id++) {
+            changes.add(TaskChangedEvent.created(task(id, TaskStatus.NEW)));
+        }
+        List<String> payloads = bus.payloads(changes, List.of());
+        assertThat(payloads).hasSize(1);
+        assertThat(payloads.get(0).split("\n")).extracting(TaskChangeBus::decode).containsExactlyElementsOf(changes);
+
+        // Just under the bulk threshold of a production-sized bus, enough to need several notifications
+        TaskChangeBus largeBus = new TaskChangeBus(jdbcTemplate, new DataSourceProperties(),
+                new TaskBusProperties(true, "task_changes", Duration.ofMillis(20), 500, Duration.ofMillis(500), Duration.ofSeconds(1)),
+                taskCache, taskStatsService, taskEventStream, meterRegistry);
+        List<TaskChangedEvent> many = new ArrayList<>();
+        for (long id = 1; id < 500; id++) {
+            many.add(TaskChangedEvent.updated(TaskStatus.NEW, TaskPriority.MEDIUM, task(id, TaskStatus.IN_PROGRESS)));
+        }
+        List<String> packed = largeBus.payloads(many, List.of());
+        assertThat(packed).hasSizeGreaterThan(1).allSatisfy(payload -> assertThat(payload.length()).isLessThanOrEqualTo(TaskChangeBus.MAX_PAYLOAD_LENGTH));
+        assertThat(packed.stream().flatMap(payload -> Stream.of(payload.split("\n"))).map(TaskChangeBus::decode).toList())
+                .containsExactlyElementsOf(many);
+    }
+
+    @Test
+    void payloads_atCoalesceThreshold_becomeOneBulkChange() {
+        List<TaskChangedEvent> changes = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            changes.add(TaskChangedEvent.created(task(id, TaskStatus.NEW)));
+        }
+
+        List<String> payloads = bus.payloads(changes, List.of());
+
+        assertThat(payloads).hasSize(1);
+        assertThat(TaskChangeBus.decodeBulk(payloads.get(0)).countDeltas())
+                .containsOnly(entry(new TaskBulkChangedEvent.Cell(TaskStatus.NEW, TaskPriority.MEDIUM), 3L));
+    }
+
+    @Test
+    void dispatch_appliesRemoteChangesAndSkipsOwn() {
+        TaskChangedEvent remote = TaskChangedEvent.updated(TaskStatus.NEW, TaskPriority.MEDIUM, task(1, TaskStatus.DONE));
+        TaskChangedEvent own = TaskChangedEvent.created(task(2, TaskStatus.NEW));
+        cache(1L);
+        cache(2L);
+
+        bus.dispatch(List.of(TaskChangeBus.encode(OTHER_NODE, remote), TaskChangeBus.encode(bus.nodeId(), own), "garbage"));
+
+        assertThat(taskCache.peek(1L)).isEmpty();
+        assertThat(taskCache.peek(2L)).isPresent();
+        verify(taskStatsService).onTaskChanged(remote);
+        verify(taskEventStream).publish(remote);
+        verifyNoMoreInteractions(taskStatsService, taskEventStream);
+    }
+
+    @Test
+    void dispatch_burstAboveThreshold_clearsWholeCache() {
+        cache(1L);
+        cache(99L);
+        List<String> burst = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            burst.add(TaskChangeBus.encode(OTHER_NODE, TaskChangedEvent.created(task(id, TaskStatus.NEW))));
+        }
+
+        bus.dispatch(burst);
+
+        assertThat(taskCache.peek(99L)).isEmpty();
+        assertThat(meterRegistry.get("tasks.bus.cache.full.invalidations").counter().count()).isEqualTo(1.0);
+        verify(taskStatsService, times(3)).onTaskChanged(any());
+    }
+
+    @Test
+    void dispatch_remoteBulk_clearsCacheAppliesDeltasAndResetsStream() {
+        cache(1L);
+        TaskBulkChangedEvent bulk = TaskBulkChangedEvent.of(List.of(TaskChangedEvent.deleted(task(5, TaskStatus.DONE))));
+
+        bus.dispatch(List.of(TaskChangeBus.encode(OTHER_NODE, bulk)));
+
+        assertThat(taskCache.peek(1L)).isEmpty();
+        ArgumentCaptor<TaskBulkChangedEvent> applied = ArgumentCaptor.forClass(TaskBulkChangedEvent.class);
+        verify(taskStatsService).onTasksChanged(applied.capture());
+        assertThat(applied.getValue().countDeltas()).isEqualTo(bulk.countDeltas());
+        verify(taskEventStream).publishReset();
+        verifyNoMoreInteractions(taskEventStream);
+    }
+
+    private void cache(Long id) {
+        taskCache.get(id, key -> Optional.of(TaskResponse.builder().id(key).title("Task " + key).build()));
+    }
+
+    private static Task task(long id, TaskStatus status) {
+        return Task.builder()
+                   .id(id)
+                   .title("Task " + id)
+                   .status(status)
+                   .priority(TaskPriority.MEDIUM)
+                   .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.config.TaskAuditProperties;
+import com.xl33zy.task_tracker.config.TaskAuditProperties.OverflowPolicy;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskEventLogTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Long> writtenTaskIds;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        writtenTaskIds = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(eq(TaskEventLog.INSERT_SQL), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    Collection<TaskChangedEvent> batch = invocation.getArgument(1);
+                    synchronized (writtenTaskIds) {
+                        batch.forEach(event -> writtenTaskIds.add(event.taskId()));
+                    }
+                    return new int[0][];
+                });
+    }
+
+    @Test
+    void stop_flushesEverythingStillBuffered() {
+        TaskEventLog eventLog = new TaskEventLog(jdbcTemplate, properties(100, OverflowPolicy.BLOCK), meterRegistry);
+        eventLog.start();
+
+        for (long id = 1; id <= 50; id++) {
+            eventLog.onTaskChanged(TaskChangedEvent.created(task(id, TaskStatus.NEW)));
+        }
+        eventLog.stop();
+
+        assertThat(writtenTaskIds).hasSize(50);
+        assertThat(eventLog.buffered()).isZero();
+        assertThat(meterRegistry.get("tasks.audit.events").tag("outcome", "written").counter().count()).isEqualTo(50.0);
+    }
+
+    @Test
+    void updateWithoutStatusOrPriorityChange_isNotRecorded() {
+        TaskEventLog eventLog = new TaskEventLog(jdbcTemplate, properties(100, OverflowPolicy.BLOCK), meterRegistry);
+
+        eventLog.onTaskChanged(TaskChangedEvent.updated(TaskStatus.NEW, TaskPriority.MEDIUM, task(1, TaskStatus.NEW)));
+        eventLog.onTaskChanged(TaskChangedEvent.updated(TaskStatus.NEW, TaskPriority.MEDIUM, task(2, TaskStatus.DONE)));
+
+        assertThat(writtenTaskIds).containsExactly(2L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fullBuffer_dropPolicy_dropsAndCounts() throws InterruptedException {
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(eq(TaskEventLog.INSERT_SQL), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    writerBlocked.countDown();
+                    release.await();
+                    return new int[0][];
+                });
+        TaskEventLog eventLog = new TaskEventLog(jdbcTemplate, properties(2, OverflowPolicy.DROP), meterRegistry);
+        eventLog.start();
+
+        eventLog.onTaskChanged(TaskChangedEvent.created(task(1, TaskStatus.NEW)));
+        assertThat(writerBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long id = 2; id <= 5; id++) {
+            eventLog.onTaskChanged(TaskChangedEvent.created(task(id, TaskStatus.NEW)));
+        }
+
+        assertThat(eventLog.buffered()).isEqualTo(2);
+        assertThat(meterRegistry.get("tasks.audit.events").tag("outcome", "dropped").counter().count()).isEqualTo(2.0);
+
+        release.countDown();
+        eventLog.stop();
+        assertThat(eventLog.buffered()).isZero();
+    }
+
+    private static TaskAuditProperties properties(int capacity, OverflowPolicy policy) {
+        return new TaskAuditProperties(capacity, 10, Duration.ofMillis(50), policy, Duration.ofMillis(10), Duration.ofSeconds(5));
+    }
+
+    private static Task task(long id, TaskStatus status) {
+        return Task.builder()
+                   .id(id)
+                   .title("Task " + id)
+                   .status(status)
+                   .priority(TaskPriority.MEDIUM)
+                   .build();
+    }
+}
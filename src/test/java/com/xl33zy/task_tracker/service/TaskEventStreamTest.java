@@ -0,0 +1,246 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.config.TaskStreamProperties;
+import com.xl33zy.task_tracker.config.TaskStreamProperties.SlowSubscriberPolicy;
+import com.xl33zy.task_tracker.controller.TaskStreamController;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class TaskEventStreamTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService senders = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    @Test
+    void filteredSubscriber_receivesOnlyMatchingChanges() throws Exception {
+        TaskEventStream stream = stream(1000, 256, SlowSubscriberPolicy.DISCONNECT);
+        MockMvc mockMvc = mockMvc(stream);
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream").param("status", "DONE"))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        stream.publish(TaskChangedEvent.created(task(1, TaskStatus.NEW)));
+        stream.publish(TaskChangedEvent.updated(TaskStatus.NEW, TaskPriority.MEDIUM, task(2, TaskStatus.DONE)));
+        stream.publish(TaskChangedEvent.deleted(task(3, TaskStatus.DONE)));
+
+        String body = await(result.getResponse(), content -> content.contains("event:deleted"));
+        assertThat(body).contains("id:2\nevent:updated\n", "id:3\nevent:deleted\n", "\"taskId\":2");
+        assertThat(body).doesNotContain("id:1\n", "\"taskId\":1");
+    }
+
+    @Test
+    void reconnectWithLastEventId_replaysOnlyMissedEvents() throws Exception {
+        TaskEventStream stream = stream(1000, 256, SlowSubscriberPolicy.DISCONNECT);
+        MockMvc mockMvc = mockMvc(stream);
+        for (long id = 1; id <= 5; id++) {
+            stream.publish(TaskChangedEvent.created(task(id, TaskStatus.NEW)));
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream").header("Last-Event-ID", "3"))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        String body = await(result.getResponse(), content -> content.contains("id:5\n"));
+        assertThat(body).contains("id:4\n").doesNotContain("id:3\n", "event:" + TaskEventStream.RESET_EVENT);
+    }
+
+    @Test
+    void reconnectBehindReplayWindow_receivesReset() throws Exception {
+        TaskEventStream stream = stream(3, 256, SlowSubscriberPolicy.DISCONNECT);
+        MockMvc mockMvc = mockMvc(stream);
+        for (long id = 1; id <= 10; id++) {
+            stream.publish(TaskChangedEvent.created(task(id, TaskStatus.NEW)));
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream").param("lastEventId", "2"))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        String body = await(result.getResponse(), content -> content.contains("event:" + TaskEventStream.RESET_EVENT));
+        assertThat(body).doesNotContain("id:");
+    }
+
+    @Test
+    void slowSubscriber_disconnectPolicy_closesOnlyThatSubscriber() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TaskEventStream stream = stream(1000, 2, SlowSubscriberPolicy.DISCONNECT, Duration.ofMinutes(1), stalledSenders(release, false));
+        stream.subscribe(null, null, null);
+        stream.subscribe(TaskStatus.DONE.name(), null, null);
+
+        for (long id = 1; id <= 3; id++) {
+            stream.publish(TaskChangedEvent.created(task(id, TaskStatus.NEW)));
+        }
+
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("tasks.stream.slow.disconnects").counter().count()).isEqualTo(1.0);
+        release.countDown();
+    }
+
+    @Test
+    void slowSubscriber_dropPolicy_keepsSubscriberAndCountsDrops() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TaskEventStream stream = stream(1000, 2, SlowSubscriberPolicy.DROP, Duration.ofMinutes(1), stalledSenders(release, false));
+        stream.subscribe(null, null, null);
+
+        for (long id = 1; id <= 5; id++) {
+            stream.publish(TaskChangedEvent.created(task(id, TaskStatus.NEW)));
+        }
+
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("tasks.stream.dropped").counter().count()).isEqualTo(3.0);
+        release.countDown();
+    }
+
+    @Test
+    void bulkReset_replacesQueuedEventsWithoutDisconnecting() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TaskEventStream stream = stream(1000, 2, SlowSubscriberPolicy.DISCONNECT, Duration.ofMinutes(1), stalledSenders(release, false));
+        stream.subscribe(null, null, null);
+
+        stream.publish(TaskChangedEvent.created(task(1, TaskStatus.NEW)));
+        stream.publish(TaskChangedEvent.created(task(2, TaskStatus.NEW)));
+        stream.publishReset();
+        stream.publish(TaskChangedEvent.created(task(3, TaskStatus.NEW)));
+
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("tasks.stream.slow.disconnects").counter().count()).isZero();
+        release.countDown();
+    }
+
+    @Test
+    void reconnectAcrossBulkReset_receivesResetAndLaterEvents() throws Exception {
+        TaskEventStream stream = stream(1000, 256, SlowSubscriberPolicy.DISCONNECT);
+        MockMvc mockMvc = mockMvc(stream);
+        stream.publish(TaskChangedEvent.created(task(1, TaskStatus.NEW)));
+        stream.publish(TaskChangedEvent.created(task(2, TaskStatus.NEW)));
+        stream.onTasksChanged(TaskBulkChangedEvent.of(List.of(TaskChangedEvent.created(task(3, TaskStatus.NEW)))));
+        stream.publish(TaskChangedEvent.created(task(4, TaskStatus.NEW)));
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream").header("Last-Event-ID", "1"))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        String body = await(result.getResponse(), content -> content.contains("\"taskId\":4"));
+        assertThat(body).contains("id:3\nevent:" + TaskEventStream.RESET_EVENT, "id:4\nevent:created\n")
+                        .doesNotContain("id:2\n");
+    }
+
+    @Test
+    void stalledSubscriber_doesNotHoldUpOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TaskEventStream stream = stream(1000, 2, SlowSubscriberPolicy.DISCONNECT, Duration.ofMinutes(1), stalledSenders(release, true));
+        stream.subscribe(null, null, null);
+        MvcResult result = mockMvc(stream).perform(get("/api/tasks/stream"))
+                                          .andExpect(request().asyncStarted())
+                                          .andReturn();
+
+        // The stalled client falls behind and is disconnected; the other keeps receiving each event as it comes
+        for (long id = 1; id <= 3; id++) {
+            stream.publish(TaskChangedEvent.created(task(id, TaskStatus.NEW)));
+            String expected = "id:" + id + "\n";
+            assertThat(await(result.getResponse(), content -> content.contains(expected))).contains(expected);
+        }
+
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("tasks.stream.slow.disconnects").counter().count()).isEqualTo(1.0);
+        release.countDown();
+    }
+
+    @Test
+    void sendPendingLongerThanSendTimeout_closesSubscriber() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TaskEventStream stream = stream(1000, 256, SlowSubscriberPolicy.DROP, Duration.ofMillis(50), stalledSenders(release, true));
+        stream.subscribe(null, null, null);
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (stream.subscriberCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(stream.subscriberCount()).isZero();
+        assertThat(meterRegistry.get("tasks.stream.slow.disconnects").counter().count()).isEqualTo(1.0);
+        release.countDown();
+    }
+
+    private TaskEventStream stream(int replayCapacity, int queueCapacity, SlowSubscriberPolicy policy) {
+        return stream(replayCapacity, queueCapacity, policy, Duration.ofMinutes(1), senders);
+    }
+
+    private TaskEventStream stream(int replayCapacity, int queueCapacity, SlowSubscriberPolicy policy,
+                                   Duration sendTimeout, Executor senders) {
+        TaskStreamProperties properties = new TaskStreamProperties(replayCapacity, queueCapacity, policy,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), sendTimeout);
+        return new TaskEventStream(properties, meterRegistry, scheduler, senders);
+    }
+
+    private static MockMvc mockMvc(TaskEventStream stream) {
+        return MockMvcBuilders.standaloneSetup(new TaskStreamController(stream)).build();
+    }
+
+    // Holds drains back until released, as if their client had stopped reading: all of them, or only the first
+    private Executor stalledSenders(CountDownLatch release, boolean firstOnly) {
+        AtomicBoolean first = new AtomicBoolean(true);
+        return drain -> {
+            boolean stall = first.getAndSet(false) || !firstOnly;
+            senders.execute(() -> {
+                try {
+                    if (stall) {
+                        release.await();
+                    }
+                    drain.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        };
+    }
+
+    private static String await(MockHttpServletResponse response, Predicate<String> condition) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String content = response.getContentAsString();
+        while (!condition.test(content) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+
+    private static Task task(long id, TaskStatus status) {
+        return Task.builder()
+                   .id(id)
+                   .title("Task " + id)
+                   .status(status)
+                   .priority(TaskPriority.MEDIUM)
+                   .build();
+    }
+}
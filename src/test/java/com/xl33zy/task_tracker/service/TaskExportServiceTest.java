@@ -0,0 +1,111 @@
+package com.xl33zy.task_tracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.exception.BadRequestException;
+import com.xl33zy.task_tracker.mapper.TaskMapper;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaskExportServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskExportService taskExportService;
+
+    private Task task1;
+    private Task task2;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        taskExportService = new TaskExportService(
+                taskRepository,
+                taskMapper,
+                Optional.of(entityManager),
+                new ObjectMapper().registerModule(new JavaTimeModule()),
+                transactionManager
+        );
+
+        LocalDateTime timestamp = LocalDateTime.of(2025, 11, 11, 15, 21, 35);
+        task1 = Task.builder().id(1L).title("Clean room").description("Vacuum, then mop")
+                    .status(TaskStatus.NEW).priority(TaskPriority.HIGH)
+                    .createdAt(timestamp).updatedAt(timestamp).build();
+        task2 = Task.builder().id(2L).title("Say \"hi\"")
+                    .status(TaskStatus.DONE).priority(TaskPriority.LOW)
+                    .createdAt(timestamp).updatedAt(timestamp).build();
+        when(taskMapper.toResponse(any())).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            return TaskResponse.builder()
+                               .id(task.getId()).title(task.getTitle()).description(task.getDescription())
+                               .status(task.getStatus()).priority(task.getPriority())
+                               .createdAt(task.getCreatedAt()).updatedAt(task.getUpdatedAt())
+                               .build();
+        });
+    }
+
+    @Test
+    void exportTasks_ndjson_writesOneObjectPerLineAndDetachesRows() {
+        when(taskRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(task1, task2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = taskExportService.exportTasks(TaskDataFormat.NDJSON, null, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"id\":1,").contains("\"createdAt\":\"2025-11-11 15:21:35\"");
+        verify(entityManager).detach(task1);
+        verify(entityManager).detach(task2);
+    }
+
+    @Test
+    void exportTasks_csv_escapesFieldsAndAppliesFilters() {
+        when(taskRepository.streamByStatusAndPriorityOrderByIdAsc(TaskStatus.NEW, TaskPriority.HIGH))
+                .thenReturn(Stream.of(task1, task2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        taskExportService.exportTasks(TaskDataFormat.CSV, "new", "high", out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,title,description,status,priority,createdAt,updatedAt\n"
+                        + "1,Clean room,\"Vacuum, then mop\",NEW,HIGH,2025-11-11 15:21:35,2025-11-11 15:21:35\n"
+                        + "2,\"Say \"\"hi\"\"\",,DONE,LOW,2025-11-11 15:21:35,2025-11-11 15:21:35\n");
+    }
+
+    @Test
+    void fromString_unknownFormat_throws() {
+        assertThatThrownBy(() -> TaskDataFormat.fromString("xml"))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,171 @@
+package com.xl33zy.task_tracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xl33zy.task_tracker.config.TaskImportProperties;
+import com.xl33zy.task_tracker.dto.TaskImportReport;
+import com.xl33zy.task_tracker.model.TaskEventType;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TaskImportServiceTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final AtomicLong nextId = new AtomicLong(100);
+
+    private final List<String> copiedChunks = new ArrayList<>();
+
+    private TaskImportService taskImportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString(), any(Reader.class))).thenAnswer(invocation -> {
+            StringWriter chunk = new StringWriter();
+            ((Reader) invocation.getArgument(1)).transferTo(chunk);
+            copiedChunks.add(chunk.toString());
+            return 0L;
+        });
+        when(jdbcTemplate.queryForList(eq(TaskImportService.NEXT_IDS_SQL), eq(Long.class), anyInt())).thenAnswer(invocation -> {
+            int rows = invocation.getArgument(2);
+            return LongStream.range(0, rows).map(i -> nextId.getAndIncrement()).boxed().toList();
+        });
+
+        taskImportService = new TaskImportService(
+                dataSource,
+                jdbcTemplate,
+                mock(PlatformTransactionManager.class),
+                eventPublisher,
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TaskImportProperties(2, 10)
+        );
+    }
+
+    @Test
+    void importTasks_ndjson_copiesValidRowsInChunksAndReportsRejections() throws Exception {
+        String body = """
+                {"title":"First","description":"Say \\"hi\\"","status":"IN_PROGRESS","priority":"HIGH"}
+                {"title":""}
+
+                {"title":"Second"}
+                not json
+                {"title":"Third","description":""}
+                """;
+
+        TaskImportReport report = taskImportService.importTasks(TaskDataFormat.NDJSON, stream(body));
+
+        assertThat(report.getAccepted()).isEqualTo(3);
+        assertThat(report.getRejected()).isEqualTo(2);
+        assertThat(report.getRejections()).extracting("line").containsExactly(2L, 5L);
+        assertThat(copiedChunks).containsExactly(
+                "100,\"First\",\"Say \"\"hi\"\"\",IN_PROGRESS,HIGH\n101,\"Second\",,NEW,MEDIUM\n",
+                "102,\"Third\",\"\",NEW,MEDIUM\n"
+        );
+        // A connection per chunk transaction
+        verify(connection, times(2)).close();
+
+        // One bulk change per chunk, carrying a change per row
+        ArgumentCaptor<TaskBulkChangedEvent> events = ArgumentCaptor.forClass(TaskBulkChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        verify(eventPublisher, never()).publishEvent(any(TaskChangedEvent.class));
+        assertThat(events.getAllValues()).extracting(event -> event.changes().size()).containsExactly(2, 1);
+        assertThat(events.getAllValues().stream().flatMap(event -> event.changes().stream()))
+                .extracting(TaskChangedEvent::type, TaskChangedEvent::taskId, TaskChangedEvent::newStatus, TaskChangedEvent::newPriority)
+                .containsExactly(
+                        tuple(TaskEventType.CREATED, 100L, TaskStatus.IN_PROGRESS, TaskPriority.HIGH),
+                        tuple(TaskEventType.CREATED, 101L, TaskStatus.NEW, TaskPriority.MEDIUM),
+                        tuple(TaskEventType.CREATED, 102L, TaskStatus.NEW, TaskPriority.MEDIUM)
+                );
+    }
+
+    @Test
+    void importTasks_csv_handlesQuotedFieldsAndInvalidEnums() throws Exception {
+        String body = "id,title,description,status,priority\n"
+                + "1,Clean room,\"Vacuum,\nthen mop\",done,low\n"
+                + "2,Broken,,UNKNOWN,LOW\n"
+                + "3,\"Quoted \"\"title\"\"\",,,\n";
+
+        TaskImportReport report = taskImportService.importTasks(TaskDataFormat.CSV, stream(body));
+
+        assertThat(report.getAccepted()).isEqualTo(2);
+        assertThat(report.getRejections()).hasSize(1);
+        assertThat(report.getRejections().get(0).getLine()).isEqualTo(4);
+        assertThat(report.getRejections().get(0).getError()).contains("Invalid status");
+        assertThat(copiedChunks).containsExactly(
+                "100,\"Clean room\",\"Vacuum,\nthen mop\",DONE,LOW\n101,\"Quoted \"\"title\"\"\",,NEW,MEDIUM\n"
+        );
+    }
+
+    @Test
+    void importTasks_failedChunk_isReportedAndLaterChunksContinue() throws Exception {
+        when(copyManager.copyIn(anyString(), any(Reader.class)))
+                .thenThrow(new SQLException("value too long"))
+                .thenReturn(1L);
+        String body = "{\"title\":\"A\"}\n{\"title\":\"B\"}\n{\"title\":\"C\"}\n";
+
+        TaskImportReport report = taskImportService.importTasks(TaskDataFormat.NDJSON, stream(body));
+
+        assertThat(report.getAccepted()).isEqualTo(1);
+        assertThat(report.getRejected()).isEqualTo(2);
+        assertThat(report.getRejections().get(0).getError()).startsWith("Lines 1-2 were not imported");
+        // Only the committed chunk announces its task
+        ArgumentCaptor<TaskBulkChangedEvent> event = ArgumentCaptor.forClass(TaskBulkChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().changes()).hasSize(1);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
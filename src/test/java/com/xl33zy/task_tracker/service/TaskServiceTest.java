@@ -1,24 +1,43 @@
 package com.xl33zy.task_tracker.service;
 
+import com.xl33zy.task_tracker.config.TaskCacheProperties;
+import com.xl33zy.task_tracker.dto.TaskCursorPage;
 import com.xl33zy.task_tracker.dto.TaskRequest;
 import com.xl33zy.task_tracker.dto.TaskResponse;
 import com.xl33zy.task_tracker.dto.TaskUpdateRequest;
+import com.xl33zy.task_tracker.exception.BadRequestException;
+import com.xl33zy.task_tracker.exception.PreconditionFailedException;
 import com.xl33zy.task_tracker.mapper.TaskMapper;
 import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskEventType;
 import com.xl33zy.task_tracker.model.TaskPriority;
 import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.repository.KeysetPosition;
+import com.xl33zy.task_tracker.repository.TaskField;
 import com.xl33zy.task_tracker.repository.TaskRepository;
+import com.xl33zy.task_tracker.repository.TaskSearchHit;
+import com.xl33zy.task_tracker.repository.TaskSortField;
+import com.xl33zy.task_tracker.repository.TaskVersion;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 class TaskServiceTest {
@@ -29,6 +48,17 @@ class TaskServiceTest {
     @Mock
     private TaskMapper taskMapper;
 
+    @Spy
+    private TaskCache taskCache = new TaskCache(new TaskCacheProperties(100, Duration.ofMinutes(1)));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TaskMetrics taskMetrics = new TaskMetrics(meterRegistry);
+
     @InjectMocks
     private TaskService taskService;
 
@@ -83,7 +113,7 @@ class TaskServiceTest {
         when(taskRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(task)));
         when(taskMapper.toResponse(task)).thenReturn(taskResponse);
 
-        List<TaskResponse> results = taskService.getAllTasks(0, 10, null);
+        List<TaskResponse> results = taskService.getAllTasks(0, 10, null, null, null, null);
 
         assertThat(results).hasSize(1).contains(taskResponse);
         verify(taskRepository).findAll(pageable);
@@ -95,12 +125,129 @@ class TaskServiceTest {
         when(taskRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(task)));
         when(taskMapper.toResponse(task)).thenReturn(taskResponse);
 
-        List<TaskResponse> results = taskService.getAllTasks(0, 10, "title,desc");
+        List<TaskResponse> results = taskService.getAllTasks(0, 10, "title,desc", null, null, null);
 
         assertThat(results).hasSize(1).contains(taskResponse);
         verify(taskRepository).findAll(pageable);
     }
 
+    @Test
+    void getAllTasks_recordsRowsByFilterCombination() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+        when(taskRepository.findByStatus(TaskStatus.NEW, pageable)).thenReturn(new PageImpl<>(List.of(task, task)));
+        when(taskRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(task)));
+        when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+
+        taskService.getAllTasks(0, 10, null, "new", null, null);
+        taskService.getAllTasks(0, 10, null, null, null, null);
+
+        DistributionSummary byStatus = meterRegistry.get(TaskMetrics.QUERY_ROWS)
+                                                    .tags("pagination", "offset", "filter", "status")
+                                                    .summary();
+        DistributionSummary unfiltered = meterRegistry.get(TaskMetrics.QUERY_ROWS)
+                                                      .tags("pagination", "offset", "filter", "none")
+                                                      .summary();
+        assertThat(byStatus.count()).isEqualTo(1);
+        assertThat(byStatus.totalAmount()).isEqualTo(2.0);
+        assertThat(unfiltered.count()).isEqualTo(1);
+        assertThat(unfiltered.totalAmount()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getAllTasks_withFields_usesProjectionInsteadOfEntities() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+        TaskResponse projected = TaskResponse.builder().id(1L).title("Test Task").status(TaskStatus.NEW).build();
+        when(taskRepository.findProjected(EnumSet.of(TaskField.ID, TaskField.TITLE, TaskField.STATUS), TaskStatus.NEW, null, pageable))
+                .thenReturn(List.of(projected));
+
+        List<TaskResponse> results = taskService.getAllTasks(0, 10, null, "new", null, "title, status");
+
+        assertThat(results).containsExactly(projected);
+        verify(taskRepository, never()).findByStatus(any(), any());
+        verifyNoInteractions(taskMapper);
+    }
+
+    @Test
+    void getAllTasks_withUnknownField_throws() {
+        assertThatThrownBy(() -> taskService.getAllTasks(0, 10, null, null, null, "title,secret"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("secret");
+    }
+
+    // ---------------- getTasksByCursor ----------------
+    @Test
+    void getTasksByCursor_firstPage_returnsNextCursor() {
+        Task second = Task.builder().id(2L).title("Second").status(TaskStatus.NEW).priority(TaskPriority.LOW).build();
+        when(taskRepository.findKeysetPage(null, null, TaskSortField.ID, Sort.Direction.ASC, null, 2))
+                .thenReturn(List.of(task, second));
+        when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+
+        TaskCursorPage result = taskService.getTasksByCursor("", 1, null, null, null);
+
+        assertThat(result.getItems()).containsExactly(taskResponse);
+        assertThat(result.getNextCursor()).isNotNull();
+        TaskCursor next = TaskCursor.decode(result.getNextCursor());
+        assertThat(next.sortField()).isEqualTo(TaskSortField.ID);
+        assertThat(next.lastId()).isEqualTo(1L);
+    }
+
+    @Test
+    void getTasksByCursor_withCursor_seeksAfterLastKey() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 11, 15, 21, 35);
+        String cursor = new TaskCursor(TaskSortField.CREATED_AT, Sort.Direction.DESC, 7L, createdAt.toString()).encode();
+        when(taskRepository.findKeysetPage(TaskStatus.NEW, null, TaskSortField.CREATED_AT, Sort.Direction.DESC,
+                new KeysetPosition(createdAt, 7L), 11))
+                .thenReturn(List.of(task));
+        when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+
+        TaskCursorPage result = taskService.getTasksByCursor(cursor, 10, "title,asc", "new", null);
+
+        assertThat(result.getItems()).containsExactly(taskResponse);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getTasksByCursor_invalidCursor_throws() {
+        assertThatThrownBy(() -> taskService.getTasksByCursor("not-a-cursor", 10, null, null, null))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    // ---------------- searchTasks ----------------
+    @Test
+    void searchTasks_firstPage_returnsRankCursor() {
+        Task second = Task.builder().id(2L).title("Second").status(TaskStatus.NEW).priority(TaskPriority.LOW).build();
+        when(taskRepository.search("clean room", TaskStatus.NEW, null, null, 2))
+                .thenReturn(List.of(new TaskSearchHit(task, 0.6f), new TaskSearchHit(second, 0.3f)));
+        when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+
+        TaskCursorPage result = taskService.searchTasks("clean room", "", 1, "new", null);
+
+        assertThat(result.getItems()).containsExactly(taskResponse);
+        TaskSearchCursor next = TaskSearchCursor.decode(result.getNextCursor());
+        assertThat(next.lastRank()).isEqualTo(0.6f);
+        assertThat(next.lastId()).isEqualTo(1L);
+    }
+
+    @Test
+    void searchTasks_withCursor_seeksAfterLastHit() {
+        String cursor = new TaskSearchCursor(0.0607927f, 7L).encode();
+        when(taskRepository.search("room", null, null, new KeysetPosition(0.0607927f, 7L), 11))
+                .thenReturn(List.of(new TaskSearchHit(task, 0.05f)));
+        when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+
+        TaskCursorPage result = taskService.searchTasks("room", cursor, 10, null, null);
+
+        assertThat(result.getItems()).containsExactly(taskResponse);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void searchTasks_blankQuery_throws() {
+        assertThatThrownBy(() -> taskService.searchTasks(" ", "", 10, null, null))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(taskRepository);
+    }
+
     // ---------------- getTaskById ----------------
     @Test
     void getTaskById_existing_returnsResponse() {
@@ -112,6 +259,30 @@ class TaskServiceTest {
         assertThat(result).isPresent().contains(taskResponse);
     }
 
+    @Test
+    void getTaskById_repeated_isServedFromCache() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+
+        taskService.getTaskById(1L);
+        Optional<TaskResponse> result = taskService.getTaskById(1L);
+
+        assertThat(result).isPresent().contains(taskResponse);
+        verify(taskRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getTaskById_afterDelete_isNotServedFromCache() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+        taskService.getTaskById(1L);
+
+        taskService.deleteTask(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThat(taskService.getTaskById(1L)).isEmpty();
+    }
+
     @Test
     void getTaskById_nonExisting_returnsEmpty() {
         when(taskRepository.findById(2L)).thenReturn(Optional.empty());
@@ -121,6 +292,27 @@ class TaskServiceTest {
         assertThat(result).isEmpty();
     }
 
+    // ---------------- getTaskETag ----------------
+    @Test
+    void getTaskETag_cached_doesNotQueryRepository() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 11, 11, 15, 21, 35);
+        taskResponse.setVersion(5L);
+        taskResponse.setUpdatedAt(updatedAt);
+        taskCache.putOnCommit(taskResponse);
+
+        assertThat(taskService.getTaskETag(1L)).contains(TaskETag.of(5L, updatedAt));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getTaskETag_notCached_readsVersionOnly() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 11, 11, 15, 21, 35);
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(new TaskVersion(2L, updatedAt)));
+
+        assertThat(taskService.getTaskETag(1L)).contains(TaskETag.of(2L, updatedAt));
+        verify(taskRepository, never()).findById(any());
+    }
+
     // ---------------- patchTask ----------------
     @Test
     void patchTask_existing_updatesAndReturnsResponse() {
@@ -135,14 +327,67 @@ class TaskServiceTest {
             return null;
         }).when(taskMapper).updateTaskFromRequest(request, task);
 
-        when(taskRepository.save(task)).thenReturn(task);
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
         when(taskMapper.toResponse(task)).thenReturn(taskResponse);
 
-        Optional<TaskResponse> result = taskService.patchTask(1L, request);
+        Optional<TaskResponse> result = taskService.patchTask(1L, request, null);
 
         assertThat(result).isPresent().contains(taskResponse);
         verify(taskMapper).updateTaskFromRequest(request, task);
-        verify(taskRepository).save(task);
+        verify(taskRepository).saveAndFlush(task);
+    }
+
+    @Test
+    void patchTask_statusChange_publishesEventWithOldAndNewValues() {
+        TaskUpdateRequest request = new TaskUpdateRequest();
+        request.setStatus(TaskStatus.DONE);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        doAnswer(invocation -> {
+            Task t = invocation.getArgument(1);
+            t.setStatus(request.getStatus());
+            return null;
+        }).when(taskMapper).updateTaskFromRequest(request, task);
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
+        when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+
+        taskService.patchTask(1L, request, null);
+
+        ArgumentCaptor<TaskChangedEvent> captor = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        TaskChangedEvent event = captor.getValue();
+        assertThat(event.type()).isEqualTo(TaskEventType.UPDATED);
+        assertThat(event.taskId()).isEqualTo(1L);
+        assertThat(event.oldStatus()).isEqualTo(TaskStatus.NEW);
+        assertThat(event.newStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(event.statusOrPriorityChanged()).isTrue();
+    }
+
+    @Test
+    void patchTask_staleIfMatch_throwsPreconditionFailed() {
+        task.setVersion(3L);
+        task.setUpdatedAt(LocalDateTime.of(2025, 11, 11, 15, 21, 35));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        String staleTag = TaskETag.of(2L, task.getUpdatedAt());
+
+        assertThatThrownBy(() -> taskService.patchTask(1L, new TaskUpdateRequest(), staleTag))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(taskRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patchTask_matchingIfMatch_updates() {
+        task.setVersion(3L);
+        task.setUpdatedAt(LocalDateTime.of(2025, 11, 11, 15, 21, 35));
+        TaskUpdateRequest request = new TaskUpdateRequest();
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
+        when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+
+        Optional<TaskResponse> result = taskService.patchTask(1L, request, "\"other\", " + TaskETag.of(3L, task.getUpdatedAt()));
+
+        assertThat(result).contains(taskResponse);
     }
 
     @Test
@@ -150,7 +395,7 @@ class TaskServiceTest {
         TaskUpdateRequest request = new TaskUpdateRequest();
         when(taskRepository.findById(999L)).thenReturn(Optional.empty());
 
-        Optional<TaskResponse> result = taskService.patchTask(999L, request);
+        Optional<TaskResponse> result = taskService.patchTask(999L, request, null);
 
         assertThat(result).isEmpty();
     }
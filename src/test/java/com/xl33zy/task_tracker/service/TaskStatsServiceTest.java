@@ -0,0 +1,181 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.dto.TaskStatsResponse;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.repository.TaskCountRow;
+import com.xl33zy.task_tracker.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TaskStatsServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private TaskStatsService taskStatsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void seed_loadsCountsFromDatabase() {
+        when(taskRepository.countByStatusAndPriority()).thenReturn(List.of(
+                row(TaskStatus.NEW, TaskPriority.HIGH, 3),
+                row(TaskStatus.DONE, TaskPriority.LOW, 2)
+        ));
+
+        taskStatsService.seed();
+        TaskStatsResponse stats = taskStatsService.getStats();
+
+        assertThat(stats.getTotal()).isEqualTo(5);
+        assertThat(stats.getCounts().get(TaskStatus.NEW).get(TaskPriority.HIGH)).isEqualTo(3);
+        assertThat(stats.getCounts().get(TaskStatus.DONE).get(TaskPriority.LOW)).isEqualTo(2);
+        assertThat(stats.getCounts().get(TaskStatus.IN_PROGRESS).get(TaskPriority.MEDIUM)).isZero();
+        assertThat(stats.getReconciledAt()).isNotNull();
+        verify(taskRepository, times(1)).countByStatusAndPriority();
+    }
+
+    @Test
+    void events_adjustCountersWithoutQueryingDatabase() {
+        when(taskRepository.countByStatusAndPriority()).thenReturn(List.of(row(TaskStatus.NEW, TaskPriority.MEDIUM, 1)));
+        taskStatsService.seed();
+
+        Task task = task(1L, TaskStatus.NEW, TaskPriority.MEDIUM);
+        taskStatsService.onTaskChanged(TaskChangedEvent.created(task(2L, TaskStatus.NEW, TaskPriority.MEDIUM)));
+        taskStatsService.onTaskChanged(TaskChangedEvent.updated(TaskStatus.NEW, TaskPriority.MEDIUM, task(1L, TaskStatus.DONE, TaskPriority.MEDIUM)));
+        taskStatsService.onTaskChanged(TaskChangedEvent.updated(TaskStatus.NEW, TaskPriority.MEDIUM, task));
+        taskStatsService.onTaskChanged(TaskChangedEvent.deleted(task(2L, TaskStatus.NEW, TaskPriority.MEDIUM)));
+
+        TaskStatsResponse stats = taskStatsService.getStats();
+        assertThat(stats.getTotal()).isEqualTo(1);
+        assertThat(stats.getCounts().get(TaskStatus.NEW).get(TaskPriority.MEDIUM)).isZero();
+        assertThat(stats.getCounts().get(TaskStatus.DONE).get(TaskPriority.MEDIUM)).isEqualTo(1);
+        verify(taskRepository, times(1)).countByStatusAndPriority();
+    }
+
+    @Test
+    void bulkChange_appliesCountDeltas() {
+        when(taskRepository.countByStatusAndPriority()).thenReturn(List.of(row(TaskStatus.NEW, TaskPriority.LOW, 2)));
+        taskStatsService.seed();
+
+        taskStatsService.onTasksChanged(TaskBulkChangedEvent.of(List.of(
+                TaskChangedEvent.created(task(1L, TaskStatus.NEW, TaskPriority.LOW)),
+                TaskChangedEvent.updated(TaskStatus.NEW, TaskPriority.LOW, task(2L, TaskStatus.DONE, TaskPriority.LOW)),
+                TaskChangedEvent.deleted(task(3L, TaskStatus.NEW, TaskPriority.LOW))
+        )));
+
+        TaskStatsResponse stats = taskStatsService.getStats();
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getCounts().get(TaskStatus.NEW).get(TaskPriority.LOW)).isEqualTo(1);
+        assertThat(stats.getCounts().get(TaskStatus.DONE).get(TaskPriority.LOW)).isEqualTo(1);
+    }
+
+    @Test
+    void reconcile_correctsDrift() {
+        when(taskRepository.countByStatusAndPriority()).thenReturn(List.of(row(TaskStatus.NEW, TaskPriority.LOW, 1)));
+        taskStatsService.seed();
+
+        // e.g. a batch import the counters never saw
+        when(taskRepository.countByStatusAndPriority()).thenReturn(List.of(row(TaskStatus.NEW, TaskPriority.LOW, 101)));
+        taskStatsService.reconcile();
+
+        assertThat(taskStatsService.getStats().getCounts().get(TaskStatus.NEW).get(TaskPriority.LOW)).isEqualTo(101);
+    }
+
+    @Test
+    void reconcile_doesNotWaitForCommittingTransaction_andCountsItsChangeOnce() {
+        when(taskRepository.countByStatusAndPriority()).thenReturn(List.of(row(TaskStatus.NEW, TaskPriority.LOW, 1)));
+        taskStatsService.seed();
+
+        try {
+            TaskChangedEvent event = TaskChangedEvent.created(task(2L, TaskStatus.NEW, TaskPriority.LOW));
+            TransactionSynchronizationManager.initSynchronization();
+            taskStatsService.markCommitting(event);
+            // The row is committed, its event is not applied yet; another cell has drifted meanwhile
+            when(taskRepository.countByStatusAndPriority()).thenReturn(List.of(
+                    row(TaskStatus.NEW, TaskPriority.LOW, 2),
+                    row(TaskStatus.DONE, TaskPriority.HIGH, 5)
+            ));
+
+            taskStatsService.reconcile();
+            assertThat(taskStatsService.getStats().getCounts().get(TaskStatus.NEW).get(TaskPriority.LOW)).isEqualTo(1);
+            assertThat(taskStatsService.getStats().getCounts().get(TaskStatus.DONE).get(TaskPriority.HIGH)).isEqualTo(5);
+
+            taskStatsService.onTaskChanged(event);
+            completeTransaction();
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        taskStatsService.reconcile();
+        assertThat(taskStatsService.getStats().getCounts().get(TaskStatus.NEW).get(TaskPriority.LOW)).isEqualTo(2);
+    }
+
+    @Test
+    void reconcile_remoteChangeDuringQuery_defersOnlyItsCell() {
+        when(taskRepository.countByStatusAndPriority()).thenReturn(List.of(row(TaskStatus.NEW, TaskPriority.LOW, 1)));
+        taskStatsService.seed();
+
+        // A change from another node arrives while the query runs; the query may or may not have seen it
+        when(taskRepository.countByStatusAndPriority()).thenAnswer(invocation -> {
+            taskStatsService.onTaskChanged(TaskChangedEvent.created(task(2L, TaskStatus.NEW, TaskPriority.LOW)));
+            return List.of(row(TaskStatus.NEW, TaskPriority.LOW, 2), row(TaskStatus.DONE, TaskPriority.LOW, 4));
+        });
+        taskStatsService.reconcile();
+        assertThat(taskStatsService.getStats().getCounts().get(TaskStatus.NEW).get(TaskPriority.LOW)).isEqualTo(2);
+        assertThat(taskStatsService.getStats().getCounts().get(TaskStatus.DONE).get(TaskPriority.LOW)).isEqualTo(4);
+
+        when(taskRepository.countByStatusAndPriority()).thenReturn(List.of(
+                row(TaskStatus.NEW, TaskPriority.LOW, 3),
+                row(TaskStatus.DONE, TaskPriority.LOW, 4)
+        ));
+        taskStatsService.reconcile();
+        assertThat(taskStatsService.getStats().getCounts().get(TaskStatus.NEW).get(TaskPriority.LOW)).isEqualTo(3);
+    }
+
+    private static void completeTransaction() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static Task task(Long id, TaskStatus status, TaskPriority priority) {
+        return Task.builder().id(id).title("Task " + id).status(status).priority(priority).build();
+    }
+
+    private static TaskCountRow row(TaskStatus status, TaskPriority priority, long count) {
+        return new TaskCountRow() {
+            @Override
+            public TaskStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public TaskPriority getPriority() {
+                return priority;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package com.xl33zy.task_tracker.service;
+
+import com.xl33zy.task_tracker.config.InMemoryStorageProperties;
+import com.xl33zy.task_tracker.config.TaskCacheProperties;
+import com.xl33zy.task_tracker.config.TaskCoalesceProperties;
+import com.xl33zy.task_tracker.dto.TaskResponse;
+import com.xl33zy.task_tracker.dto.TaskUpdateRequest;
+import com.xl33zy.task_tracker.exception.ServiceOverloadedException;
+import com.xl33zy.task_tracker.mapper.TaskMapper;
+import com.xl33zy.task_tracker.model.Task;
+import com.xl33zy.task_tracker.model.TaskPriority;
+import com.xl33zy.task_tracker.model.TaskStatus;
+import com.xl33zy.task_tracker.repository.InMemoryTaskRepository;
+import com.xl33zy.task_tracker.repository.InMemoryTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskWriteCoalescerTest {
+    private final InMemoryTaskRepository repository = new InMemoryTaskRepository(
+            new InMemoryStorageProperties(4, 16, null, InMemoryStorageProperties.FsyncPolicy.ALWAYS,
+                    Duration.ofMillis(10), DataSize.ofMegabytes(64), Duration.ofMinutes(10)), Optional.empty());
+    private final TaskCache taskCache = new TaskCache(new TaskCacheProperties(100, Duration.ofMinutes(1)));
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private TaskWriteCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        coalescer.stop();
+    }
+
+    @Test
+    void patchesArrivingWithinAFlush_areWrittenAsOneUpdate() {
+        coalescer = coalescer(Duration.ofMillis(200), 100);
+        Task task = repository.save(task("Task"));
+
+        CompletableFuture<Optional<TaskResponse>> status = CompletableFuture.supplyAsync(
+                () -> coalescer.patch(task.getId(), update(null, TaskStatus.DONE)));
+        CompletableFuture<Optional<TaskResponse>> title = CompletableFuture.supplyAsync(
+                () -> coalescer.patch(task.getId(), update("Renamed", null)));
+
+        TaskResponse first = status.join().orElseThrow();
+        TaskResponse second = title.join().orElseThrow();
+        assertThat(first.getTitle()).isEqualTo("Renamed");
+        assertThat(first.getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(second.getVersion()).isEqualTo(first.getVersion()).isEqualTo(1L);
+        assertThat(repository.findById(task.getId()).orElseThrow().getVersion()).isEqualTo(1L);
+        assertThat(taskCache.peek(task.getId())).contains(first);
+        assertThat(events).hasSize(1);
+        assertThat(registry.counter("tasks.coalesce.requests").count()).isEqualTo(2);
+        assertThat(registry.counter("tasks.coalesce.flushes").count()).isEqualTo(1);
+    }
+
+    @Test
+    void maxPendingTasks_flushWithoutWaitingForTheInterval() {
+        coalescer = coalescer(Duration.ofMinutes(1), 2);
+        Task first = repository.save(task("First"));
+        Task second = repository.save(task("Second"));
+
+        CompletableFuture<Optional<TaskResponse>> one = CompletableFuture.supplyAsync(
+                () -> coalescer.patch(first.getId(), update(null, TaskStatus.IN_PROGRESS)));
+        CompletableFuture<Optional<TaskResponse>> two = CompletableFuture.supplyAsync(
+                () -> coalescer.patch(second.getId(), update(null, TaskStatus.DONE)));
+
+        assertThat(one.orTimeout(10, TimeUnit.SECONDS).join()).isPresent();
+        assertThat(two.orTimeout(10, TimeUnit.SECONDS).join()).isPresent();
+        assertThat(repository.findById(second.getId()).orElseThrow().getStatus()).isEqualTo(TaskStatus.DONE);
+    }
+
+    @Test
+    void missingTask_isEmpty_andDoesNotFailOthers() {
+        coalescer = coalescer(Duration.ofMillis(50), 100);
+        Task task = repository.save(task("Task"));
+
+        CompletableFuture<Optional<TaskResponse>> missing = CompletableFuture.supplyAsync(
+                () -> coalescer.patch(999L, update("Nobody", null)));
+        Optional<TaskResponse> existing = coalescer.patch(task.getId(), update("Renamed", null));
+
+        assertThat(missing.join()).isEmpty();
+        assertThat(existing).map(TaskResponse::getTitle).contains("Renamed");
+    }
+
+    @Test
+    void whenDisabled_patchIsWrittenRightAway() {
+        coalescer = new TaskWriteCoalescer(repository, Mappers.getMapper(TaskMapper.class), taskCache, events::add,
+                new InMemoryTransactionManager(), new TaskCoalesceProperties(false, Duration.ofMinutes(1), 100, Duration.ofSeconds(5)), registry);
+        coalescer.start();
+        Task task = repository.save(task("Task"));
+
+        assertThat(coalescer.isRunning()).isFalse();
+        assertThat(coalescer.patch(task.getId(), update(null, TaskStatus.DONE))).map(TaskResponse::getStatus)
+                                                                               .contains(TaskStatus.DONE);
+    }
+
+    @Test
+    void interruptedFlusher_writesPendingUpdates_andLaterPatchesDirectly() throws Exception {
+        coalescer = coalescer(Duration.ofMinutes(1), 100);
+        Task task = repository.save(task("Task"));
+        CompletableFuture<Optional<TaskResponse>> waiting = CompletableFuture.supplyAsync(
+                () -> coalescer.patch(task.getId(), update(null, TaskStatus.IN_PROGRESS)));
+        Thread flusher = Thread.getAllStackTraces().keySet().stream()
+                               .filter(thread -> thread.getName().equals("task-write-coalescer"))
+                               .findFirst().orElseThrow();
+        while (registry.counter("tasks.coalesce.requests").count() == 0) {
+            Thread.sleep(10);
+        }
+
+        flusher.interrupt();
+        flusher.join(10_000);
+
+        assertThat(coalescer.isRunning()).isFalse();
+        assertThat(waiting.orTimeout(10, TimeUnit.SECONDS).join()).map(TaskResponse::getStatus)
+                                                                  .contains(TaskStatus.IN_PROGRESS);
+        assertThat(coalescer.patch(task.getId(), update(null, TaskStatus.DONE))).map(TaskResponse::getStatus)
+                                                                               .contains(TaskStatus.DONE);
+    }
+
+    @Test
+    void flushNotInTime_failsWithServiceOverloaded() {
+        coalescer = coalescer(Duration.ofMinutes(1), 100, Duration.ofMillis(100));
+        Task task = repository.save(task("Task"));
+
+        assertThatThrownBy(() -> coalescer.patch(task.getId(), update(null, TaskStatus.DONE)))
+                .isInstanceOf(ServiceOverloadedException.class);
+    }
+
+    private TaskWriteCoalescer coalescer(Duration flushInterval, int maxPending) {
+        return coalescer(flushInterval, maxPending, Duration.ofSeconds(5));
+    }
+
+    private TaskWriteCoalescer coalescer(Duration flushInterval, int maxPending, Duration writeTimeout) {
+        TaskWriteCoalescer coalescer = new TaskWriteCoalescer(repository, Mappers.getMapper(TaskMapper.class), taskCache,
+                events::add, new InMemoryTransactionManager(),
+                new TaskCoalesceProperties(true, flushInterval, maxPending, writeTimeout), registry);
+        coalescer.start();
+        return coalescer;
+    }
+
+    private static Task task(String title) {
+        return Task.builder().title(title).status(TaskStatus.NEW).priority(TaskPriority.LOW).build();
+    }
+
+    private static TaskUpdateRequest update(String title, TaskStatus status) {
+        TaskUpdateRequest request = new TaskUpdateRequest();
+        request.setTitle(title);
+        request.setStatus(status);
+        return request;
+    }
+}